@@ -1,5 +1,9 @@
 package com.hubz.common.util;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 
@@ -49,6 +53,42 @@ public final class HashUtil {
         }
     }
 
+    /**
+     * 流式计算文件内容的hash值
+     * @param path 文件路径
+     * @return java.lang.String hash值
+     *
+     * @author hubz
+     * @date 2026/10/18 16:05
+     */
+    public static String getFileHashCode(Path path) throws IOException {
+        try (InputStream inputStream = Files.newInputStream(path)) {
+            return getStreamHashCode(inputStream);
+        }
+    }
+
+    /**
+     * 流式计算输入流内容的hash值，与 {@link #getFileHashCode} 的结果可以直接比较，不关闭输入流
+     * @param inputStream 输入流
+     * @return java.lang.String hash值
+     *
+     * @author hubz
+     * @date 2026/10/19 04:20
+     */
+    public static String getStreamHashCode(InputStream inputStream) throws IOException {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                md.update(buffer, 0, read);
+            }
+            return toHex(md.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("hash值计算失败", e);
+        }
+    }
+
     /**
      * 计算hash
      * @param md 信息
@@ -60,8 +100,18 @@ public final class HashUtil {
      */
     private static String ccByMessageDigest(MessageDigest md, String param) {
         md.update(param.getBytes());
-        byte[] bytes = md.digest();
-        //将其转换为十六进制格式
+        return toHex(md.digest());
+    }
+
+    /**
+     * 将摘要转换为十六进制格式
+     * @param bytes 摘要
+     * @return java.lang.String 十六进制字符串
+     *
+     * @author hubz
+     * @date 2026/10/18 16:06
+     */
+    private static String toHex(byte[] bytes) {
         StringBuilder sb = new StringBuilder();
         for (byte aByte : bytes) {
             sb.append(Integer.toString((aByte & 0xff) + 0x100, 16).substring(1));
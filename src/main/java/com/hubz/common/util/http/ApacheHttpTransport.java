@@ -0,0 +1,91 @@
+package com.hubz.common.util.http;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpHeaders;
+import org.apache.http.client.methods.RequestBuilder;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.util.EntityUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 基于 Apache HttpClient（{@link HttpRequestClient}）的传输实现
+ * <p>
+ * 连接池大小可调，适合同一主机的大量并发 HTTP/1.1 请求。
+ * @author hubz
+ * @date 2026/10/19 02:12
+ **/
+public final class ApacheHttpTransport implements HttpTransport {
+
+    /**
+     * 未配置认证时不添加 Authorization 请求头
+     */
+    private static final Auth NO_AUTH = () -> null;
+
+    private final HttpRequestClient client;
+
+    private final String userAgent;
+
+    public ApacheHttpTransport(HttpClientConfig config) {
+        this.client = HttpRequestClient.builder()
+                .auth(null == config.getAuth() ? NO_AUTH : config.getAuth())
+                .connectTimeout(config.getConnectTimeout())
+                .readTimeout(config.getReadTimeout())
+                .maxConnTotal(config.getMaxConnTotal())
+                .maxConnPerRoute(config.getMaxConnPerRoute())
+                .retryPolicy(config.getRetryPolicy())
+                .circuitBreaker(config.getCircuitBreaker())
+                .metricsListener(config.getMetricsListener())
+                .build();
+        this.userAgent = config.getUserAgent();
+    }
+
+    /**
+     * 底层的 HttpRequestClient，用于流式上传、响应缓存等该实现特有的功能
+     */
+    public HttpRequestClient getClient() {
+        return client;
+    }
+
+    @Override
+    public HttpResult execute(String method, String url, Map<String, String> headers, byte[] body) throws IOException {
+        RequestBuilder reqBuilder = RequestBuilder.create(method).setUri(url);
+        if (null != userAgent) {
+            reqBuilder.setHeader(HttpHeaders.USER_AGENT, userAgent);
+        }
+        if (null != headers) {
+            headers.forEach(reqBuilder::setHeader);
+        }
+        if (null != body) {
+            reqBuilder.setEntity(new ByteArrayEntity(body));
+        }
+        return client.execute(reqBuilder.build(), response -> {
+            Map<String, List<String>> responseHeaders = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            for (Header header : response.getAllHeaders()) {
+                responseHeaders.computeIfAbsent(header.getName(), key -> new ArrayList<>()).add(header.getValue());
+            }
+            HttpEntity entity = response.getEntity();
+            byte[] content = null == entity ? null : EntityUtils.toByteArray(entity);
+            return HttpResult.builder()
+                    .statusCode(response.getStatusLine().getStatusCode())
+                    .headers(responseHeaders)
+                    .body(null == content ? new byte[0] : content)
+                    .build();
+        });
+    }
+
+    @Override
+    public String name() {
+        return "apache";
+    }
+
+    @Override
+    public void close() throws IOException {
+        client.close();
+    }
+}
@@ -11,7 +11,7 @@ public interface Auth {
      * @author hubz
      * @date 2022/8/14 22:24
      *
-     * @return java.lang.String
+     * @return java.lang.String 返回 null 时请求不携带 Authorization 请求头
      **/
     String getAuth();
 }
\ No newline at end of file
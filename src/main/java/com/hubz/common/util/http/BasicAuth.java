@@ -11,21 +11,20 @@ import java.nio.charset.StandardCharsets;
  **/
 public class BasicAuth implements Auth {
 
-    private String username;
-
-    private String password;
+    /**
+     * 用户名密码不可变，认证头在构造时计算一次
+     */
+    private final String auth;
 
     public BasicAuth(String username, String password) {
-        this.username = username;
-        this.password = password;
+        String credentials = username + ":" + password;
+        byte[] encodedAuth = Base64.encodeBase64(credentials.getBytes(StandardCharsets.ISO_8859_1));
+        this.auth = "Basic " + new String(encodedAuth, StandardCharsets.UTF_8);
     }
 
     @Override
     public String getAuth() {
-        String auth = String.format("%s:%s", this.username, this.password);
-
-        byte[] encodedAuth = Base64.encodeBase64(auth.getBytes(StandardCharsets.ISO_8859_1));
-        return "Basic " + new String(encodedAuth,StandardCharsets.UTF_8);
+        return auth;
     }
 
     /**
@@ -6,14 +6,14 @@ package com.hubz.common.util.http;
  **/
 public class BearerAuth implements Auth {
 
-    private String token;
+    private final String auth;
 
     public BearerAuth(String token) {
-        this.token = token;
+        this.auth = "Bearer " + token;
     }
 
     @Override
     public String getAuth() {
-        return "Bearer " + this.token;
+        return auth;
     }
 }
\ No newline at end of file
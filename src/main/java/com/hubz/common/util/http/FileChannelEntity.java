@@ -0,0 +1,145 @@
+package com.hubz.common.util.http;
+
+import org.apache.http.entity.AbstractHttpEntity;
+import org.apache.http.entity.ContentType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * 基于 FileChannel 的文件请求体，可只发送文件的一个区间，并回调传输进度
+ * <p>
+ * 写出时使用 {@link FileChannel#transferTo} 分段拷贝，内存中不保留整个文件。HttpClient 提供的是 OutputStream，
+ * 包装成通道后 transferTo 仍经过一块 JDK 内部的临时缓冲区，并不是操作系统层面的零拷贝。
+ * @author hubz
+ * @date 2026/10/18 19:05
+ **/
+public class FileChannelEntity extends AbstractHttpEntity {
+
+    /**
+     * 每次写出的最大字节数，同时也是进度回调的粒度
+     */
+    private static final long TRANSFER_CHUNK = 1024 * 1024L;
+
+    private final Path file;
+
+    private final long offset;
+
+    private final long length;
+
+    private final HttpProgressListener progressListener;
+
+    /**
+     * @param file 文件
+     * @param offset 区间起始位置
+     * @param length 区间长度
+     * @param contentType 内容类型，为空时不设置
+     * @param progressListener 进度回调，可为空
+     */
+    public FileChannelEntity(Path file, long offset, long length, ContentType contentType, HttpProgressListener progressListener) {
+        this.file = Objects.requireNonNull(file, "file");
+        if (offset < 0 || length < 0) {
+            throw new IllegalArgumentException("offset and length must not be negative");
+        }
+        this.offset = offset;
+        this.length = length;
+        this.progressListener = progressListener;
+        if (null != contentType) {
+            setContentType(contentType.toString());
+        }
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return true;
+    }
+
+    @Override
+    public long getContentLength() {
+        return length;
+    }
+
+    @Override
+    public InputStream getContent() throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        channel.position(offset);
+        return new BoundedInputStream(Channels.newInputStream(channel), length);
+    }
+
+    @Override
+    public void writeTo(OutputStream outStream) throws IOException {
+        Objects.requireNonNull(outStream, "outStream");
+        long start = System.currentTimeMillis();
+        WritableByteChannel target = Channels.newChannel(outStream);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long written = 0;
+            while (written < length) {
+                long transferred = channel.transferTo(offset + written, Math.min(TRANSFER_CHUNK, length - written), target);
+                if (transferred <= 0) {
+                    throw new IOException("文件在传输过程中被截断：" + file);
+                }
+                written += transferred;
+                if (null != progressListener) {
+                    progressListener.onProgress(written, length, System.currentTimeMillis() - start);
+                }
+            }
+        }
+        outStream.flush();
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return false;
+    }
+
+    /**
+     * 只读取指定长度的输入流
+     */
+    private static final class BoundedInputStream extends InputStream {
+
+        private final InputStream delegate;
+
+        private long remaining;
+
+        BoundedInputStream(InputStream delegate, long remaining) {
+            this.delegate = delegate;
+            this.remaining = remaining;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int value = delegate.read();
+            if (value >= 0) {
+                remaining--;
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int read = delegate.read(b, off, (int) Math.min(len, remaining));
+            if (read > 0) {
+                remaining -= read;
+            }
+            return read;
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.hubz.common.util.http;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterInputStream;
+
+/**
+ * 读取时压缩的 gzip 输入流
+ * <p>
+ * GZIPOutputStream 需要调用方主动写入，而请求体由 HttpClient 拉取，这里按读取的节奏从源流中读取并压缩，
+ * 不需要额外的线程或缓冲整个内容。
+ * @author hubz
+ * @date 2026/10/18 23:40
+ **/
+final class GzipCompressingInputStream extends InputStream {
+
+    /**
+     * gzip 头：魔数、deflate 压缩方式、无标志位、无修改时间、无额外标志、未知操作系统
+     */
+    private static final byte[] HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+    private final CheckedInputStream source;
+    private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+    private final DeflaterInputStream deflated;
+    private final byte[] trailer = new byte[8];
+
+    private int headerPosition;
+    private int trailerPosition = -1;
+
+    GzipCompressingInputStream(InputStream source) {
+        this.source = new CheckedInputStream(source, new CRC32());
+        this.deflated = new DeflaterInputStream(this.source, deflater);
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] b = new byte[1];
+        int n = read(b, 0, 1);
+        return n < 0 ? -1 : b[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (headerPosition < HEADER.length) {
+            int n = Math.min(len, HEADER.length - headerPosition);
+            System.arraycopy(HEADER, headerPosition, b, off, n);
+            headerPosition += n;
+            return n;
+        }
+        if (trailerPosition < 0) {
+            int n = deflated.read(b, off, len);
+            if (n >= 0) {
+                return n;
+            }
+            writeTrailer();
+        }
+        if (trailerPosition >= trailer.length) {
+            return -1;
+        }
+        int n = Math.min(len, trailer.length - trailerPosition);
+        System.arraycopy(trailer, trailerPosition, b, off, n);
+        trailerPosition += n;
+        return n;
+    }
+
+    /**
+     * gzip 尾：CRC32 和原始长度（对 2^32 取模），均为小端
+     */
+    private void writeTrailer() {
+        long crc = source.getChecksum().getValue();
+        long size = deflater.getBytesRead();
+        for (int i = 0; i < 4; i++) {
+            trailer[i] = (byte) (crc >>> (8 * i));
+            trailer[4 + i] = (byte) (size >>> (8 * i));
+        }
+        trailerPosition = 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            deflated.close();
+        } finally {
+            deflater.end();
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package com.hubz.common.util.http;
+
+import cn.hutool.core.convert.Convert;
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.json.JSON;
+import cn.hutool.json.JSONConfig;
+import cn.hutool.json.JSONException;
+import cn.hutool.json.JSONTokener;
+import cn.hutool.json.JSONUtil;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.net.http.HttpResponse;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * 自动解压和流式解析 JSON 的响应处理
+ * <p>
+ * 按响应头 Content-Encoding 解压 gzip、deflate 响应体，请求时需带上 {@link #ACCEPT_ENCODING} 请求头。
+ * JSON 直接从解压后的流中解析，不先读取为完整的字符串；JSON 数组可以按元素逐个解析为 {@link Stream}。
+ * <p>
+ * JDK 没有 brotli 解码器，因此不协商 br。
+ * @author hubz
+ * @date 2026/10/18 23:50
+ **/
+public final class HttpBodyHandlers {
+
+    /**
+     * 支持自动解压的编码
+     */
+    public static final String ACCEPT_ENCODING = "gzip, deflate";
+
+    private static final JSONConfig JSON_CONFIG = JSONConfig.create();
+
+    private HttpBodyHandlers() {
+    }
+
+    /**
+     * 解压后的响应体输入流，读取结束后需关闭
+     **/
+    public static HttpResponse.BodyHandler<InputStream> ofInputStream() {
+        return responseInfo -> HttpResponse.BodySubscribers.mapping(HttpResponse.BodySubscribers.ofInputStream(),
+                in -> new DecodingInputStream(in, contentEncoding(responseInfo)));
+    }
+
+    /**
+     * 解压后的响应体字节
+     **/
+    public static HttpResponse.BodyHandler<byte[]> ofByteArray() {
+        return responseInfo -> HttpResponse.BodySubscribers.mapping(HttpResponse.BodySubscribers.ofByteArray(),
+                bytes -> decode(bytes, contentEncoding(responseInfo)));
+    }
+
+    /**
+     * 解压后按 Content-Type 中的字符集（默认 UTF-8）转换的字符串
+     **/
+    public static HttpResponse.BodyHandler<String> ofString() {
+        return responseInfo -> HttpResponse.BodySubscribers.mapping(HttpResponse.BodySubscribers.ofByteArray(),
+                bytes -> new String(decode(bytes, contentEncoding(responseInfo)), charset(responseInfo)));
+    }
+
+    /**
+     * 将响应体解析为指定类型
+     * <p>
+     * 返回 Supplier 是为了避免在 HttpClient 的线程中阻塞读取，调用 get 时才从流中解析
+     * @author hubz
+     * @date 2026/10/18 23:54
+     *
+     * @param type 目标类型，可以是 Class 或 TypeReference.getType()
+     * @return java.net.http.HttpResponse.BodyHandler<java.util.function.Supplier<T>>
+     **/
+    public static <T> HttpResponse.BodyHandler<Supplier<T>> ofJson(Type type) {
+        return responseInfo -> HttpResponse.BodySubscribers.mapping(HttpResponse.BodySubscribers.ofInputStream(),
+                in -> () -> {
+                    try (InputStream decoded = new DecodingInputStream(in, contentEncoding(responseInfo))) {
+                        JSONTokener tokener = new JSONTokener(new InputStreamReader(decoded, charset(responseInfo)), JSON_CONFIG);
+                        return convert(tokener.nextValue(), type);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    /**
+     * 将 JSON 数组响应体按元素逐个解析，只有当前元素保留在内存中
+     * <p>
+     * 返回的 Stream 读取完毕或关闭时释放连接，未读完时需调用 close
+     * @author hubz
+     * @date 2026/10/18 23:56
+     *
+     * @param elementType 元素类型
+     * @return java.net.http.HttpResponse.BodyHandler<java.util.stream.Stream<T>>
+     **/
+    public static <T> HttpResponse.BodyHandler<Stream<T>> ofJsonArray(Class<T> elementType) {
+        return responseInfo -> HttpResponse.BodySubscribers.mapping(HttpResponse.BodySubscribers.ofInputStream(),
+                in -> {
+                    InputStream decoded = new DecodingInputStream(in, contentEncoding(responseInfo));
+                    Iterator<T> iterator = new JsonArrayIterator<>(decoded, charset(responseInfo), elementType);
+                    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+                            .onClose(() -> {
+                                try {
+                                    decoded.close();
+                                } catch (IOException e) {
+                                    throw new UncheckedIOException(e);
+                                }
+                            });
+                });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T convert(Object value, Type type) {
+        if (value instanceof JSON) {
+            return JSONUtil.toBean((JSON) value, type, false);
+        }
+        return (T) Convert.convert(type, value);
+    }
+
+    private static String contentEncoding(HttpResponse.ResponseInfo responseInfo) {
+        return responseInfo.headers().firstValue("Content-Encoding").orElse(null);
+    }
+
+    private static Charset charset(HttpResponse.ResponseInfo responseInfo) {
+        String contentType = responseInfo.headers().firstValue("Content-Type").orElse(null);
+        String charset = StrUtil.subAfter(StrUtil.nullToEmpty(contentType).toLowerCase(), "charset=", true);
+        try {
+            return StrUtil.isBlank(charset) ? StandardCharsets.UTF_8 : Charset.forName(StrUtil.strip(charset.trim(), "\""));
+        } catch (Exception e) {
+            return StandardCharsets.UTF_8;
+        }
+    }
+
+    private static byte[] decode(byte[] bytes, String contentEncoding) {
+        if (null == contentEncoding || "identity".equalsIgnoreCase(contentEncoding.trim())) {
+            return bytes;
+        }
+        try (InputStream in = new DecodingInputStream(new ByteArrayInputStream(bytes), contentEncoding)) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 首次读取时才创建解压流，GZIPInputStream 的构造方法会读取头部，不能在 HttpClient 的线程中执行
+     */
+    private static final class DecodingInputStream extends FilterInputStream {
+
+        private final String contentEncoding;
+
+        private boolean initialized;
+
+        DecodingInputStream(InputStream in, String contentEncoding) {
+            super(in);
+            this.contentEncoding = null == contentEncoding ? null : contentEncoding.trim().toLowerCase();
+        }
+
+        private void init() throws IOException {
+            if (initialized) {
+                return;
+            }
+            initialized = true;
+            if (null == contentEncoding || contentEncoding.isEmpty() || "identity".equals(contentEncoding)) {
+                return;
+            }
+            if ("gzip".equals(contentEncoding) || "x-gzip".equals(contentEncoding)) {
+                in = new GZIPInputStream(in);
+            } else if ("deflate".equals(contentEncoding)) {
+                in = new InflaterInputStream(in);
+            } else {
+                throw new IOException("Unsupported Content-Encoding: " + contentEncoding);
+            }
+        }
+
+        @Override
+        public int read() throws IOException {
+            init();
+            return super.read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            init();
+            return in.read(b, off, len);
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            init();
+            return super.skip(n);
+        }
+
+        @Override
+        public int available() throws IOException {
+            init();
+            return super.available();
+        }
+    }
+
+    /**
+     * 逐个解析 JSON 数组元素
+     */
+    private static final class JsonArrayIterator<T> implements Iterator<T> {
+
+        private final InputStream in;
+        private final JSONTokener tokener;
+        private final Class<T> elementType;
+
+        private boolean started;
+        private boolean finished;
+
+        JsonArrayIterator(InputStream in, Charset charset, Class<T> elementType) {
+            this.in = in;
+            this.tokener = new JSONTokener(new InputStreamReader(in, charset), JSON_CONFIG);
+            this.elementType = elementType;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (finished) {
+                return false;
+            }
+            char c = tokener.nextClean();
+            if (!started) {
+                started = true;
+                if (c != '[') {
+                    throw tokener.syntaxError("A JSONArray text must start with '['");
+                }
+                c = tokener.nextClean();
+            } else if (c == ',') {
+                c = tokener.nextClean();
+            }
+            if (c == ']' || c == 0) {
+                finish();
+                return false;
+            }
+            tokener.back();
+            return true;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return convert(tokener.nextValue(), elementType);
+        }
+
+        private void finish() {
+            finished = true;
+            try {
+                in.close();
+            } catch (IOException e) {
+                throw new JSONException(e);
+            }
+        }
+    }
+}
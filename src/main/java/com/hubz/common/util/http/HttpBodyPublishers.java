@@ -0,0 +1,273 @@
+package com.hubz.common.util.http;
+
+import cn.hutool.json.JSON;
+import cn.hutool.json.JSONConfig;
+import cn.hutool.json.JSONNull;
+import cn.hutool.json.JSONUtil;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * 流式请求体
+ * <p>
+ * JSON 请求体不再先序列化成完整的字符串：Map 按键值对、集合和 Iterator 按元素逐个序列化，
+ * 由 HttpClient 读取时才生成下一段内容，内存中只保留当前的一个元素。
+ * 开启 gzip 时同样边读边压缩，需要同时设置请求头 Content-Encoding: gzip。
+ * @author hubz
+ * @date 2026/10/18 23:30
+ **/
+public final class HttpBodyPublishers {
+
+    public static final String CONTENT_ENCODING_GZIP = "gzip";
+
+    /**
+     * 与 JSONUtil.toJsonStr 一致，忽略值为 null 的键
+     */
+    private static final JSONConfig JSON_CONFIG = JSONConfig.create();
+
+    private HttpBodyPublishers() {
+    }
+
+    public static HttpRequest.BodyPublisher json(Object body) {
+        return json(body, false);
+    }
+
+    /**
+     * 将任意对象作为 JSON 请求体，Map 和集合逐项序列化，其他对象一次性序列化为 UTF-8 字节
+     * @author hubz
+     * @date 2026/10/18 23:32
+     *
+     * @param body 请求体，为空时不发送请求体
+     * @param gzip 是否压缩
+     * @return java.net.http.HttpRequest.BodyPublisher
+     **/
+    public static HttpRequest.BodyPublisher json(Object body, boolean gzip) {
+        if (null == body) {
+            return HttpRequest.BodyPublishers.noBody();
+        }
+        if (body instanceof Map || body instanceof Iterable) {
+            return ofInputStream(() -> new JsonInputStream(body), gzip);
+        }
+        if (!gzip) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            writeJson(body, out);
+            return HttpRequest.BodyPublishers.ofByteArray(out.toByteArray());
+        }
+        return ofInputStream(() -> new JsonInputStream(body), true);
+    }
+
+    public static HttpRequest.BodyPublisher jsonArray(Iterator<?> records) {
+        return jsonArray(records, false);
+    }
+
+    /**
+     * 将 Iterator 中的记录作为 JSON 数组请求体，每次只序列化一条记录
+     * <p>
+     * Iterator 只能遍历一次，因此该请求体只能发送一次，不能用于会重试的请求
+     * @author hubz
+     * @date 2026/10/18 23:34
+     *
+     * @param records 记录
+     * @param gzip 是否压缩
+     * @return java.net.http.HttpRequest.BodyPublisher
+     **/
+    public static HttpRequest.BodyPublisher jsonArray(Iterator<?> records, boolean gzip) {
+        AtomicBoolean subscribed = new AtomicBoolean();
+        return ofInputStream(() -> {
+            if (!subscribed.compareAndSet(false, true)) {
+                throw new IllegalStateException("Iterator body can only be sent once");
+            }
+            return new JsonInputStream(records);
+        }, gzip);
+    }
+
+    /**
+     * 文件请求体，边读边发送
+     * @author hubz
+     * @date 2026/10/18 23:36
+     *
+     * @param path 文件路径
+     * @param gzip 是否压缩
+     * @return java.net.http.HttpRequest.BodyPublisher
+     **/
+    public static HttpRequest.BodyPublisher file(Path path, boolean gzip) throws IOException {
+        if (!gzip) {
+            return HttpRequest.BodyPublishers.ofFile(path);
+        }
+        if (!Files.isReadable(path)) {
+            throw new IOException("File is not readable: " + path);
+        }
+        return ofInputStream(() -> {
+            try {
+                return Files.newInputStream(path);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, true);
+    }
+
+    private static HttpRequest.BodyPublisher ofInputStream(Supplier<InputStream> supplier, boolean gzip) {
+        if (!gzip) {
+            return HttpRequest.BodyPublishers.ofInputStream(supplier);
+        }
+        return HttpRequest.BodyPublishers.ofInputStream(() -> new GzipCompressingInputStream(supplier.get()));
+    }
+
+    private static void writeJson(Object value, OutputStream out) {
+        try {
+            Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            writeValue(value, writer);
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeValue(Object value, Writer writer) throws IOException {
+        Object wrapped = JSONUtil.wrap(value, JSON_CONFIG);
+        if (null == wrapped || wrapped instanceof JSONNull) {
+            writer.write("null");
+        } else if (wrapped instanceof JSON) {
+            ((JSON) wrapped).write(writer);
+        } else if (wrapped instanceof Number || wrapped instanceof Boolean) {
+            writer.write(wrapped.toString());
+        } else {
+            JSONUtil.quote(wrapped.toString(), writer);
+        }
+    }
+
+    /**
+     * 逐项生成 JSON 的输入流，读完当前项后才序列化下一项
+     */
+    private static final class JsonInputStream extends InputStream {
+
+        /**
+         * Map 按键值对输出为对象，集合输出为数组，其他对象只有一项
+         */
+        private final Iterator<?> items;
+        private final boolean object;
+        private final boolean single;
+        private final Object singleValue;
+
+        private final ByteArrayOutputStream chunk = new ByteArrayOutputStream();
+        private final Writer writer = new OutputStreamWriter(chunk, StandardCharsets.UTF_8);
+        private byte[] buffer = new byte[0];
+        private int position;
+        private boolean started;
+        private boolean finished;
+        private boolean first = true;
+
+        JsonInputStream(Object body) {
+            if (body instanceof Map) {
+                this.items = ((Map<?, ?>) body).entrySet().iterator();
+                this.object = true;
+                this.single = false;
+                this.singleValue = null;
+            } else if (body instanceof Iterable) {
+                this.items = ((Iterable<?>) body).iterator();
+                this.object = false;
+                this.single = false;
+                this.singleValue = null;
+            } else if (body instanceof Iterator) {
+                this.items = (Iterator<?>) body;
+                this.object = false;
+                this.single = false;
+                this.singleValue = null;
+            } else {
+                this.items = null;
+                this.object = false;
+                this.single = true;
+                this.singleValue = body;
+            }
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (!fill()) {
+                return -1;
+            }
+            return buffer[position++] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (!fill()) {
+                return -1;
+            }
+            int n = Math.min(len, buffer.length - position);
+            System.arraycopy(buffer, position, b, off, n);
+            position += n;
+            return n;
+        }
+
+        private boolean fill() throws IOException {
+            while (position >= buffer.length) {
+                if (finished) {
+                    return false;
+                }
+                chunk.reset();
+                nextChunk();
+                writer.flush();
+                buffer = chunk.toByteArray();
+                position = 0;
+            }
+            return true;
+        }
+
+        private void nextChunk() throws IOException {
+            if (single) {
+                writeValue(singleValue, writer);
+                finished = true;
+                return;
+            }
+            if (!started) {
+                writer.write(object ? '{' : '[');
+                started = true;
+                return;
+            }
+            while (items.hasNext()) {
+                Object item = items.next();
+                if (object) {
+                    Map.Entry<?, ?> entry = (Map.Entry<?, ?>) item;
+                    if (null == entry.getValue() && JSON_CONFIG.isIgnoreNullValue()) {
+                        continue;
+                    }
+                    writeSeparator();
+                    JSONUtil.quote(String.valueOf(entry.getKey()), writer);
+                    writer.write(':');
+                    writeValue(entry.getValue(), writer);
+                } else {
+                    writeSeparator();
+                    writeValue(item, writer);
+                }
+                return;
+            }
+            writer.write(object ? '}' : ']');
+            finished = true;
+        }
+
+        private void writeSeparator() throws IOException {
+            if (!first) {
+                writer.write(',');
+            }
+            first = false;
+        }
+    }
+}
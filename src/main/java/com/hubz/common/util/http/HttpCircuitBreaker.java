@@ -0,0 +1,171 @@
+package com.hubz.common.util.http;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 按主机熔断
+ * <p>
+ * 同一主机连续失败（请求异常或 5xx 响应）达到阈值后熔断打开，打开期间的请求不再发出，直接抛出
+ * {@link HttpCircuitOpenException}，避免大量线程阻塞在已经不可用的服务上。打开时间结束后进入半开状态，
+ * 只放行一个探测请求：成功则关闭熔断，失败则重新打开，探测被中断时放行下一个请求重新探测。不同主机的状态互不影响。
+ * @author hubz
+ * @date 2026/10/18 22:54
+ **/
+@Slf4j
+public final class HttpCircuitBreaker {
+
+    /**
+     * 熔断状态
+     */
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+
+    private final long openMillis;
+
+    private final Map<String, HostCircuit> circuits = new ConcurrentHashMap<>();
+
+    /**
+     * @param failureThreshold 连续失败多少次后打开熔断
+     * @param openMillis 熔断打开的时间（毫秒），之后放行一个探测请求
+     */
+    public HttpCircuitBreaker(int failureThreshold, long openMillis) {
+        if (failureThreshold < 1 || openMillis <= 0) {
+            throw new IllegalArgumentException("failureThreshold and openMillis must be positive");
+        }
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+    }
+
+    /**
+     * 请求前检查是否允许发出
+     * @author hubz
+     * @date 2026/10/18 22:58
+     *
+     * @param uri 请求地址
+     * @throws HttpCircuitOpenException 熔断打开，或半开状态下已有探测请求在进行
+     **/
+    public void acquire(URI uri) throws HttpCircuitOpenException {
+        String host = hostKey(uri);
+        long remainingMillis = circuits.computeIfAbsent(host, key -> new HostCircuit()).tryAcquire();
+        if (remainingMillis > 0) {
+            throw new HttpCircuitOpenException(host, remainingMillis);
+        }
+    }
+
+    public void onSuccess(URI uri) {
+        HostCircuit circuit = circuits.get(hostKey(uri));
+        if (null != circuit) {
+            circuit.onSuccess();
+        }
+    }
+
+    public void onFailure(URI uri) {
+        String host = hostKey(uri);
+        if (circuits.computeIfAbsent(host, key -> new HostCircuit()).onFailure()) {
+            log.warn("主机【{}】连续失败【{}】次，熔断【{}】毫秒", host, failureThreshold, openMillis);
+        }
+    }
+
+    /**
+     * 请求既没有响应也没有 IO 异常（被中断或抛出运行时异常）时调用，放弃半开状态下的探测，允许下一个请求重新探测
+     * @author hubz
+     * @date 2026/10/18 23:00
+     *
+     * @param uri 请求地址
+     **/
+    public void release(URI uri) {
+        HostCircuit circuit = circuits.get(hostKey(uri));
+        if (null != circuit) {
+            circuit.release();
+        }
+    }
+
+    /**
+     * 响应状态码是否计为失败
+     **/
+    public static boolean isFailure(int statusCode) {
+        return statusCode >= 500;
+    }
+
+    public State getState(URI uri) {
+        HostCircuit circuit = circuits.get(hostKey(uri));
+        return null == circuit ? State.CLOSED : circuit.getState();
+    }
+
+    /**
+     * 主机标识，非默认端口时带端口
+     **/
+    static String hostKey(URI uri) {
+        return uri.getPort() < 0 ? uri.getHost() : uri.getHost() + ":" + uri.getPort();
+    }
+
+    private final class HostCircuit {
+
+        private State state = State.CLOSED;
+
+        private int consecutiveFailures;
+
+        private long openedAt;
+
+        private boolean probing;
+
+        /**
+         * @return 允许发出时返回0，否则返回熔断剩余的毫秒数
+         */
+        synchronized long tryAcquire() {
+            if (state == State.CLOSED) {
+                return 0;
+            }
+            if (state == State.OPEN) {
+                long remaining = openedAt + openMillis - System.currentTimeMillis();
+                if (remaining > 0) {
+                    return remaining;
+                }
+                state = State.HALF_OPEN;
+                probing = false;
+            }
+            if (probing) {
+                return 1;
+            }
+            probing = true;
+            return 0;
+        }
+
+        synchronized void onSuccess() {
+            state = State.CLOSED;
+            consecutiveFailures = 0;
+            probing = false;
+        }
+
+        /**
+         * @return 本次失败是否使熔断打开
+         */
+        synchronized boolean onFailure() {
+            consecutiveFailures++;
+            if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+                state = State.OPEN;
+                openedAt = System.currentTimeMillis();
+                probing = false;
+                return true;
+            }
+            return false;
+        }
+
+        synchronized void release() {
+            if (state == State.HALF_OPEN) {
+                probing = false;
+            }
+        }
+
+        synchronized State getState() {
+            return state;
+        }
+    }
+}
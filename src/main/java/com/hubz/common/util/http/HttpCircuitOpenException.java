@@ -0,0 +1,24 @@
+package com.hubz.common.util.http;
+
+import java.io.IOException;
+
+/**
+ * 熔断打开，请求未发出直接失败
+ * @author hubz
+ * @date 2026/10/18 22:52
+ **/
+public class HttpCircuitOpenException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String host;
+
+    public HttpCircuitOpenException(String host, long remainingMillis) {
+        super("Circuit breaker is open for " + host + ", retry in " + remainingMillis + "ms");
+        this.host = host;
+    }
+
+    public String getHost() {
+        return host;
+    }
+}
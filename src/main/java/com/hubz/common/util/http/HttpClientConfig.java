@@ -0,0 +1,80 @@
+package com.hubz.common.util.http;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.concurrent.Executor;
+
+/**
+ * {@link HttpTransport} 共用的客户端配置，同一份配置可以分别创建 Apache 和 JDK 两种传输实现
+ * <p>
+ * JDK HttpClient 不支持按客户端设置连接池大小，连接数只对 Apache 实现生效；
+ * Apache HttpClient 4.x 不支持 HTTP/2，{@link #http2} 和 {@link #executor} 只对 JDK 实现生效。
+ * @author hubz
+ * @date 2026/10/19 02:00
+ **/
+@Data
+@Builder
+public class HttpClientConfig {
+
+    /**
+     * 认证方式，为空时不带 Authorization 请求头
+     */
+    private Auth auth;
+
+    /**
+     * 建立连接的超时时间（毫秒）
+     */
+    @Builder.Default
+    private int connectTimeout = 15_000;
+
+    /**
+     * 读取响应的超时时间（毫秒）；JDK 实现中为等待响应头的超时时间
+     */
+    @Builder.Default
+    private int readTimeout = 15_000;
+
+    /**
+     * 连接池的最大连接数
+     */
+    @Builder.Default
+    private int maxConnTotal = 200;
+
+    /**
+     * 单个路由的最大连接数
+     */
+    @Builder.Default
+    private int maxConnPerRoute = 50;
+
+    /**
+     * 重试策略，默认不重试
+     */
+    @Builder.Default
+    private HttpRetryPolicy retryPolicy = HttpRetryPolicy.NONE;
+
+    /**
+     * 按主机熔断，可为空
+     */
+    private HttpCircuitBreaker circuitBreaker;
+
+    /**
+     * 请求指标监听，可为空
+     */
+    private HttpMetricsListener metricsListener;
+
+    /**
+     * User-Agent 请求头，为空时使用各实现的默认值
+     */
+    private String userAgent;
+
+    /**
+     * 是否优先使用 HTTP/2
+     */
+    @Builder.Default
+    private boolean http2 = true;
+
+    /**
+     * 发送请求和执行回调的线程池，为空时使用默认线程池
+     */
+    private Executor executor;
+}
@@ -0,0 +1,321 @@
+package com.hubz.common.util.http;
+
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpHost;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.DnsResolver;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.LayeredConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.entity.HttpEntityWrapper;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.conn.SystemDefaultDnsResolver;
+import org.apache.http.protocol.HttpContext;
+
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.UnknownHostException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongConsumer;
+
+/**
+ * HttpRequestClient 的耗时采集
+ * <p>
+ * HttpClient 4.x 在请求线程中完成获取连接、域名解析和建立连接，因此用 ThreadLocal 记录当前请求各阶段的耗时，
+ * 由包装后的连接池、DnsResolver 和 SocketFactory 写入。
+ * @author hubz
+ * @date 2026/10/19 00:36
+ **/
+final class HttpClientInstrumentation {
+
+    private static final ThreadLocal<HttpClientInstrumentation> CURRENT = new ThreadLocal<>();
+
+    private long poolWaitMillis;
+
+    private long dnsMillis;
+
+    private long connectMillis;
+
+    private HttpClientInstrumentation() {
+    }
+
+    /**
+     * 开始记录当前线程的一次请求
+     **/
+    static HttpClientInstrumentation begin() {
+        HttpClientInstrumentation timings = new HttpClientInstrumentation();
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    long getPoolWaitMillis() {
+        return poolWaitMillis;
+    }
+
+    long getDnsMillis() {
+        return dnsMillis;
+    }
+
+    long getConnectMillis() {
+        return connectMillis;
+    }
+
+    /**
+     * 创建会记录耗时的连接池
+     * @author hubz
+     * @date 2026/10/19 00:40
+     *
+     * @param timeToLiveMillis 连接的最大存活时间
+     * @return org.apache.http.impl.conn.PoolingHttpClientConnectionManager
+     **/
+    static PoolingHttpClientConnectionManager connectionManager(long timeToLiveMillis) {
+        Registry<ConnectionSocketFactory> registry = RegistryBuilder.<ConnectionSocketFactory>create()
+                .register("http", new TimedSocketFactory(PlainConnectionSocketFactory.getSocketFactory()))
+                .register("https", new TimedLayeredSocketFactory(SSLConnectionSocketFactory.getSocketFactory()))
+                .build();
+        return new TimedConnectionManager(registry, timeToLiveMillis);
+    }
+
+    /**
+     * 统计写出字节数的请求体，同一请求重试时会多次写出
+     */
+    static final class CountingEntity extends HttpEntityWrapper {
+
+        private long written;
+
+        CountingEntity(HttpEntity wrappedEntity) {
+            super(wrappedEntity);
+        }
+
+        @Override
+        public void writeTo(OutputStream outStream) throws IOException {
+            super.writeTo(new FilterOutputStream(outStream) {
+                @Override
+                public void write(int b) throws IOException {
+                    out.write(b);
+                    written++;
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    out.write(b, off, len);
+                    written += len;
+                }
+            });
+        }
+
+        /**
+         * 上次调用以来写出的字节数
+         */
+        long takeWritten() {
+            long n = written;
+            written = 0;
+            return n;
+        }
+    }
+
+    /**
+     * 统计读取字节数的响应体，读取到末尾、被关闭或写出后回调一次
+     */
+    static final class CountingResponseEntity extends HttpEntityWrapper {
+
+        private final LongConsumer onComplete;
+
+        private final AtomicBoolean completed = new AtomicBoolean();
+
+        private long read;
+
+        CountingResponseEntity(HttpEntity wrappedEntity, LongConsumer onComplete) {
+            super(wrappedEntity);
+            this.onComplete = onComplete;
+        }
+
+        @Override
+        public InputStream getContent() throws IOException {
+            return new FilterInputStream(super.getContent()) {
+                @Override
+                public int read() throws IOException {
+                    int b = super.read();
+                    if (b < 0) {
+                        complete();
+                    } else {
+                        read++;
+                    }
+                    return b;
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    int n = super.read(b, off, len);
+                    if (n < 0) {
+                        complete();
+                    } else {
+                        read += n;
+                    }
+                    return n;
+                }
+
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        complete();
+                    }
+                }
+            };
+        }
+
+        @Override
+        public void writeTo(OutputStream outStream) throws IOException {
+            try {
+                super.writeTo(new FilterOutputStream(outStream) {
+                    @Override
+                    public void write(int b) throws IOException {
+                        out.write(b);
+                        read++;
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        out.write(b, off, len);
+                        read += len;
+                    }
+                });
+            } finally {
+                complete();
+            }
+        }
+
+        private void complete() {
+            if (completed.compareAndSet(false, true)) {
+                onComplete.accept(read);
+            }
+        }
+    }
+
+    /**
+     * 记录获取连接的等待时间
+     */
+    private static final class TimedConnectionManager extends PoolingHttpClientConnectionManager {
+
+        TimedConnectionManager(Registry<ConnectionSocketFactory> registry, long timeToLiveMillis) {
+            super(registry, null, null, new TimedDnsResolver(), timeToLiveMillis, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public ConnectionRequest requestConnection(HttpRoute route, Object state) {
+            ConnectionRequest request = super.requestConnection(route, state);
+            return new ConnectionRequest() {
+                @Override
+                public HttpClientConnection get(long timeout, TimeUnit timeUnit)
+                        throws InterruptedException, ExecutionException, ConnectionPoolTimeoutException {
+                    long start = System.nanoTime();
+                    try {
+                        return request.get(timeout, timeUnit);
+                    } finally {
+                        HttpClientInstrumentation timings = CURRENT.get();
+                        if (null != timings) {
+                            timings.poolWaitMillis += elapsedMillis(start);
+                        }
+                    }
+                }
+
+                @Override
+                public boolean cancel() {
+                    return request.cancel();
+                }
+            };
+        }
+    }
+
+    private static final class TimedDnsResolver implements DnsResolver {
+
+        @Override
+        public InetAddress[] resolve(String host) throws UnknownHostException {
+            long start = System.nanoTime();
+            try {
+                return SystemDefaultDnsResolver.INSTANCE.resolve(host);
+            } finally {
+                HttpClientInstrumentation timings = CURRENT.get();
+                if (null != timings) {
+                    timings.dnsMillis += elapsedMillis(start);
+                }
+            }
+        }
+    }
+
+    private static class TimedSocketFactory implements ConnectionSocketFactory {
+
+        private final ConnectionSocketFactory delegate;
+
+        TimedSocketFactory(ConnectionSocketFactory delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Socket createSocket(HttpContext context) throws IOException {
+            return delegate.createSocket(context);
+        }
+
+        @Override
+        public Socket connectSocket(int connectTimeout, Socket sock, HttpHost host, InetSocketAddress remoteAddress,
+                                    InetSocketAddress localAddress, HttpContext context) throws IOException {
+            long start = System.nanoTime();
+            try {
+                return delegate.connectSocket(connectTimeout, sock, host, remoteAddress, localAddress, context);
+            } finally {
+                addConnectMillis(start);
+            }
+        }
+    }
+
+    private static final class TimedLayeredSocketFactory extends TimedSocketFactory implements LayeredConnectionSocketFactory {
+
+        private final LayeredConnectionSocketFactory delegate;
+
+        TimedLayeredSocketFactory(LayeredConnectionSocketFactory delegate) {
+            super(delegate);
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Socket createLayeredSocket(Socket socket, String target, int port, HttpContext context) throws IOException {
+            long start = System.nanoTime();
+            try {
+                return delegate.createLayeredSocket(socket, target, port, context);
+            } finally {
+                addConnectMillis(start);
+            }
+        }
+    }
+
+    private static void addConnectMillis(long start) {
+        HttpClientInstrumentation timings = CURRENT.get();
+        if (null != timings) {
+            timings.connectMillis += elapsedMillis(start);
+        }
+    }
+
+    static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+}
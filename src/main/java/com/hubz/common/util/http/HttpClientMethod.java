@@ -9,7 +9,7 @@ import java.util.Map;
  **/
 public enum HttpClientMethod {
 
-    GET, HEAD, POST, PUT, PATCH, DELETE, OPTIONS, TRACE;
+    GET(true), HEAD(true), POST(false), PUT(true), PATCH(false), DELETE(true), OPTIONS(true), TRACE(true);
 
 
     private static final Map<String, HttpClientMethod> mappings = new HashMap<>(16);
@@ -21,6 +21,32 @@ public enum HttpClientMethod {
     }
 
 
+    /**
+     * 是否幂等，幂等的请求重复发送不会产生额外的副作用，失败后可以安全重试
+     */
+    private final boolean idempotent;
+
+    HttpClientMethod(boolean idempotent) {
+        this.idempotent = idempotent;
+    }
+
+    public boolean isIdempotent() {
+        return idempotent;
+    }
+
+    /**
+     * 请求方法是否幂等，未知的请求方法（如 WebDav 的 MKCOL、MOVE）视为不幂等
+     * @author hubz
+     * @date 2026/10/18 22:40
+     *
+     * @param method 请求方法
+     * @return boolean
+     **/
+    public static boolean isIdempotent(String method) {
+        HttpClientMethod httpMethod = resolve(method);
+        return null != httpMethod && httpMethod.idempotent;
+    }
+
     /**
      * Resolve the given method value to an {@code HttpMethod}.
      * @param method the method value as a String
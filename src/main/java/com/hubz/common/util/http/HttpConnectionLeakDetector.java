@@ -0,0 +1,168 @@
+package com.hubz.common.util.http;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.entity.HttpEntityWrapper;
+
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 连接泄漏检测
+ * <p>
+ * 跟踪以原始 HttpResponse 形式返回给调用方的响应，响应体读取到末尾或被关闭（如 EntityUtils.consumeQuietly）时视为连接已归还。
+ * 后台线程定期检查，持有时间超过阈值的响应会连同获取连接时的调用栈一起打印，每个响应只打印一次。
+ * @author hubz
+ * @date 2026/10/18 22:20
+ **/
+@Slf4j
+final class HttpConnectionLeakDetector implements Closeable {
+
+    private final long thresholdMillis;
+
+    private final Map<Long, Lease> leases = new ConcurrentHashMap<>();
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final ScheduledExecutorService scheduler;
+
+    HttpConnectionLeakDetector(long thresholdMillis) {
+        if (thresholdMillis <= 0) {
+            throw new IllegalArgumentException("thresholdMillis must be positive");
+        }
+        this.thresholdMillis = thresholdMillis;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "http-leak-detector");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1, thresholdMillis / 2);
+        this.scheduler.scheduleWithFixedDelay(this::check, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 开始跟踪响应
+     * @author hubz
+     * @date 2026/10/18 22:24
+     *
+     * @param response 响应
+     * @param description 请求描述，如 GET url
+     * @return org.apache.http.HttpResponse 同一响应，响应体已替换为可感知释放的包装
+     **/
+    HttpResponse track(HttpResponse response, String description) {
+        HttpEntity entity = response.getEntity();
+        // 没有响应体时连接已被释放
+        if (null == entity || !entity.isStreaming()) {
+            return response;
+        }
+        long id = sequence.incrementAndGet();
+        Lease lease = new Lease(description, new Throwable("连接获取位置"));
+        leases.put(id, lease);
+        response.setEntity(new TrackedEntity(entity, () -> leases.remove(id)));
+        return response;
+    }
+
+    /**
+     * 当前仍未归还的连接数
+     **/
+    int getLeasedCount() {
+        return leases.size();
+    }
+
+    private void check() {
+        long now = System.currentTimeMillis();
+        for (Lease lease : leases.values()) {
+            long heldMillis = now - lease.acquiredAt;
+            if (heldMillis >= thresholdMillis && lease.reported.compareAndSet(false, true)) {
+                log.warn("连接可能泄漏：【{}】已持有【{}】毫秒仍未释放响应体", lease.description, heldMillis, lease.stack);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        leases.clear();
+    }
+
+    private static final class Lease {
+
+        private final String description;
+
+        private final Throwable stack;
+
+        private final long acquiredAt = System.currentTimeMillis();
+
+        private final AtomicBoolean reported = new AtomicBoolean();
+
+        Lease(String description, Throwable stack) {
+            this.description = description;
+            this.stack = stack;
+        }
+    }
+
+    /**
+     * 响应体读取到末尾、被关闭或写出后通知释放
+     */
+    private static final class TrackedEntity extends HttpEntityWrapper {
+
+        private final Runnable onRelease;
+
+        TrackedEntity(HttpEntity wrappedEntity, Runnable onRelease) {
+            super(wrappedEntity);
+            this.onRelease = onRelease;
+        }
+
+        @Override
+        public InputStream getContent() throws IOException {
+            return new FilterInputStream(super.getContent()) {
+                @Override
+                public int read() throws IOException {
+                    int b = super.read();
+                    if (b < 0) {
+                        onRelease.run();
+                    }
+                    return b;
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    int n = super.read(b, off, len);
+                    if (n < 0) {
+                        onRelease.run();
+                    }
+                    return n;
+                }
+
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        onRelease.run();
+                    }
+                }
+            };
+        }
+
+        @Override
+        public void writeTo(OutputStream outStream) throws IOException {
+            try {
+                super.writeTo(outStream);
+            } finally {
+                onRelease.run();
+            }
+        }
+    }
+}
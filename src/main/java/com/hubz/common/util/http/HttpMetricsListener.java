@@ -0,0 +1,40 @@
+package com.hubz.common.util.http;
+
+/**
+ * 请求指标的监听器，可以对接 Micrometer、Prometheus 等监控系统，默认实现见 {@link InMemoryHttpMetrics}
+ * <p>
+ * 回调在请求线程中执行，实现需要线程安全且不能阻塞
+ * @author hubz
+ * @date 2026/10/19 00:22
+ **/
+public interface HttpMetricsListener {
+
+    /**
+     * 不记录任何指标
+     */
+    HttpMetricsListener NOOP = new HttpMetricsListener() {
+    };
+
+    /**
+     * 每次请求（含重试）结束后回调，有响应体时在响应体读取完毕或关闭时回调
+     * @author hubz
+     * @date 2026/10/19 00:23
+     *
+     * @param metrics 本次请求的指标
+     **/
+    default void onRequest(HttpRequestMetrics metrics) {
+    }
+
+    /**
+     * 决定重试时回调
+     * @author hubz
+     * @date 2026/10/19 00:24
+     *
+     * @param method 请求方法
+     * @param host 主机
+     * @param attempt 失败的是第几次请求
+     * @param delayMillis 重试前的等待时间
+     **/
+    default void onRetry(String method, String host, int attempt, long delayMillis) {
+    }
+}
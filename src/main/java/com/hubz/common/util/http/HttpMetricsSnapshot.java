@@ -0,0 +1,66 @@
+package com.hubz.common.util.http;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Map;
+
+/**
+ * 按主机和请求方法汇总的请求指标
+ * @author hubz
+ * @date 2026/10/19 00:26
+ **/
+@Data
+@Builder
+public class HttpMetricsSnapshot {
+    private String method;
+
+    private String host;
+
+    /**
+     * 请求次数（含重试）
+     */
+    private long count;
+
+    /**
+     * 请求异常的次数
+     */
+    private long errorCount;
+
+    /**
+     * 重试次数
+     */
+    private long retryCount;
+
+    /**
+     * 各响应状态码的次数
+     */
+    private Map<Integer, Long> statusCounts;
+
+    /**
+     * 总耗时的分位数（毫秒），精度约 10%
+     */
+    private double p50Millis;
+
+    private double p90Millis;
+
+    private double p99Millis;
+
+    private double maxMillis;
+
+    private double meanMillis;
+
+    private double meanTimeToFirstByteMillis;
+
+    private double meanPoolWaitMillis;
+
+    private long maxPoolWaitMillis;
+
+    private double meanConnectMillis;
+
+    private double meanDnsMillis;
+
+    private long bytesSent;
+
+    private long bytesReceived;
+}
@@ -0,0 +1,21 @@
+package com.hubz.common.util.http;
+
+/**
+ * 传输进度回调
+ * @author hubz
+ * @date 2026/10/18 19:02
+ **/
+@FunctionalInterface
+public interface HttpProgressListener {
+
+    /**
+     * 传输进度更新
+     * @author hubz
+     * @date 2026/10/18 19:03
+     *
+     * @param transferredBytes 已传输的字节数
+     * @param totalBytes 总字节数，未知时为 -1
+     * @param elapsedMillis 已耗时（毫秒），可用于计算吞吐量
+     **/
+    void onProgress(long transferredBytes, long totalBytes, long elapsedMillis);
+}
@@ -0,0 +1,166 @@
+package com.hubz.common.util.http;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.HttpHeaders;
+import org.apache.http.entity.ContentType;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * 非阻塞的 HttpRequestClient
+ * <p>
+ * 基于 JDK {@link HttpClient#sendAsync}，请求发出后立即返回 {@link CompletableFuture}，
+ * 等待响应期间不占用调用线程，少量线程即可同时维持大量进行中的请求。认证方式与 {@link HttpRequestClient} 相同。
+ * @author hubz
+ * @date 2026/10/18 21:50
+ **/
+@Slf4j
+public class HttpRequestAsyncClient {
+
+    private static final int DEFAULT_CONNECT_TIMEOUT = 15_000;
+    private static final int DEFAULT_READ_TIMEOUT = 15_000;
+
+    private final Auth auth;
+    private final HttpClient httpClient;
+    private final Duration readTimeout;
+
+    /**
+     * 用户名密码认证，默认的超时时间
+     * @param username 用户名
+     * @param password 密码
+     */
+    public HttpRequestAsyncClient(String username, String password) {
+        this(new BasicAuth(username, password), DEFAULT_CONNECT_TIMEOUT, DEFAULT_READ_TIMEOUT, null);
+    }
+
+    /**
+     * BearerToken 认证，默认的超时时间
+     * @param bearerToken token字符串
+     */
+    public HttpRequestAsyncClient(String bearerToken) {
+        this(new BearerAuth(bearerToken), DEFAULT_CONNECT_TIMEOUT, DEFAULT_READ_TIMEOUT, null);
+    }
+
+    /**
+     * 自定义认证方式和超时时间
+     * @author hubz
+     * @date 2026/10/18 21:52
+     *
+     * @param auth 认证方式
+     * @param connectTimeout 连接超时时间
+     * @param readTimeout 单个请求等待响应的超时时间
+     * @param executor 执行回调的线程池，为空时使用 JDK 默认线程池
+     **/
+    public HttpRequestAsyncClient(Auth auth, int connectTimeout, int readTimeout, Executor executor) {
+        this.auth = Objects.requireNonNull(auth, "auth");
+        this.readTimeout = Duration.ofMillis(readTimeout);
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeout))
+                .followRedirects(HttpClient.Redirect.NORMAL);
+        if (null != executor) {
+            builder.executor(executor);
+        }
+        this.httpClient = builder.build();
+    }
+
+    public CompletableFuture<String> doGetString(String url) {
+        return execute(HttpClientMethod.GET.toString(), url, HttpRequest.BodyPublishers.noBody(), Collections.emptyMap(),
+                HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8))
+                .thenApply(HttpResponse::body);
+    }
+
+    public <T> CompletableFuture<HttpResponse<T>> doGet(String url, HttpResponse.BodyHandler<T> bodyHandler) {
+        return execute(HttpClientMethod.GET.toString(), url, HttpRequest.BodyPublishers.noBody(), Collections.emptyMap(), bodyHandler);
+    }
+
+    /**
+     * 发送 POST 请求，JSON 形式
+     * @author hubz
+     * @date 2026/10/18 21:55
+     *
+     * @param url 请求URL
+     * @param jsonBody JSON 请求体
+     * @return java.util.concurrent.CompletableFuture<java.lang.String> 响应内容
+     **/
+    public CompletableFuture<String> doPost(String url, String jsonBody) {
+        return executeJson(HttpClientMethod.POST.toString(), url, jsonBody).thenApply(HttpResponse::body);
+    }
+
+    public CompletableFuture<HttpResponse<String>> doPostResp(String url, String jsonBody) {
+        return executeJson(HttpClientMethod.POST.toString(), url, jsonBody);
+    }
+
+    public CompletableFuture<HttpResponse<String>> doPut(String url, String jsonBody) {
+        return executeJson(HttpClientMethod.PUT.toString(), url, jsonBody);
+    }
+
+    public CompletableFuture<HttpResponse<String>> doDelete(String url) {
+        return execute(HttpClientMethod.DELETE.toString(), url, HttpRequest.BodyPublishers.noBody(), Collections.emptyMap(),
+                HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+    }
+
+    private CompletableFuture<HttpResponse<String>> executeJson(String method, String url, String jsonBody) {
+        HttpRequest.BodyPublisher publisher = null == jsonBody
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofString(jsonBody, StandardCharsets.UTF_8);
+        Map<String, String> headers = Map.of(
+                HttpHeaders.ACCEPT, ContentType.APPLICATION_JSON.toString(),
+                HttpHeaders.CONTENT_TYPE, ContentType.APPLICATION_JSON.toString());
+        return execute(method, url, publisher, headers, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 发送异步请求
+     * @author hubz
+     * @date 2026/10/18 21:58
+     *
+     * @param method 请求方法
+     * @param url 请求URL
+     * @param bodyPublisher 请求体
+     * @param headers 自定义请求头
+     * @param bodyHandler 响应体的处理方式
+     * @return java.util.concurrent.CompletableFuture<java.net.http.HttpResponse<T>> 构造请求或请求失败时都以异常结束，不会直接抛出
+     **/
+    public <T> CompletableFuture<HttpResponse<T>> execute(String method, String url, HttpRequest.BodyPublisher bodyPublisher,
+                                                          Map<String, String> headers, HttpResponse.BodyHandler<T> bodyHandler) {
+        CompletableFuture<String> authorization;
+        try {
+            // 可续期的 token 需要刷新时不阻塞调用线程，等刷新完成后再发出请求
+            authorization = auth instanceof RefreshableBearerAuth
+                    ? ((RefreshableBearerAuth) auth).getAuthAsync()
+                    : CompletableFuture.completedFuture(auth.getAuth());
+        } catch (Exception e) {
+            authorization = CompletableFuture.failedFuture(e);
+        }
+        return authorization
+                .thenCompose(value -> httpClient.sendAsync(buildRequest(method, url, bodyPublisher, headers, value), bodyHandler))
+                .whenComplete((response, throwable) -> {
+                    if (null != throwable) {
+                        log.error("{} 异常: url={}", method, url, throwable);
+                    }
+                });
+    }
+
+    private HttpRequest buildRequest(String method, String url, HttpRequest.BodyPublisher bodyPublisher,
+                                     Map<String, String> headers, String authorization) {
+        HttpRequest.Builder requestBuilder = HttpRequest.newBuilder()
+                .uri(URI.create(url))
+                .timeout(readTimeout)
+                .method(method, bodyPublisher);
+        if (null != authorization) {
+            requestBuilder.header(HttpHeaders.AUTHORIZATION, authorization);
+        }
+        headers.forEach(requestBuilder::setHeader);
+        return requestBuilder.build();
+    }
+}
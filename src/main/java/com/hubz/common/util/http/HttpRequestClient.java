@@ -2,29 +2,47 @@ package com.hubz.common.util.http;
 
 
 import lombok.extern.slf4j.Slf4j;
+import org.apache.http.Header;
 import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
 import org.apache.http.HttpHeaders;
 import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
 import org.apache.http.client.HttpClient;
+import org.apache.http.client.ResponseHandler;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.client.methods.RequestBuilder;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.routing.HttpRoute;
 import org.apache.http.entity.ContentType;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
 import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
 import org.apache.http.util.EntityUtils;
 
+import java.io.Closeable;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author wxweven
  */
 @Slf4j
-public class HttpRequestClient {
+public class HttpRequestClient implements Closeable {
 
     /**
      * 默认 连接/读取数据 超时时间都是 10s
@@ -32,9 +50,51 @@ public class HttpRequestClient {
     private static final int DEFAULT_CONNECT_TIMEOUT = 15_000;
     private static final int DEFAULT_READ_TIMEOUT = 15_000;
 
+    /**
+     * 默认连接池大小
+     */
+    private static final int DEFAULT_MAX_CONN_TOTAL = 200;
+    private static final int DEFAULT_MAX_CONN_PER_ROUTE = 50;
+
+    /**
+     * 服务端未通过 Keep-Alive 响应头指定时，空闲连接的默认保持时间
+     */
+    private static final long DEFAULT_KEEP_ALIVE_MILLIS = 30_000L;
+
+    /**
+     * 连接空闲超过该时间后，再次使用前先检查连接是否可用
+     */
+    private static final int DEFAULT_VALIDATE_AFTER_INACTIVITY_MILLIS = 2_000;
+
 
     private final Auth auth;
     private final HttpClient httpClient;
+    private final PoolingHttpClientConnectionManager connectionManager;
+    /**
+     * 连接泄漏检测，未开启时为 null
+     */
+    private final HttpConnectionLeakDetector leakDetector;
+    private final HttpRetryPolicy retryPolicy;
+    /**
+     * 按主机熔断，未开启时为 null
+     */
+    private final HttpCircuitBreaker circuitBreaker;
+    /**
+     * 请求指标监听，未开启时为 null
+     */
+    private final HttpMetricsListener metricsListener;
+    /**
+     * GET 响应缓存，未开启时为 null
+     */
+    private final HttpResponseCache responseCache;
+    /**
+     * 是否合并同一 URL 并发的 GET 请求
+     */
+    private final boolean coalesceGets;
+    /**
+     * 进行中的 GET 请求，相同 URL 的请求等待同一个结果
+     */
+    private final Map<String, CompletableFuture<String>> inFlightGets = new ConcurrentHashMap<>();
 
     /**
      * 用户名密码认证，默认的超时时间(10s)
@@ -54,13 +114,7 @@ public class HttpRequestClient {
      */
     public HttpRequestClient(String username, String password,
                              int connectTimeout, int readTimeout) {
-
-        this.auth = new BasicAuth(username, password);
-        this.httpClient = HttpClientBuilder.create()
-                .setDefaultRequestConfig(getRequestConfig(connectTimeout, readTimeout))
-                .setMaxConnPerRoute(50)
-                .setMaxConnTotal(200)
-                .build();
+        this(builder().auth(new BasicAuth(username, password)).connectTimeout(connectTimeout).readTimeout(readTimeout));
     }
 
     /**
@@ -84,20 +138,118 @@ public class HttpRequestClient {
      * @param readTimeout 读超时时间
      **/
     public HttpRequestClient(String bearerToken, int connectTimeout, int readTimeout) {
-        this.auth = new BearerAuth(bearerToken);
-        this.httpClient = HttpClientBuilder.create()
-                .setDefaultRequestConfig(getRequestConfig(connectTimeout, readTimeout))
-                .build();
+        this(builder().auth(new BearerAuth(bearerToken)).connectTimeout(connectTimeout).readTimeout(readTimeout));
     }
 
-    private RequestConfig getRequestConfig(int connectTimeout, int readTimeout) {
+    /**
+     * 自定义认证方式、超时时间和连接池大小
+     * @author hubz
+     * @date 2026/10/18 20:20
+     *
+     * @param auth 认证方式
+     * @param connectTimeout 连接超时时间
+     * @param readTimeout 读超时时间
+     * @param maxConnPerRoute 单个路由的最大连接数
+     * @param maxConnTotal 连接池的最大连接数
+     **/
+    public HttpRequestClient(Auth auth, int connectTimeout, int readTimeout, int maxConnPerRoute, int maxConnTotal) {
+        this(builder().auth(auth).connectTimeout(connectTimeout).readTimeout(readTimeout)
+                .maxConnPerRoute(maxConnPerRoute).maxConnTotal(maxConnTotal));
+    }
+
+    private HttpRequestClient(Builder builder) {
+        this.auth = Objects.requireNonNull(builder.auth, "auth");
+        this.metricsListener = builder.metricsListener;
+        // 开启指标时使用可记录获取连接、域名解析和建立连接耗时的连接池
+        this.connectionManager = null == metricsListener
+                ? new PoolingHttpClientConnectionManager(builder.connTimeToLiveMillis, TimeUnit.MILLISECONDS)
+                : HttpClientInstrumentation.connectionManager(builder.connTimeToLiveMillis);
+        this.connectionManager.setMaxTotal(builder.maxConnTotal);
+        this.connectionManager.setDefaultMaxPerRoute(builder.maxConnPerRoute);
+        this.connectionManager.setValidateAfterInactivity(builder.validateAfterInactivityMillis);
+        HttpClientBuilder httpClientBuilder = HttpClientBuilder.create()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(getRequestConfig(builder.connectTimeout, builder.readTimeout, builder.connectionRequestTimeout))
+                .setKeepAliveStrategy(keepAliveStrategy(builder.keepAliveMillis));
+        if (builder.evictExpiredConnections) {
+            httpClientBuilder.evictExpiredConnections();
+        }
+        if (builder.maxIdleMillis > 0) {
+            httpClientBuilder.evictIdleConnections(builder.maxIdleMillis, TimeUnit.MILLISECONDS);
+        }
+        // 由重试策略接管重试，避免与 HttpClient 内置的重试叠加
+        if (builder.retryPolicy.getMaxAttempts() > 1) {
+            httpClientBuilder.disableAutomaticRetries();
+        }
+        this.retryPolicy = builder.retryPolicy;
+        this.circuitBreaker = builder.circuitBreaker;
+        this.responseCache = builder.responseCacheMaxBytes > 0 ? new HttpResponseCache(builder.responseCacheMaxBytes) : null;
+        this.coalesceGets = builder.coalesceGets;
+        this.httpClient = httpClientBuilder.build();
+        this.leakDetector = builder.leakDetectionThresholdMillis > 0
+                ? new HttpConnectionLeakDetector(builder.leakDetectionThresholdMillis) : null;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private RequestConfig getRequestConfig(int connectTimeout, int readTimeout, int connectionRequestTimeout) {
         return RequestConfig.custom()
                 .setConnectTimeout(connectTimeout)
-                .setConnectionRequestTimeout(connectTimeout)
+                .setConnectionRequestTimeout(connectionRequestTimeout)
                 .setSocketTimeout(readTimeout)
                 .build();
     }
 
+    /**
+     * 优先使用服务端 Keep-Alive 响应头中的 timeout，未指定时使用默认保持时间
+     **/
+    private static ConnectionKeepAliveStrategy keepAliveStrategy(long keepAliveMillis) {
+        return (response, context) -> {
+            long duration = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return duration > 0 ? duration : keepAliveMillis;
+        };
+    }
+
+    /**
+     * 连接池整体的统计信息：已借出、可用、等待中的连接数
+     * @author hubz
+     * @date 2026/10/18 22:10
+     *
+     * @return org.apache.http.pool.PoolStats
+     **/
+    public PoolStats getTotalStats() {
+        return connectionManager.getTotalStats();
+    }
+
+    /**
+     * 每个路由的连接池统计信息
+     * @author hubz
+     * @date 2026/10/18 22:10
+     *
+     * @return java.util.Map<org.apache.http.conn.routing.HttpRoute, org.apache.http.pool.PoolStats>
+     **/
+    public Map<HttpRoute, PoolStats> getRouteStats() {
+        Map<HttpRoute, PoolStats> stats = new LinkedHashMap<>();
+        for (HttpRoute route : connectionManager.getRoutes()) {
+            stats.put(route, connectionManager.getStats(route));
+        }
+        return stats;
+    }
+
+    /**
+     * 调整单个路由的最大连接数
+     * @author hubz
+     * @date 2026/10/18 22:12
+     *
+     * @param route 路由
+     * @param maxConn 最大连接数
+     **/
+    public void setMaxPerRoute(HttpRoute route, int maxConn) {
+        connectionManager.setMaxPerRoute(route, maxConn);
+    }
+
 
     public String doGetString(String url) {
         return doGetString(url, new HashMap<>());
@@ -121,30 +273,135 @@ public class HttpRequestClient {
     }
 
     public String doGetString(RequestBuilder reqBuilder, Map<String, String> params) {
-        reqBuilder.addHeader(HttpHeaders.AUTHORIZATION, auth.getAuth());
+        authorize(reqBuilder);
         for (Map.Entry<String, String> entry : params.entrySet()) {
             reqBuilder.addParameter(entry.getKey(), entry.getValue());
         }
         try {
-            HttpResponse resp = httpClient.execute(reqBuilder.build());
-            return EntityUtils.toString(resp.getEntity(), StandardCharsets.UTF_8);
+            HttpUriRequest request = reqBuilder.build();
+            if ((null != responseCache || coalesceGets) && HttpClientMethod.GET.matches(request.getMethod())
+                    && !hasCustomHeaders(request)) {
+                return cachedGet(request);
+            }
+            return executeHandled(request, HttpRequestClient::entityToString);
         } catch (IOException e) {
             log.error("doGet 异常: reqBuilder={}, params={}", reqBuilder, params, e);
             return null;
         }
     }
 
+    /**
+     * GET 响应缓存，未开启时返回 null
+     **/
+    public HttpResponseCache getResponseCache() {
+        return responseCache;
+    }
+
+    /**
+     * 先查缓存，未命中或已过期时发出请求；开启合并时同一 URL 同时只有一个请求，其余线程等待其结果
+     * @author hubz
+     * @date 2026/10/19 01:20
+     *
+     * @param request GET 请求
+     * @return java.lang.String 响应内容
+     **/
+    private String cachedGet(HttpUriRequest request) throws IOException {
+        String key = request.getURI().toString();
+        HttpResponseCache.Entry cached = null == responseCache ? null : responseCache.get(key);
+        if (null != cached && cached.isFresh()) {
+            return cached.getBody();
+        }
+        if (!coalesceGets) {
+            return fetchGet(request, key, cached);
+        }
+        CompletableFuture<String> flight = new CompletableFuture<>();
+        CompletableFuture<String> existing = inFlightGets.putIfAbsent(key, flight);
+        if (null != existing) {
+            return awaitFlight(existing);
+        }
+        try {
+            String body = fetchGet(request, key, cached);
+            flight.complete(body);
+            return body;
+        } catch (Throwable e) {
+            // 包括 Error，否则等待同一结果的线程会一直阻塞
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightGets.remove(key, flight);
+        }
+    }
+
+    /**
+     * 是否设置了 Authorization 以外的请求头。缓存和合并只按 URL 区分请求，Accept、Range 等请求头不同的请求不能共享结果，
+     * 因此设置了自定义请求头的请求直接发出
+     **/
+    private static boolean hasCustomHeaders(HttpUriRequest request) {
+        for (Header header : request.getAllHeaders()) {
+            if (!HttpHeaders.AUTHORIZATION.equalsIgnoreCase(header.getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 发出 GET 请求，有过期的缓存时带上验证头，服务端返回 304 时使用缓存内容
+     **/
+    private String fetchGet(HttpUriRequest request, String key, HttpResponseCache.Entry cached) throws IOException {
+        if (null != cached) {
+            if (null != cached.getEtag()) {
+                request.setHeader(HttpHeaders.IF_NONE_MATCH, cached.getEtag());
+            }
+            if (null != cached.getLastModified()) {
+                request.setHeader(HttpHeaders.IF_MODIFIED_SINCE, cached.getLastModified());
+            }
+        }
+        return executeHandled(request, response -> {
+            int statusCode = response.getStatusLine().getStatusCode();
+            if (statusCode == HttpStatus.SC_NOT_MODIFIED && null != cached) {
+                return responseCache.revalidated(key, cached, response).getBody();
+            }
+            String body = entityToString(response);
+            if (null != responseCache && statusCode == HttpStatus.SC_OK) {
+                responseCache.store(key, response, body);
+            }
+            return body;
+        });
+    }
+
+    private static String awaitFlight(CompletableFuture<String> flight) throws IOException {
+        try {
+            return flight.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("等待合并的请求时被中断");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
     public HttpResponse doGetHttpResponse(String url) throws IOException {
         RequestBuilder reqBuilder = RequestBuilder.get(url);
-        reqBuilder.addHeader(HttpHeaders.AUTHORIZATION, auth.getAuth());
-        return httpClient.execute(reqBuilder.build());
+        authorize(reqBuilder);
+        return executeRaw(reqBuilder.build());
     }
 
 
     public String doPost(String url, HttpEntity httpEntity) {
         try {
-            HttpResponse resp = this.execute(HttpClientMethod.POST.toString(), url, httpEntity);
-            return EntityUtils.toString(resp.getEntity(), StandardCharsets.UTF_8);
+            return executeHandled(jsonRequest(HttpClientMethod.POST.toString(), url, httpEntity).build(),
+                    HttpRequestClient::entityToString);
         } catch (IOException e) {
             log.error("doPost 异常: url={}", url, e);
             return null;
@@ -173,24 +430,526 @@ public class HttpRequestClient {
     }
 
     public HttpResponse execute(String method, String url, HttpEntity httpEntity) throws IOException {
-        RequestBuilder reqBuilder = RequestBuilder.create(method)
-                .setUri(url)
-                .addHeader(HttpHeaders.AUTHORIZATION, auth.getAuth())
+        return executeRaw(jsonRequest(method, url, httpEntity).build());
+    }
+
+    private RequestBuilder jsonRequest(String method, String url, HttpEntity httpEntity) {
+        RequestBuilder reqBuilder = authorize(RequestBuilder.create(method).setUri(url))
                 .addHeader("Accept", ContentType.APPLICATION_JSON.toString())
                 .addHeader("Content-type", ContentType.APPLICATION_JSON.toString());
 
         if (!Objects.isNull(httpEntity)) {
             reqBuilder.setEntity(httpEntity);
         }
-
-        return httpClient.execute(reqBuilder.build());
+        return reqBuilder;
     }
 
     public HttpResponse execute(String method, String url) throws IOException {
-        RequestBuilder reqBuilder = RequestBuilder.create(method)
-                .setUri(url)
-                .addHeader(HttpHeaders.AUTHORIZATION, auth.getAuth());
+        RequestBuilder reqBuilder = authorize(RequestBuilder.create(method).setUri(url));
         HttpUriRequest httpUriRequest = reqBuilder.build();
-        return httpClient.execute(httpUriRequest);
+        return executeRaw(httpUriRequest);
+    }
+
+    /**
+     * 发送附带自定义请求头的请求
+     * @author hubz
+     * @date 2026/10/18 15:02
+     *
+     * @param method 请求方法
+     * @param url 请求URL
+     * @param headers 自定义请求头
+     * @return org.apache.http.HttpResponse
+     **/
+    public HttpResponse executeWithHeaders(String method, String url, Header... headers) throws IOException {
+        return executeWithHeaders(method, url, null, headers);
+    }
+
+    /**
+     * 发送附带请求体和自定义请求头的请求，不会强制设置 JSON 请求头
+     * @author hubz
+     * @date 2026/10/18 19:12
+     *
+     * @param method 请求方法
+     * @param url 请求URL
+     * @param httpEntity 请求体，可为空
+     * @param headers 自定义请求头
+     * @return org.apache.http.HttpResponse
+     **/
+    public HttpResponse executeWithHeaders(String method, String url, HttpEntity httpEntity, Header... headers) throws IOException {
+        return executeRaw(requestWithHeaders(method, url, httpEntity, headers));
+    }
+
+    /**
+     * 发送请求并交由 handler 处理响应，handler 返回或抛出异常后连接都会被释放
+     * @author hubz
+     * @date 2026/10/18 22:30
+     *
+     * @param method 请求方法
+     * @param url 请求URL
+     * @param httpEntity 请求体，可为空
+     * @param handler 响应处理逻辑，不能将响应体留到方法外使用
+     * @param headers 自定义请求头
+     * @return T handler 的处理结果
+     **/
+    public <T> T execute(String method, String url, HttpEntity httpEntity, ResponseHandler<? extends T> handler,
+                         Header... headers) throws IOException {
+        return executeHandled(requestWithHeaders(method, url, httpEntity, headers), handler);
+    }
+
+    /**
+     * 发送自行构造的请求并交由 handler 处理响应，未设置 Authorization 且认证信息不为空时自动添加
+     * @author hubz
+     * @date 2026/10/18 22:31
+     *
+     * @param request 请求
+     * @param handler 响应处理逻辑，不能将响应体留到方法外使用
+     * @return T handler 的处理结果
+     **/
+    public <T> T execute(HttpUriRequest request, ResponseHandler<? extends T> handler) throws IOException {
+        if (!request.containsHeader(HttpHeaders.AUTHORIZATION)) {
+            String authorization = auth.getAuth();
+            if (null != authorization) {
+                request.addHeader(HttpHeaders.AUTHORIZATION, authorization);
+            }
+        }
+        return executeHandled(request, handler);
+    }
+
+    /**
+     * 添加 Authorization 请求头，认证信息为空时不添加，避免发出空的 Authorization 请求头
+     **/
+    private RequestBuilder authorize(RequestBuilder reqBuilder) {
+        String authorization = auth.getAuth();
+        if (null != authorization) {
+            reqBuilder.addHeader(HttpHeaders.AUTHORIZATION, authorization);
+        }
+        return reqBuilder;
+    }
+
+    /**
+     * 以文件内容作为请求体上传，流式读取文件，不设置 JSON 请求头
+     * @author hubz
+     * @date 2026/10/19 01:40
+     *
+     * @param method 请求方法，一般为 PUT 或 POST
+     * @param url 请求URL
+     * @param file 文件
+     * @param contentType 内容类型，为空时使用 application/octet-stream
+     * @param progressListener 进度回调，可为空
+     * @param handler 响应处理逻辑
+     * @param headers 自定义请求头
+     * @return T handler 的处理结果
+     **/
+    public <T> T upload(String method, String url, Path file, ContentType contentType, HttpProgressListener progressListener,
+                        ResponseHandler<? extends T> handler, Header... headers) throws IOException {
+        FileChannelEntity entity = new FileChannelEntity(file, 0, Files.size(file),
+                null == contentType ? ContentType.APPLICATION_OCTET_STREAM : contentType, progressListener);
+        return timedUpload(method, url, entity, handler, headers);
+    }
+
+    /**
+     * 以 multipart/form-data 形式 POST 上传，进度回调在构造 {@link MultipartEntity} 时设置
+     * @author hubz
+     * @date 2026/10/19 01:42
+     *
+     * @param url 请求URL
+     * @param entity 请求体
+     * @param handler 响应处理逻辑
+     * @param headers 自定义请求头
+     * @return T handler 的处理结果
+     **/
+    public <T> T uploadMultipart(String url, MultipartEntity entity, ResponseHandler<? extends T> handler,
+                                 Header... headers) throws IOException {
+        return timedUpload(HttpClientMethod.POST.toString(), url, entity, handler, headers);
+    }
+
+    private <T> T timedUpload(String method, String url, HttpEntity entity, ResponseHandler<? extends T> handler,
+                              Header... headers) throws IOException {
+        long start = System.nanoTime();
+        T result = execute(method, url, entity, handler, headers);
+        long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        long bytes = entity.getContentLength();
+        log.debug("上传完成: url={}, bytes={}, elapsed={}ms, throughput={}MB/s", url, bytes, elapsedMillis,
+                String.format("%.2f", bytes / 1024.0 / 1024.0 / (elapsedMillis / 1000.0)));
+        return result;
+    }
+
+    private HttpUriRequest requestWithHeaders(String method, String url, HttpEntity httpEntity, Header... headers) {
+        RequestBuilder reqBuilder = authorize(RequestBuilder.create(method).setUri(url));
+        for (Header header : headers) {
+            reqBuilder.addHeader(header);
+        }
+        if (!Objects.isNull(httpEntity)) {
+            reqBuilder.setEntity(httpEntity);
+        }
+        return reqBuilder.build();
+    }
+
+    /**
+     * 发送请求并返回原始响应，调用方负责释放响应体；开启泄漏检测时跟踪该响应
+     **/
+    private HttpResponse executeRaw(HttpUriRequest request) throws IOException {
+        HttpResponse response = send(request);
+        return null == leakDetector ? response : leakDetector.track(response, request.getMethod() + " " + request.getURI());
+    }
+
+    /**
+     * 发送请求并交由 handler 处理，无论成功与否都释放连接
+     **/
+    private <T> T executeHandled(HttpUriRequest request, ResponseHandler<? extends T> handler) throws IOException {
+        HttpResponse response = send(request);
+        try {
+            T result = handler.handleResponse(response);
+            EntityUtils.consume(response.getEntity());
+            return result;
+        } finally {
+            closeQuietly(response);
+        }
+    }
+
+    /**
+     * 按重试策略和熔断状态发送请求
+     * @author hubz
+     * @date 2026/10/18 23:02
+     *
+     * @param request 请求，请求体不可重复读取时不重试
+     * @return org.apache.http.HttpResponse 最后一次请求的响应
+     **/
+    private HttpResponse send(HttpUriRequest request) throws IOException {
+        HttpEntity entity = request instanceof HttpEntityEnclosingRequest
+                ? ((HttpEntityEnclosingRequest) request).getEntity() : null;
+        boolean repeatable = null == entity || entity.isRepeatable();
+        HttpClientInstrumentation.CountingEntity countingEntity = null;
+        if (null != metricsListener && null != entity) {
+            countingEntity = new HttpClientInstrumentation.CountingEntity(entity);
+            ((HttpEntityEnclosingRequest) request).setEntity(countingEntity);
+        }
+        for (int attempt = 1; ; attempt++) {
+            if (null != circuitBreaker) {
+                circuitBreaker.acquire(request.getURI());
+            }
+            boolean canRetry = repeatable && attempt < retryPolicy.getMaxAttempts();
+            HttpResponse response;
+            long start = System.nanoTime();
+            HttpClientInstrumentation timings = null == metricsListener ? null : HttpClientInstrumentation.begin();
+            try {
+                response = httpClient.execute(request);
+                if (null != timings) {
+                    meter(request, attempt, timings, start, response, null, countingEntity);
+                }
+            } catch (IOException e) {
+                if (null != timings) {
+                    meter(request, attempt, timings, start, null, e, countingEntity);
+                }
+                if (null != circuitBreaker) {
+                    circuitBreaker.onFailure(request.getURI());
+                }
+                if (!canRetry || !retryPolicy.isRetryable(request.getMethod(), e)) {
+                    throw e;
+                }
+                long delay = retryPolicy.delayMillis(attempt, null);
+                onRetry(request, attempt, delay);
+                log.warn("{} {} 第【{}】次请求异常，【{}】毫秒后重试：{}", request.getMethod(), request.getURI(), attempt, delay, e.toString());
+                sleep(delay);
+                continue;
+            } catch (RuntimeException | Error e) {
+                if (null != circuitBreaker) {
+                    circuitBreaker.release(request.getURI());
+                }
+                throw e;
+            } finally {
+                if (null != timings) {
+                    HttpClientInstrumentation.end();
+                }
+            }
+            int statusCode = response.getStatusLine().getStatusCode();
+            if (null != circuitBreaker) {
+                if (HttpCircuitBreaker.isFailure(statusCode)) {
+                    circuitBreaker.onFailure(request.getURI());
+                } else {
+                    circuitBreaker.onSuccess(request.getURI());
+                }
+            }
+            if (!canRetry || !retryPolicy.isRetryableStatus(statusCode) || !retryPolicy.canRetry(request.getMethod())) {
+                return response;
+            }
+            Header retryAfter = response.getFirstHeader(HttpHeaders.RETRY_AFTER);
+            long delay = retryPolicy.delayMillis(attempt, null == retryAfter ? null : retryAfter.getValue());
+            if (delay < 0) {
+                return response;
+            }
+            onRetry(request, attempt, delay);
+            log.warn("{} {} 第【{}】次请求响应状态码【{}】，【{}】毫秒后重试", request.getMethod(), request.getURI(), attempt, statusCode, delay);
+            EntityUtils.consumeQuietly(response.getEntity());
+            closeQuietly(response);
+            sleep(delay);
+        }
+    }
+
+    /**
+     * 记录一次请求的指标，有响应体时在响应体读取完毕或关闭后记录
+     * @author hubz
+     * @date 2026/10/19 00:48
+     *
+     * @param request 请求
+     * @param attempt 第几次请求
+     * @param timings 本次请求各阶段的耗时
+     * @param startNanos 开始时间
+     * @param response 响应，请求异常时为空
+     * @param error 请求异常，成功时为空
+     * @param countingEntity 统计写出字节数的请求体，没有请求体时为空
+     **/
+    private void meter(HttpUriRequest request, int attempt, HttpClientInstrumentation timings, long startNanos,
+                       HttpResponse response, IOException error, HttpClientInstrumentation.CountingEntity countingEntity) {
+        HttpRequestMetrics.HttpRequestMetricsBuilder metrics = HttpRequestMetrics.builder()
+                .method(request.getMethod())
+                .host(HttpCircuitBreaker.hostKey(request.getURI()))
+                .statusCode(null == response ? -1 : response.getStatusLine().getStatusCode())
+                .error(null == error ? null : error.getClass().getName())
+                .attempt(attempt)
+                .poolWaitMillis(timings.getPoolWaitMillis())
+                .dnsMillis(timings.getDnsMillis())
+                .connectMillis(timings.getConnectMillis())
+                .timeToFirstByteMillis(HttpClientInstrumentation.elapsedMillis(startNanos))
+                .bytesSent(null == countingEntity ? 0 : countingEntity.takeWritten());
+        HttpEntity entity = null == response ? null : response.getEntity();
+        if (null == entity) {
+            report(metrics.totalMillis(HttpClientInstrumentation.elapsedMillis(startNanos)).bytesReceived(0).build());
+            return;
+        }
+        response.setEntity(new HttpClientInstrumentation.CountingResponseEntity(entity,
+                bytes -> report(metrics.totalMillis(HttpClientInstrumentation.elapsedMillis(startNanos)).bytesReceived(bytes).build())));
+    }
+
+    private void report(HttpRequestMetrics metrics) {
+        try {
+            metricsListener.onRequest(metrics);
+        } catch (RuntimeException e) {
+            log.warn("记录请求指标失败", e);
+        }
+    }
+
+    private void onRetry(HttpUriRequest request, int attempt, long delay) {
+        if (null != metricsListener) {
+            metricsListener.onRetry(request.getMethod(), HttpCircuitBreaker.hostKey(request.getURI()), attempt, delay);
+        }
+    }
+
+    private static void sleep(long millis) throws InterruptedIOException {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("等待重试时被中断");
+        }
+    }
+
+    private static void closeQuietly(HttpResponse response) {
+        if (response instanceof Closeable) {
+            try {
+                ((Closeable) response).close();
+            } catch (IOException e) {
+                log.debug("关闭响应失败", e);
+            }
+        }
+    }
+
+    private static String entityToString(HttpResponse response) throws IOException {
+        HttpEntity entity = response.getEntity();
+        return null == entity ? null : EntityUtils.toString(entity, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 关闭连接池
+     * @author hubz
+     * @date 2026/10/18 20:22
+     **/
+    @Override
+    public void close() throws IOException {
+        if (null != leakDetector) {
+            leakDetector.close();
+        }
+        if (httpClient instanceof Closeable) {
+            ((Closeable) httpClient).close();
+        }
+    }
+
+    /**
+     * HttpRequestClient 构造器
+     */
+    public static final class Builder {
+
+        private Auth auth;
+        private int connectTimeout = DEFAULT_CONNECT_TIMEOUT;
+        private int readTimeout = DEFAULT_READ_TIMEOUT;
+        private int connectionRequestTimeout = DEFAULT_CONNECT_TIMEOUT;
+        private int maxConnTotal = DEFAULT_MAX_CONN_TOTAL;
+        private int maxConnPerRoute = DEFAULT_MAX_CONN_PER_ROUTE;
+        private long connTimeToLiveMillis = -1;
+        private long keepAliveMillis = DEFAULT_KEEP_ALIVE_MILLIS;
+        private int validateAfterInactivityMillis = DEFAULT_VALIDATE_AFTER_INACTIVITY_MILLIS;
+        private long maxIdleMillis = 0;
+        private boolean evictExpiredConnections = false;
+        private long leakDetectionThresholdMillis = 0;
+        private HttpRetryPolicy retryPolicy = HttpRetryPolicy.NONE;
+        private HttpCircuitBreaker circuitBreaker;
+        private HttpMetricsListener metricsListener;
+        private long responseCacheMaxBytes = 0;
+        private boolean coalesceGets = false;
+
+        private Builder() {
+        }
+
+        public Builder auth(Auth auth) {
+            this.auth = auth;
+            return this;
+        }
+
+        public Builder basicAuth(String username, String password) {
+            this.auth = new BasicAuth(username, password);
+            return this;
+        }
+
+        public Builder bearerToken(String bearerToken) {
+            this.auth = new BearerAuth(bearerToken);
+            return this;
+        }
+
+        /**
+         * 建立连接的超时时间（毫秒）
+         */
+        public Builder connectTimeout(int connectTimeout) {
+            this.connectTimeout = connectTimeout;
+            this.connectionRequestTimeout = connectTimeout;
+            return this;
+        }
+
+        /**
+         * 读取数据的超时时间（毫秒）
+         */
+        public Builder readTimeout(int readTimeout) {
+            this.readTimeout = readTimeout;
+            return this;
+        }
+
+        /**
+         * 从连接池获取连接的超时时间（毫秒），默认与连接超时时间相同
+         */
+        public Builder connectionRequestTimeout(int connectionRequestTimeout) {
+            this.connectionRequestTimeout = connectionRequestTimeout;
+            return this;
+        }
+
+        public Builder maxConnTotal(int maxConnTotal) {
+            this.maxConnTotal = maxConnTotal;
+            return this;
+        }
+
+        public Builder maxConnPerRoute(int maxConnPerRoute) {
+            this.maxConnPerRoute = maxConnPerRoute;
+            return this;
+        }
+
+        /**
+         * 连接的最大存活时间（毫秒），超过后不再复用，小于等于0表示不限制
+         */
+        public Builder connTimeToLive(long connTimeToLiveMillis) {
+            this.connTimeToLiveMillis = connTimeToLiveMillis;
+            return this;
+        }
+
+        /**
+         * 服务端未指定 Keep-Alive 时空闲连接的保持时间（毫秒）
+         */
+        public Builder keepAlive(long keepAliveMillis) {
+            this.keepAliveMillis = keepAliveMillis;
+            return this;
+        }
+
+        /**
+         * 连接空闲超过该时间（毫秒）后，复用前先检查连接是否仍然可用，小于0表示不检查
+         */
+        public Builder validateAfterInactivity(int validateAfterInactivityMillis) {
+            this.validateAfterInactivityMillis = validateAfterInactivityMillis;
+            return this;
+        }
+
+        /**
+         * 后台线程清理空闲超过该时间（毫秒）的连接，小于等于0表示不清理（默认）
+         * <p>
+         * 开启后每个客户端持有一个清理线程，直到 {@link HttpRequestClient#close()} 才停止，只应对长期使用并会关闭的客户端开启。
+         */
+        public Builder evictIdleConnections(long maxIdleMillis) {
+            this.maxIdleMillis = maxIdleMillis;
+            return this;
+        }
+
+        /**
+         * 后台线程是否清理已过期（超过存活时间或 Keep-Alive 时间）的连接，默认不清理，复用前的可用性检查仍然生效
+         * <p>
+         * 与 {@link #evictIdleConnections} 共用一个清理线程，同样需要调用 {@link HttpRequestClient#close()} 释放
+         */
+        public Builder evictExpiredConnections(boolean evictExpiredConnections) {
+            this.evictExpiredConnections = evictExpiredConnections;
+            return this;
+        }
+
+        /**
+         * 原始响应持有超过该时间（毫秒）仍未释放时打印获取位置，小于等于0表示不检测
+         */
+        public Builder leakDetectionThreshold(long leakDetectionThresholdMillis) {
+            this.leakDetectionThresholdMillis = leakDetectionThresholdMillis;
+            return this;
+        }
+
+        /**
+         * 请求异常或响应暂时性失败状态码时的重试策略，默认不重试
+         */
+        public Builder retryPolicy(HttpRetryPolicy retryPolicy) {
+            this.retryPolicy = Objects.requireNonNull(retryPolicy, "retryPolicy");
+            return this;
+        }
+
+        /**
+         * 按主机熔断，默认不开启；同一实例可在多个客户端之间共享
+         */
+        public Builder circuitBreaker(HttpCircuitBreaker circuitBreaker) {
+            this.circuitBreaker = circuitBreaker;
+            return this;
+        }
+
+        /**
+         * 请求指标监听，如 {@link InMemoryHttpMetrics}，默认不记录
+         */
+        public Builder metricsListener(HttpMetricsListener metricsListener) {
+            this.metricsListener = metricsListener;
+            return this;
+        }
+
+        /**
+         * 开启 doGetString 的响应缓存，按 Cache-Control、Expires 和 ETag 缓存和验证，小于等于0表示不缓存；
+         * 设置了自定义请求头的请求不使用缓存
+         *
+         * @param maxBytes 缓存的响应体总字节数上限
+         */
+        public Builder responseCache(long maxBytes) {
+            this.responseCacheMaxBytes = maxBytes;
+            return this;
+        }
+
+        /**
+         * 是否合并 doGetString 对同一 URL 的并发请求，只发出一个请求，其余线程共享结果；设置了自定义请求头的请求不合并
+         */
+        public Builder coalesceGets(boolean coalesceGets) {
+            this.coalesceGets = coalesceGets;
+            return this;
+        }
+
+        public HttpRequestClient build() {
+            if (maxConnTotal < 1 || maxConnPerRoute < 1) {
+                throw new IllegalArgumentException("pool size must be positive");
+            }
+            return new HttpRequestClient(this);
+        }
     }
 }
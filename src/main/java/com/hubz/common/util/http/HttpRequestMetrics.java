@@ -0,0 +1,73 @@
+package com.hubz.common.util.http;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * 单次请求的耗时和流量，无法获取的项为 -1
+ * @author hubz
+ * @date 2026/10/19 00:20
+ **/
+@Data
+@Builder
+public class HttpRequestMetrics {
+    /**
+     * 请求方法
+     */
+    private String method;
+
+    /**
+     * 主机，非默认端口时带端口
+     */
+    private String host;
+
+    /**
+     * 响应状态码，请求异常时为 -1
+     */
+    private int statusCode;
+
+    /**
+     * 请求异常的类型，成功时为空
+     */
+    private String error;
+
+    /**
+     * 第几次请求，从1开始
+     */
+    private int attempt;
+
+    /**
+     * 等待连接池分配连接的耗时（毫秒）
+     */
+    private long poolWaitMillis;
+
+    /**
+     * 域名解析耗时（毫秒），复用连接时为 0
+     */
+    private long dnsMillis;
+
+    /**
+     * 建立连接（含 TLS 握手）耗时（毫秒），复用连接时为 0
+     */
+    private long connectMillis;
+
+    /**
+     * 从发出请求到收到响应头的耗时（毫秒）
+     */
+    private long timeToFirstByteMillis;
+
+    /**
+     * 从发出请求到响应体读取完毕的耗时（毫秒）
+     */
+    private long totalMillis;
+
+    /**
+     * 请求体字节数
+     */
+    private long bytesSent;
+
+    /**
+     * 已读取的响应体字节数（解压前）
+     */
+    private long bytesReceived;
+}
@@ -0,0 +1,221 @@
+package com.hubz.common.util.http;
+
+import cn.hutool.core.date.DatePattern;
+import cn.hutool.core.date.DateUtil;
+import cn.hutool.core.util.StrUtil;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import org.apache.http.Header;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GET 响应缓存
+ * <p>
+ * 按响应头 Cache-Control（max-age、no-cache、no-store）和 Expires 计算有效期，只缓存 200 响应。
+ * 过期后若有 ETag 或 Last-Modified，则带上 If-None-Match / If-Modified-Since 重新验证，服务端返回 304 时继续使用缓存内容。
+ * 缓存按响应体占用的字节数限制总大小，超出时淘汰最久未使用的条目。
+ * <p>
+ * 缓存内容与认证信息相关，只在同一个 HttpRequestClient 内使用。缓存按 URL 区分，
+ * HttpRequestClient 只对没有自定义请求头的 GET 请求使用缓存，同一 URL 的请求头相同，Vary 列出的请求头不会不同。
+ * @author hubz
+ * @date 2026/10/19 01:10
+ **/
+public final class HttpResponseCache {
+
+    private final Cache<String, Entry> cache;
+
+    /**
+     * @param maxBytes 缓存的响应体总字节数上限
+     */
+    public HttpResponseCache(long maxBytes) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("maxBytes must be positive");
+        }
+        this.cache = CacheBuilder.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, Entry entry) -> entry.weight(key))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * 缓存的条目，不论是否过期
+     **/
+    Entry get(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    /**
+     * 按响应头决定是否缓存
+     * @author hubz
+     * @date 2026/10/19 01:14
+     *
+     * @param key 缓存键
+     * @param response 200 响应
+     * @param body 响应内容
+     **/
+    void store(String key, HttpResponse response, String body) {
+        if (null == body) {
+            return;
+        }
+        String cacheControl = headerValue(response, HttpHeaders.CACHE_CONTROL);
+        // Vary: * 表示响应随请求之外的条件变化，不能复用
+        if (directive(cacheControl, "no-store") || "*".equals(StrUtil.trim(headerValue(response, HttpHeaders.VARY)))) {
+            cache.invalidate(key);
+            return;
+        }
+        long expiresAt = expiresAt(response, cacheControl);
+        String etag = headerValue(response, HttpHeaders.ETAG);
+        String lastModified = headerValue(response, HttpHeaders.LAST_MODIFIED);
+        if (expiresAt <= System.currentTimeMillis() && null == etag && null == lastModified) {
+            cache.invalidate(key);
+            return;
+        }
+        cache.put(key, new Entry(body, etag, lastModified, expiresAt));
+    }
+
+    /**
+     * 服务端返回 304 后更新有效期
+     * @author hubz
+     * @date 2026/10/19 01:16
+     *
+     * @param key 缓存键
+     * @param entry 原有条目
+     * @param response 304 响应
+     * @return com.hubz.common.util.http.HttpResponseCache.Entry 更新后的条目
+     **/
+    Entry revalidated(String key, Entry entry, HttpResponse response) {
+        String cacheControl = headerValue(response, HttpHeaders.CACHE_CONTROL);
+        String etag = headerValue(response, HttpHeaders.ETAG);
+        Entry refreshed = new Entry(entry.body, null == etag ? entry.etag : etag, entry.lastModified, expiresAt(response, cacheControl));
+        cache.put(key, refreshed);
+        return refreshed;
+    }
+
+    public void invalidate(String url) {
+        cache.invalidate(url);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public long size() {
+        return cache.size();
+    }
+
+    /**
+     * 命中率等统计信息
+     **/
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private static long expiresAt(HttpResponse response, String cacheControl) {
+        long now = System.currentTimeMillis();
+        if (directive(cacheControl, "no-cache")) {
+            return now;
+        }
+        long maxAge = maxAge(cacheControl);
+        if (maxAge >= 0) {
+            return now + TimeUnit.SECONDS.toMillis(maxAge);
+        }
+        String expires = headerValue(response, HttpHeaders.EXPIRES);
+        if (null != expires) {
+            try {
+                long expiresMillis = DateUtil.parse(expires, DatePattern.HTTP_DATETIME_FORMAT).getTime();
+                // 以服务端时间计算有效时长，避免客户端时钟偏差
+                String date = headerValue(response, HttpHeaders.DATE);
+                long serverNow = null == date ? now : DateUtil.parse(date, DatePattern.HTTP_DATETIME_FORMAT).getTime();
+                return now + Math.max(0, expiresMillis - serverNow);
+            } catch (Exception e) {
+                // 无法解析的 Expires 视为已过期
+                return now;
+            }
+        }
+        return now;
+    }
+
+    private static long maxAge(String cacheControl) {
+        if (null == cacheControl) {
+            return -1;
+        }
+        for (String part : StrUtil.splitTrim(cacheControl, ',')) {
+            if (StrUtil.startWithIgnoreCase(part, "max-age=")) {
+                try {
+                    return Long.parseLong(StrUtil.strip(part.substring("max-age=".length()).trim(), "\""));
+                } catch (NumberFormatException e) {
+                    return -1;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static boolean directive(String cacheControl, String name) {
+        if (null == cacheControl) {
+            return false;
+        }
+        for (String part : StrUtil.splitTrim(cacheControl, ',')) {
+            if (StrUtil.equalsIgnoreCase(part, name) || StrUtil.startWithIgnoreCase(part, name + "=")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String headerValue(HttpResponse response, String name) {
+        Header header = response.getFirstHeader(name);
+        return null == header || StrUtil.isBlank(header.getValue()) ? null : header.getValue().trim();
+    }
+
+    /**
+     * 缓存的响应
+     */
+    static final class Entry {
+
+        private final String body;
+
+        private final String etag;
+
+        private final String lastModified;
+
+        private final long expiresAtMillis;
+
+        private Entry(String body, String etag, String lastModified, long expiresAtMillis) {
+            this.body = body;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+
+        String getBody() {
+            return body;
+        }
+
+        String getEtag() {
+            return etag;
+        }
+
+        String getLastModified() {
+            return lastModified;
+        }
+
+        boolean isFresh() {
+            return System.currentTimeMillis() < expiresAtMillis;
+        }
+
+        /**
+         * 以 UTF-16 估算占用的字节数
+         */
+        private int weight(String key) {
+            long chars = (long) body.length() + key.length()
+                    + (null == etag ? 0 : etag.length()) + (null == lastModified ? 0 : lastModified.length());
+            return (int) Math.min(Integer.MAX_VALUE, chars * 2);
+        }
+    }
+}
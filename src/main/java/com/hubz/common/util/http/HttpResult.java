@@ -0,0 +1,72 @@
+package com.hubz.common.util.http;
+
+import lombok.Builder;
+import lombok.Data;
+import org.apache.http.entity.ContentType;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 与传输实现无关的响应，响应体已完整读取并解压
+ * @author hubz
+ * @date 2026/10/19 02:04
+ **/
+@Data
+@Builder
+public class HttpResult {
+
+    /**
+     * 响应状态码
+     */
+    private int statusCode;
+
+    /**
+     * 响应头，名称不区分大小写
+     */
+    private Map<String, List<String>> headers;
+
+    /**
+     * 响应体，没有响应体时为空数组
+     */
+    private byte[] body;
+
+    public boolean isSuccessful() {
+        return statusCode >= 200 && statusCode < 300;
+    }
+
+    /**
+     * 第一个同名响应头的值，不存在时为空
+     */
+    public String firstHeader(String name) {
+        List<String> values = null == headers ? null : headers.get(name);
+        return null == values || values.isEmpty() ? null : values.get(0);
+    }
+
+    public List<String> headers(String name) {
+        List<String> values = null == headers ? null : headers.get(name);
+        return null == values ? Collections.emptyList() : values;
+    }
+
+    /**
+     * 按 Content-Type 中的字符集解码响应体，未指定时使用 UTF-8
+     */
+    public String bodyAsString() {
+        Charset charset = StandardCharsets.UTF_8;
+        String contentType = firstHeader("Content-Type");
+        if (null != contentType) {
+            try {
+                Charset declared = ContentType.parse(contentType).getCharset();
+                if (null != declared) {
+                    charset = declared;
+                }
+            } catch (RuntimeException ignored) {
+                // 无法解析的 Content-Type 按 UTF-8 处理
+            }
+        }
+        return null == body ? "" : new String(body, charset);
+    }
+}
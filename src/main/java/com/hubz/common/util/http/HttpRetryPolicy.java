@@ -0,0 +1,241 @@
+package com.hubz.common.util.http;
+
+import cn.hutool.core.date.DatePattern;
+import cn.hutool.core.date.DateUtil;
+import cn.hutool.core.util.NumberUtil;
+import cn.hutool.core.util.StrUtil;
+import org.apache.http.conn.ConnectTimeoutException;
+
+import javax.net.ssl.SSLException;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.UnknownHostException;
+import java.net.http.HttpConnectTimeoutException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 请求重试策略
+ * <p>
+ * 第 n 次重试前等待 min(maxDelay, baseDelay * multiplier^(n-1))，开启抖动时在 [0, 该值] 内随机取值，
+ * 避免大量客户端在同一时刻重试。响应带有 Retry-After 时以服务端要求的时间为准，超过最大等待时间则不再重试。
+ * <p>
+ * 默认只重试幂等的请求方法；连接未建立（连接被拒绝、连接超时）时请求尚未发出，任何方法都可以安全重试。
+ * 实例不可变，可在多个客户端之间共享。
+ * @author hubz
+ * @date 2026/10/18 22:42
+ **/
+public final class HttpRetryPolicy {
+
+    private static final Set<Integer> DEFAULT_RETRYABLE_STATUS_CODES =
+            Collections.unmodifiableSet(new HashSet<>(Arrays.asList(408, 429, 502, 503, 504)));
+
+    /**
+     * 不重试
+     */
+    public static final HttpRetryPolicy NONE = builder().maxAttempts(1).build();
+
+    private final int maxAttempts;
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+    private final double multiplier;
+    private final boolean jitter;
+    private final boolean retryNonIdempotent;
+    private final boolean respectRetryAfter;
+    private final Set<Integer> retryableStatusCodes;
+
+    private HttpRetryPolicy(Builder builder) {
+        this.maxAttempts = builder.maxAttempts;
+        this.baseDelayMillis = builder.baseDelayMillis;
+        this.maxDelayMillis = builder.maxDelayMillis;
+        this.multiplier = builder.multiplier;
+        this.jitter = builder.jitter;
+        this.retryNonIdempotent = builder.retryNonIdempotent;
+        this.respectRetryAfter = builder.respectRetryAfter;
+        this.retryableStatusCodes = Collections.unmodifiableSet(new HashSet<>(builder.retryableStatusCodes));
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 默认策略：最多请求3次，退避 200ms 起、最长 10s，带抖动，只重试幂等请求
+     **/
+    public static HttpRetryPolicy defaultPolicy() {
+        return builder().build();
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * 请求方法是否允许在请求已发出后重试
+     **/
+    public boolean canRetry(String method) {
+        return retryNonIdempotent || HttpClientMethod.isIdempotent(method);
+    }
+
+    /**
+     * 该响应状态码是否表示暂时性失败
+     **/
+    public boolean isRetryableStatus(int statusCode) {
+        return retryableStatusCodes.contains(statusCode);
+    }
+
+    /**
+     * 请求异常后是否重试
+     * @author hubz
+     * @date 2026/10/18 22:46
+     *
+     * @param method 请求方法
+     * @param e 请求异常
+     * @return boolean
+     **/
+    public boolean isRetryable(String method, IOException e) {
+        // 域名无法解析、证书错误、熔断打开时重试也不会成功
+        if (e instanceof UnknownHostException || e instanceof SSLException || e instanceof HttpCircuitOpenException) {
+            return false;
+        }
+        // 连接未建立，请求没有发出
+        if (e instanceof ConnectException || e instanceof ConnectTimeoutException || e instanceof HttpConnectTimeoutException) {
+            return true;
+        }
+        return canRetry(method);
+    }
+
+    /**
+     * 第 attempt 次请求失败后，下一次请求前需要等待的时间
+     * @author hubz
+     * @date 2026/10/18 22:48
+     *
+     * @param attempt 已经请求的次数，从1开始
+     * @param retryAfter Retry-After 响应头，可为空
+     * @return long 等待的毫秒数，返回 -1 表示不应再重试
+     **/
+    public long delayMillis(int attempt, String retryAfter) {
+        if (respectRetryAfter) {
+            long retryAfterMillis = retryAfterMillis(retryAfter);
+            if (retryAfterMillis >= 0) {
+                return retryAfterMillis <= maxDelayMillis ? retryAfterMillis : -1;
+            }
+        }
+        double backoff = baseDelayMillis * Math.pow(multiplier, Math.max(0, attempt - 1));
+        long delay = (long) Math.min(maxDelayMillis, backoff);
+        return jitter && delay > 0 ? ThreadLocalRandom.current().nextLong(delay + 1) : delay;
+    }
+
+    /**
+     * 解析 Retry-After 响应头，支持秒数和HTTP日期两种格式
+     * @author hubz
+     * @date 2026/10/18 22:50
+     *
+     * @param value 响应头的值
+     * @return long 需要等待的毫秒数，为空或无法解析时返回 -1
+     **/
+    public static long retryAfterMillis(String value) {
+        if (StrUtil.isBlank(value)) {
+            return -1;
+        }
+        String trimmed = value.trim();
+        try {
+            if (NumberUtil.isLong(trimmed)) {
+                return TimeUnit.SECONDS.toMillis(Math.max(0, Long.parseLong(trimmed)));
+            }
+            return Math.max(0, DateUtil.parse(trimmed, DatePattern.HTTP_DATETIME_FORMAT).getTime() - System.currentTimeMillis());
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+
+    /**
+     * HttpRetryPolicy 构造器
+     */
+    public static final class Builder {
+
+        private int maxAttempts = 3;
+        private long baseDelayMillis = 200;
+        private long maxDelayMillis = 10_000;
+        private double multiplier = 2;
+        private boolean jitter = true;
+        private boolean retryNonIdempotent = false;
+        private boolean respectRetryAfter = true;
+        private Set<Integer> retryableStatusCodes = DEFAULT_RETRYABLE_STATUS_CODES;
+
+        private Builder() {
+        }
+
+        /**
+         * 最大请求次数（含首次请求）
+         */
+        public Builder maxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        /**
+         * 首次重试前的等待时间（毫秒）
+         */
+        public Builder baseDelay(long baseDelayMillis) {
+            this.baseDelayMillis = baseDelayMillis;
+            return this;
+        }
+
+        /**
+         * 单次等待的最长时间（毫秒），Retry-After 超过该值时不再重试
+         */
+        public Builder maxDelay(long maxDelayMillis) {
+            this.maxDelayMillis = maxDelayMillis;
+            return this;
+        }
+
+        /**
+         * 每次重试等待时间的增长倍数
+         */
+        public Builder multiplier(double multiplier) {
+            this.multiplier = multiplier;
+            return this;
+        }
+
+        public Builder jitter(boolean jitter) {
+            this.jitter = jitter;
+            return this;
+        }
+
+        /**
+         * 是否重试 POST、PATCH 等不幂等的请求，开启前需确认服务端能够处理重复请求
+         */
+        public Builder retryNonIdempotent(boolean retryNonIdempotent) {
+            this.retryNonIdempotent = retryNonIdempotent;
+            return this;
+        }
+
+        public Builder respectRetryAfter(boolean respectRetryAfter) {
+            this.respectRetryAfter = respectRetryAfter;
+            return this;
+        }
+
+        /**
+         * 需要重试的响应状态码，默认 408、429、502、503、504
+         */
+        public Builder retryableStatusCodes(Integer... statusCodes) {
+            this.retryableStatusCodes = new HashSet<>(Arrays.asList(statusCodes));
+            return this;
+        }
+
+        public HttpRetryPolicy build() {
+            if (maxAttempts < 1) {
+                throw new IllegalArgumentException("maxAttempts must be positive");
+            }
+            if (baseDelayMillis < 0 || maxDelayMillis < 0 || multiplier < 1) {
+                throw new IllegalArgumentException("invalid backoff");
+            }
+            return new HttpRetryPolicy(this);
+        }
+    }
+}
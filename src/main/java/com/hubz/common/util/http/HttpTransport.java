@@ -0,0 +1,35 @@
+package com.hubz.common.util.http;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * 发送 HTTP 请求的传输实现，由 {@link HttpClientConfig} 创建，认证、超时、重试、熔断和指标由实现按配置处理
+ * <p>
+ * 现有实现：{@link ApacheHttpTransport}（基于 {@link HttpRequestClient}，连接池可调）和
+ * {@link JdkHttpTransport}（基于 java.net.http，支持 HTTP/2 多路复用）。
+ * @author hubz
+ * @date 2026/10/19 02:06
+ **/
+public interface HttpTransport extends Closeable {
+
+    /**
+     * 发送请求并完整读取响应体
+     * @author hubz
+     * @date 2026/10/19 02:07
+     *
+     * @param method 请求方法
+     * @param url 请求URL
+     * @param headers 请求头，可为空；有请求体时应包含 Content-Type
+     * @param body 请求体，可为空
+     * @return com.hubz.common.util.http.HttpResult 最后一次请求的响应
+     * @throws IOException 请求异常、重试耗尽或熔断打开
+     **/
+    HttpResult execute(String method, String url, Map<String, String> headers, byte[] body) throws IOException;
+
+    /**
+     * 传输实现的名称，用于日志和指标区分
+     */
+    String name();
+}
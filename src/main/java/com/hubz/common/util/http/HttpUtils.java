@@ -1,11 +1,17 @@
 package com.hubz.common.util.http;
 
 
+import cn.hutool.cache.CacheUtil;
+import cn.hutool.cache.impl.LRUCache;
 import com.hubz.common.util.JsonUtil;
 import org.apache.commons.collections4.MapUtils;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
 import java.net.InetSocketAddress;
 import java.net.ProxySelector;
 import java.net.URI;
@@ -14,8 +20,20 @@ import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.Duration;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 /**
  * @author hubz
@@ -33,8 +51,29 @@ public final class HttpUtils {
     private static final Long REQUEST_TIME_OUT = 30000L;
     private static final Duration TIME_OUT = Duration.ofMillis(REQUEST_TIME_OUT);
 
-    private static final HttpClient.Builder HTTP_CLIENT_BUILDER = HttpClient.newBuilder().connectTimeout(TIME_OUT);
-    private static final HttpClient CLIENT = HTTP_CLIENT_BUILDER.build();
+    /**
+     * 优先使用的协议版本，HTTPS 通过 ALPN 协商，服务端不支持 HTTP/2 时自动降级为 HTTP/1.1
+     */
+    private static volatile HttpClient.Version version = HttpClient.Version.HTTP_2;
+    /**
+     * 执行异步回调和发送请求的线程池，为空时使用 JDK 默认线程池
+     */
+    private static volatile Executor executor;
+    private static volatile HttpClient defaultClient = newClientBuilder().build();
+
+    /**
+     * 代理客户端缓存的最大数量，超过后淘汰最久未使用的
+     */
+    private static final int PROXY_CLIENT_CAPACITY = 64;
+    /**
+     * 代理客户端闲置超过该时间后淘汰
+     */
+    private static final long PROXY_CLIENT_IDLE_MILLIS = 30 * 60 * 1000L;
+    /**
+     * 按代理地址缓存的 HttpClient，同一代理的请求复用连接池和选择器线程
+     */
+    private static final LRUCache<String, HttpClient> PROXY_CLIENTS =
+            CacheUtil.newLRUCache(PROXY_CLIENT_CAPACITY, PROXY_CLIENT_IDLE_MILLIS);
 
     public static HttpResponse.BodyHandler<String> stringBodyHandler = HttpResponse.BodyHandlers.ofString();
     public static HttpResponse.BodyHandler<byte[]> byteArrayBodyHandler = HttpResponse.BodyHandlers.ofByteArray();
@@ -54,6 +93,147 @@ public final class HttpUtils {
      */
     public static final Integer PERMANENT_REDIRECT_CODE = 301;
 
+    /**
+     * 重试策略，默认不重试
+     */
+    private static volatile HttpRetryPolicy retryPolicy = HttpRetryPolicy.NONE;
+    /**
+     * 按主机熔断，默认不开启
+     */
+    private static volatile HttpCircuitBreaker circuitBreaker;
+    /**
+     * 请求指标监听，默认不记录
+     */
+    private static volatile HttpMetricsListener metricsListener;
+
+    /**
+     * 设置所有请求使用的重试策略
+     * @author hubz
+     * @date 2026/10/18 23:06
+     *
+     * @param policy 重试策略
+     **/
+    public static void setRetryPolicy(HttpRetryPolicy policy) {
+        retryPolicy = Objects.requireNonNull(policy, "policy");
+    }
+
+    /**
+     * 设置所有请求使用的熔断器，为空时关闭熔断
+     * @author hubz
+     * @date 2026/10/18 23:06
+     *
+     * @param breaker 熔断器
+     **/
+    public static void setCircuitBreaker(HttpCircuitBreaker breaker) {
+        circuitBreaker = breaker;
+    }
+
+    /**
+     * 设置所有请求使用的指标监听，如 {@link InMemoryHttpMetrics}，为空时不记录
+     * @author hubz
+     * @date 2026/10/19 01:00
+     *
+     * @param listener 指标监听
+     **/
+    public static void setMetricsListener(HttpMetricsListener listener) {
+        metricsListener = listener;
+    }
+
+    /**
+     * 设置协议版本和线程池，之后创建的客户端生效，已缓存的代理客户端会被丢弃
+     * <p>
+     * HTTP/2 下同一主机的并发请求复用一个连接上的多路流；配合 {@link #virtualThreadExecutor()}，
+     * 大量并发的 {@code getAsync} 不再需要平台线程池。线程池由调用方负责关闭。
+     * @author hubz
+     * @date 2026/10/18 23:14
+     *
+     * @param httpVersion 协议版本
+     * @param clientExecutor 线程池，为空时使用 JDK 默认线程池
+     **/
+    public static synchronized void configure(HttpClient.Version httpVersion, Executor clientExecutor) {
+        version = Objects.requireNonNull(httpVersion, "httpVersion");
+        executor = clientExecutor;
+        defaultClient = newClientBuilder().build();
+        PROXY_CLIENTS.clear();
+    }
+
+    /**
+     * 每个任务一个虚拟线程的线程池，需要 JDK 21 及以上
+     * @author hubz
+     * @date 2026/10/18 23:16
+     *
+     * @return java.util.concurrent.ExecutorService 当前 JDK 不支持虚拟线程时返回 null
+     **/
+    public static ExecutorService virtualThreadExecutor() {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) method.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 异步 GET 请求
+     * @param url 请求链接
+     * @param headers 请求头
+     * @param responseBodyHandler 返回值类型
+     * @return java.util.concurrent.CompletableFuture<java.net.http.HttpResponse<T>> 请求结果，失败时以异常结束
+     *
+     * @author hubz
+     * @date 2026/10/18 23:18
+     */
+    public static <T> CompletableFuture<HttpResponse<T>> getAsync
+    (String url, Map<String, String> headers, HttpResponse.BodyHandler<T> responseBodyHandler) {
+        HttpRequest request = createGetRequestBuilder(url, headers).build();
+        return sendAsync(defaultClient, request, responseBodyHandler, retryPolicy, circuitBreaker, metricsListener, 1);
+    }
+
+    /**
+     * 异步 GET 请求
+     * @param url 请求链接
+     * @param responseBodyHandler 返回值类型
+     * @return java.util.concurrent.CompletableFuture<java.net.http.HttpResponse<T>> 请求结果，失败时以异常结束
+     *
+     * @author hubz
+     * @date 2026/10/18 23:18
+     */
+    public static <T> CompletableFuture<HttpResponse<T>> getAsync(String url, HttpResponse.BodyHandler<T> responseBodyHandler) {
+        return getAsync(url, null, responseBodyHandler);
+    }
+
+    /**
+     * 异步 POST 请求
+     * @param url 请求链接
+     * @param headers 请求头
+     * @param body 请求参数
+     * @param responseBodyHandler 返回值类型
+     * @return java.util.concurrent.CompletableFuture<java.net.http.HttpResponse<T>> 请求结果，失败时以异常结束
+     *
+     * @author hubz
+     * @date 2026/10/18 23:20
+     */
+    public static <T> CompletableFuture<HttpResponse<T>> postAsync
+    (String url, Map<String, String> headers, Map<String, Object> body, HttpResponse.BodyHandler<T> responseBodyHandler) {
+        HttpRequest request = createPostRequestBuilder(url, headers, body).build();
+        return sendAsync(defaultClient, request, responseBodyHandler, retryPolicy, circuitBreaker, metricsListener, 1);
+    }
+
+    /**
+     * 异步 POST 请求
+     * @param url 请求链接
+     * @param body 请求参数
+     * @param responseBodyHandler 返回值类型
+     * @return java.util.concurrent.CompletableFuture<java.net.http.HttpResponse<T>> 请求结果，失败时以异常结束
+     *
+     * @author hubz
+     * @date 2026/10/18 23:20
+     */
+    public static <T> CompletableFuture<HttpResponse<T>> postAsync
+    (String url, Map<String, Object> body, HttpResponse.BodyHandler<T> responseBodyHandler) {
+        return postAsync(url, null, body, responseBodyHandler);
+    }
+
     /**
      * GET 请求
      * @param url 请求链接
@@ -69,7 +249,7 @@ public final class HttpUtils {
         HttpRequest.Builder requestBuilder = createGetRequestBuilder(url, headers);
         HttpRequest request = requestBuilder.build();
         // 发送同步请求
-        return CLIENT.send(request, responseBodyHandler);
+        return send(defaultClient, request, responseBodyHandler);
     }
 
     /**
@@ -86,6 +266,49 @@ public final class HttpUtils {
         return get(url, null, responseBodyHandler);
     }
 
+    /**
+     * GET 请求，协商压缩并从响应流中直接解析JSON
+     * @param url 请求链接
+     * @param headers 请求头
+     * @param type 目标类型
+     * @return T 解析结果
+     *
+     * @author hubz
+     * @date 2026/10/18 23:58
+     */
+    public static <T> T getJson(String url, Map<String, String> headers, Type type) throws IOException, InterruptedException {
+        HttpResponse<Supplier<T>> response = get(url, acceptEncoding(headers), HttpBodyHandlers.ofJson(type));
+        try {
+            return response.body().get();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * GET 请求，协商压缩并将JSON数组按元素逐个解析，使用完毕后需关闭返回的 Stream
+     * @param url 请求链接
+     * @param headers 请求头
+     * @param elementType 元素类型
+     * @return java.util.stream.Stream<T> 元素流
+     *
+     * @author hubz
+     * @date 2026/10/18 23:58
+     */
+    public static <T> Stream<T> getJsonArray(String url, Map<String, String> headers, Class<T> elementType)
+            throws IOException, InterruptedException {
+        return get(url, acceptEncoding(headers), HttpBodyHandlers.ofJsonArray(elementType)).body();
+    }
+
+    private static Map<String, String> acceptEncoding(Map<String, String> headers) {
+        Map<String, String> encodingHeaders = new HashMap<>(8);
+        encodingHeaders.put("Accept-Encoding", HttpBodyHandlers.ACCEPT_ENCODING);
+        if (MapUtils.isNotEmpty(headers)) {
+            encodingHeaders.putAll(headers);
+        }
+        return encodingHeaders;
+    }
+
     /**
      * 使用代理的GET请求
      * @param url 请求链接
@@ -161,7 +384,7 @@ public final class HttpUtils {
             throws IOException, InterruptedException {
         HttpRequest.Builder requestBuilder = createPostRequestBuilder(url, headers, body);
         HttpRequest request = requestBuilder.build();
-        return CLIENT.send(request, responseBodyHandler);
+        return send(defaultClient, request, responseBodyHandler);
     }
 
     /**
@@ -179,6 +402,53 @@ public final class HttpUtils {
         return post(url, null, body, responseBodyHandler);
     }
 
+    /**
+     * 使用自定义请求体的POST请求，如 {@link HttpBodyPublishers} 提供的流式请求体
+     * @param url 请求链接
+     * @param headers 请求头
+     * @param bodyPublisher 请求体
+     * @param responseBodyHandler 返回值类型
+     * @return java.net.http.HttpResponse<T> 请求结果
+     *
+     * @author hubz
+     * @date 2026/10/18 23:44
+     */
+    public static <T> HttpResponse<T> post
+    (String url, Map<String, String> headers, HttpRequest.BodyPublisher bodyPublisher, HttpResponse.BodyHandler<T> responseBodyHandler)
+            throws IOException, InterruptedException {
+        HttpRequest request = createPostRequestBuilder(url, headers, bodyPublisher).build();
+        return send(defaultClient, request, responseBodyHandler);
+    }
+
+    /**
+     * 流式发送JSON请求体的POST请求，Map、集合和 Iterator 逐项序列化
+     * @param url 请求链接
+     * @param headers 请求头
+     * @param body 请求体
+     * @param gzip 是否压缩请求体
+     * @param responseBodyHandler 返回值类型
+     * @return java.net.http.HttpResponse<T> 请求结果
+     *
+     * @author hubz
+     * @date 2026/10/18 23:46
+     */
+    public static <T> HttpResponse<T> postJson
+    (String url, Map<String, String> headers, Object body, boolean gzip, HttpResponse.BodyHandler<T> responseBodyHandler)
+            throws IOException, InterruptedException {
+        Map<String, String> jsonHeaders = new HashMap<>(8);
+        jsonHeaders.put("Content-Type", "application/json; charset=UTF-8");
+        if (gzip) {
+            jsonHeaders.put("Content-Encoding", HttpBodyPublishers.CONTENT_ENCODING_GZIP);
+        }
+        if (MapUtils.isNotEmpty(headers)) {
+            jsonHeaders.putAll(headers);
+        }
+        HttpRequest.BodyPublisher bodyPublisher = body instanceof Iterator
+                ? HttpBodyPublishers.jsonArray((Iterator<?>) body, gzip)
+                : HttpBodyPublishers.json(body, gzip);
+        return post(url, jsonHeaders, bodyPublisher, responseBodyHandler);
+    }
+
     /**
      * 使用代理的POST请求
      * @param url 请求链接
@@ -226,12 +496,16 @@ public final class HttpUtils {
      */
     private static HttpRequest.Builder createPostRequestBuilder
     (String url, Map<String, String> headers, Map<String, Object> body) {
-        // 转换requestBody
-        String requestBody = JsonUtil.toString(body);
+        // 长度已知的请求体，HTTP/1.1 下带 Content-Length 发送；需要流式发送时使用 postJson
+        return createPostRequestBuilder(url, headers, HttpRequest.BodyPublishers.ofString(JsonUtil.toString(body)));
+    }
+
+    private static HttpRequest.Builder createPostRequestBuilder
+    (String url, Map<String, String> headers, HttpRequest.BodyPublisher bodyPublisher) {
         HttpRequest.Builder requestBuilder = HttpRequest.newBuilder()
                 .uri(URI.create(url))
                 .timeout(TIME_OUT)
-                .POST(HttpRequest.BodyPublishers.ofString(requestBody));
+                .POST(bodyPublisher);
 
         if (MapUtils.isNotEmpty(headers)) {
             headers.forEach(requestBuilder::setHeader);
@@ -252,12 +526,200 @@ public final class HttpUtils {
     public static <T> HttpResponse<T> clientWithProxy
     (HttpRequest request, HttpResponse.BodyHandler<T> responseBodyHandler, String proxyIp, Integer proxyPort)
             throws IOException, InterruptedException {
-        InetSocketAddress inetSocketAddress = new InetSocketAddress(proxyIp, proxyPort);
-        ProxySelector proxySelector = ProxySelector.of(inetSocketAddress);
-        HTTP_CLIENT_BUILDER.proxy(proxySelector);
-        HttpClient httpClient = HTTP_CLIENT_BUILDER.build();
         // 发送同步请求
-        return httpClient.send(request, responseBodyHandler);
+        return send(proxyClient(proxyIp, proxyPort), request, responseBodyHandler);
+    }
+
+    private static HttpClient proxyClient(String proxyIp, Integer proxyPort) {
+        return PROXY_CLIENTS.get(proxyIp + ":" + proxyPort, true,
+                () -> newClientBuilder()
+                        .proxy(ProxySelector.of(new InetSocketAddress(proxyIp, proxyPort)))
+                        .build());
+    }
+
+    private static HttpClient.Builder newClientBuilder() {
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .connectTimeout(TIME_OUT)
+                .version(version);
+        Executor clientExecutor = executor;
+        if (null != clientExecutor) {
+            builder.executor(clientExecutor);
+        }
+        return builder;
+    }
+
+    /**
+     * 按重试策略和熔断状态发送同步请求
+     * @param client HttpClient
+     * @param request HttpRequest对象
+     * @param responseBodyHandler 返回值类型
+     * @return java.net.http.HttpResponse<T> 最后一次请求的响应
+     *
+     * @author hubz
+     * @date 2026/10/18 23:08
+     */
+    private static <T> HttpResponse<T> send(HttpClient client, HttpRequest request, HttpResponse.BodyHandler<T> responseBodyHandler)
+            throws IOException, InterruptedException {
+        return send(client, request, responseBodyHandler, retryPolicy, circuitBreaker, metricsListener);
+    }
+
+    /**
+     * 按指定的重试策略和熔断器发送同步请求，供 {@link JdkHttpTransport} 使用各自的配置
+     * @param client HttpClient
+     * @param request HttpRequest对象
+     * @param responseBodyHandler 返回值类型
+     * @param policy 重试策略
+     * @param breaker 熔断器，可为空
+     * @param listener 指标监听，可为空
+     * @return java.net.http.HttpResponse<T> 最后一次请求的响应
+     *
+     * @author hubz
+     * @date 2026/10/19 02:10
+     */
+    static <T> HttpResponse<T> send(HttpClient client, HttpRequest request, HttpResponse.BodyHandler<T> responseBodyHandler,
+                                    HttpRetryPolicy policy, HttpCircuitBreaker breaker, HttpMetricsListener listener)
+            throws IOException, InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            if (null != breaker) {
+                breaker.acquire(request.uri());
+            }
+            boolean canRetry = attempt < policy.getMaxAttempts();
+            JdkHttpInstrumentation meter = null == listener ? null : new JdkHttpInstrumentation(listener, request, attempt);
+            HttpResponse<T> response;
+            try {
+                response = client.send(request, null == meter ? responseBodyHandler : meter.wrap(responseBodyHandler));
+            } catch (IOException e) {
+                if (null != meter) {
+                    meter.onError(e);
+                }
+                if (null != breaker) {
+                    breaker.onFailure(request.uri());
+                }
+                if (!canRetry || !policy.isRetryable(request.method(), e)) {
+                    throw e;
+                }
+                long delay = policy.delayMillis(attempt, null);
+                onRetry(listener, request, attempt, delay);
+                Thread.sleep(delay);
+                continue;
+            } catch (InterruptedException | RuntimeException | Error e) {
+                if (null != breaker) {
+                    breaker.release(request.uri());
+                }
+                throw e;
+            }
+            if (null != breaker) {
+                if (HttpCircuitBreaker.isFailure(response.statusCode())) {
+                    breaker.onFailure(request.uri());
+                } else {
+                    breaker.onSuccess(request.uri());
+                }
+            }
+            if (!canRetry || !policy.isRetryableStatus(response.statusCode()) || !policy.canRetry(request.method())) {
+                return response;
+            }
+            long delay = policy.delayMillis(attempt, response.headers().firstValue("Retry-After").orElse(null));
+            if (delay < 0) {
+                return response;
+            }
+            onRetry(listener, request, attempt, delay);
+            closeBody(response);
+            Thread.sleep(delay);
+        }
+    }
+
+    /**
+     * 按重试策略和熔断状态发送异步请求，重试前的等待不占用线程
+     * @param client HttpClient
+     * @param request HttpRequest对象
+     * @param responseBodyHandler 返回值类型
+     * @param policy 重试策略
+     * @param breaker 熔断器，可为空
+     * @param listener 指标监听，可为空
+     * @param attempt 第几次请求，从1开始
+     * @return java.util.concurrent.CompletableFuture<java.net.http.HttpResponse<T>> 最后一次请求的响应
+     *
+     * @author hubz
+     * @date 2026/10/18 23:24
+     */
+    private static <T> CompletableFuture<HttpResponse<T>> sendAsync
+    (HttpClient client, HttpRequest request, HttpResponse.BodyHandler<T> responseBodyHandler,
+     HttpRetryPolicy policy, HttpCircuitBreaker breaker, HttpMetricsListener listener, int attempt) {
+        if (null != breaker) {
+            try {
+                breaker.acquire(request.uri());
+            } catch (HttpCircuitOpenException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        boolean canRetry = attempt < policy.getMaxAttempts();
+        JdkHttpInstrumentation meter = null == listener ? null : new JdkHttpInstrumentation(listener, request, attempt);
+        CompletableFuture<HttpResponse<T>> future;
+        try {
+            future = client.sendAsync(request, null == meter ? responseBodyHandler : meter.wrap(responseBodyHandler));
+        } catch (RuntimeException e) {
+            if (null != breaker) {
+                breaker.release(request.uri());
+            }
+            return CompletableFuture.failedFuture(e);
+        }
+        return future.handle((response, throwable) -> {
+            long delay;
+            if (null != throwable) {
+                Throwable cause = throwable instanceof CompletionException && null != throwable.getCause()
+                        ? throwable.getCause() : throwable;
+                if (null != meter) {
+                    meter.onError(cause);
+                }
+                if (null != breaker) {
+                    breaker.onFailure(request.uri());
+                }
+                if (!canRetry || !(cause instanceof IOException) || !policy.isRetryable(request.method(), (IOException) cause)) {
+                    return CompletableFuture.<HttpResponse<T>>failedFuture(cause);
+                }
+                delay = policy.delayMillis(attempt, null);
+                onRetry(listener, request, attempt, delay);
+            } else {
+                if (null != breaker) {
+                    if (HttpCircuitBreaker.isFailure(response.statusCode())) {
+                        breaker.onFailure(request.uri());
+                    } else {
+                        breaker.onSuccess(request.uri());
+                    }
+                }
+                if (!canRetry || !policy.isRetryableStatus(response.statusCode()) || !policy.canRetry(request.method())) {
+                    return CompletableFuture.completedFuture(response);
+                }
+                delay = policy.delayMillis(attempt, response.headers().firstValue("Retry-After").orElse(null));
+                if (delay < 0) {
+                    return CompletableFuture.completedFuture(response);
+                }
+                onRetry(listener, request, attempt, delay);
+                closeBody(response);
+            }
+            Executor delayed = CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS);
+            return CompletableFuture.runAsync(() -> { }, delayed)
+                    .thenCompose(ignored -> sendAsync(client, request, responseBodyHandler, policy, breaker, listener, attempt + 1));
+        }).thenCompose(Function.identity());
+    }
+
+    private static void onRetry(HttpMetricsListener listener, HttpRequest request, int attempt, long delay) {
+        if (null != listener) {
+            listener.onRetry(request.method(), HttpCircuitBreaker.hostKey(request.uri()), attempt, delay);
+        }
+    }
+
+    /**
+     * 流式响应体需要关闭才能释放连接
+     */
+    private static void closeBody(HttpResponse<?> response) {
+        if (response.body() instanceof Closeable) {
+            try {
+                ((Closeable) response.body()).close();
+            } catch (IOException ignored) {
+                // 连接会在超时后被回收
+            }
+        }
     }
 
 }
@@ -0,0 +1,173 @@
+package com.hubz.common.util.http;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 内存中按主机和请求方法汇总的请求指标
+ * <p>
+ * 与 Micrometer 的 Timer 类似，耗时记录到按 10% 递增的对数分桶中，记录时无锁、内存占用固定，
+ * 分位数的误差不超过一个分桶。通过 {@link #snapshot()} 获取当前的汇总结果。
+ * @author hubz
+ * @date 2026/10/19 00:28
+ **/
+public class InMemoryHttpMetrics implements HttpMetricsListener {
+
+    private static final double BUCKET_GROWTH = 1.1;
+
+    private static final double LOG_GROWTH = Math.log(BUCKET_GROWTH);
+
+    /**
+     * 以微秒计，最大的分桶约 1.1^255 微秒，远超任何请求的超时时间
+     */
+    private static final int BUCKET_COUNT = 256;
+
+    private final Map<String, Stats> stats = new ConcurrentHashMap<>();
+
+    @Override
+    public void onRequest(HttpRequestMetrics metrics) {
+        stats(metrics.getMethod(), metrics.getHost()).record(metrics);
+    }
+
+    @Override
+    public void onRetry(String method, String host, int attempt, long delayMillis) {
+        stats(method, host).retryCount.increment();
+    }
+
+    /**
+     * 当前的汇总结果
+     * @author hubz
+     * @date 2026/10/19 00:32
+     *
+     * @return java.util.List<com.hubz.common.util.http.HttpMetricsSnapshot>
+     **/
+    public List<HttpMetricsSnapshot> snapshot() {
+        List<HttpMetricsSnapshot> snapshots = new ArrayList<>(stats.size());
+        for (Stats s : stats.values()) {
+            snapshots.add(s.snapshot());
+        }
+        return snapshots;
+    }
+
+    public void reset() {
+        stats.clear();
+    }
+
+    private Stats stats(String method, String host) {
+        return stats.computeIfAbsent(method + " " + host, key -> new Stats(method, host));
+    }
+
+    private static int bucket(long micros) {
+        if (micros <= 1) {
+            return 0;
+        }
+        return (int) Math.min(BUCKET_COUNT - 1, Math.ceil(Math.log(micros) / LOG_GROWTH));
+    }
+
+    private static final class Stats {
+
+        private final String method;
+        private final String host;
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder errorCount = new LongAdder();
+        private final LongAdder retryCount = new LongAdder();
+        private final Map<Integer, LongAdder> statusCounts = new ConcurrentHashMap<>();
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+        private final LongAdder totalMillis = new LongAdder();
+        private final LongAccumulator maxMillis = new LongAccumulator(Math::max, 0);
+        private final LongAdder timeToFirstByteMillis = new LongAdder();
+        private final LongAdder poolWaitMillis = new LongAdder();
+        private final LongAccumulator maxPoolWaitMillis = new LongAccumulator(Math::max, 0);
+        private final LongAdder connectMillis = new LongAdder();
+        private final LongAdder dnsMillis = new LongAdder();
+        private final LongAdder bytesSent = new LongAdder();
+        private final LongAdder bytesReceived = new LongAdder();
+
+        Stats(String method, String host) {
+            this.method = method;
+            this.host = host;
+        }
+
+        void record(HttpRequestMetrics metrics) {
+            count.increment();
+            if (null != metrics.getError()) {
+                errorCount.increment();
+            } else {
+                statusCounts.computeIfAbsent(metrics.getStatusCode(), key -> new LongAdder()).increment();
+            }
+            long total = Math.max(0, metrics.getTotalMillis());
+            buckets.incrementAndGet(bucket(total * 1000));
+            totalMillis.add(total);
+            maxMillis.accumulate(total);
+            timeToFirstByteMillis.add(Math.max(0, metrics.getTimeToFirstByteMillis()));
+            poolWaitMillis.add(Math.max(0, metrics.getPoolWaitMillis()));
+            maxPoolWaitMillis.accumulate(metrics.getPoolWaitMillis());
+            connectMillis.add(Math.max(0, metrics.getConnectMillis()));
+            dnsMillis.add(Math.max(0, metrics.getDnsMillis()));
+            bytesSent.add(Math.max(0, metrics.getBytesSent()));
+            bytesReceived.add(Math.max(0, metrics.getBytesReceived()));
+        }
+
+        HttpMetricsSnapshot snapshot() {
+            long n = count.sum();
+            long[] counts = new long[BUCKET_COUNT];
+            long recorded = 0;
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                counts[i] = buckets.get(i);
+                recorded += counts[i];
+            }
+            Map<Integer, Long> statuses = new TreeMap<>();
+            statusCounts.forEach((status, adder) -> statuses.put(status, adder.sum()));
+            double max = maxMillis.get();
+            return HttpMetricsSnapshot.builder()
+                    .method(method)
+                    .host(host)
+                    .count(n)
+                    .errorCount(errorCount.sum())
+                    .retryCount(retryCount.sum())
+                    .statusCounts(statuses)
+                    .p50Millis(Math.min(max, percentile(counts, recorded, 0.5)))
+                    .p90Millis(Math.min(max, percentile(counts, recorded, 0.9)))
+                    .p99Millis(Math.min(max, percentile(counts, recorded, 0.99)))
+                    .maxMillis(max)
+                    .meanMillis(mean(totalMillis, n))
+                    .meanTimeToFirstByteMillis(mean(timeToFirstByteMillis, n))
+                    .meanPoolWaitMillis(mean(poolWaitMillis, n))
+                    .maxPoolWaitMillis(maxPoolWaitMillis.get())
+                    .meanConnectMillis(mean(connectMillis, n))
+                    .meanDnsMillis(mean(dnsMillis, n))
+                    .bytesSent(bytesSent.sum())
+                    .bytesReceived(bytesReceived.sum())
+                    .build();
+        }
+
+        /**
+         * 分位数所在分桶的上界
+         */
+        private static double percentile(long[] counts, long total, double quantile) {
+            if (total == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(quantile * total);
+            long cumulative = 0;
+            for (int i = 0; i < counts.length; i++) {
+                cumulative += counts[i];
+                if (cumulative >= rank) {
+                    return Math.pow(BUCKET_GROWTH, i) / 1000;
+                }
+            }
+            return Math.pow(BUCKET_GROWTH, counts.length - 1) / 1000;
+        }
+
+        private static double mean(LongAdder sum, long n) {
+            return n == 0 ? 0 : (double) sum.sum() / n;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.hubz.common.util.http;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * HttpUtils 单次请求的指标采集
+ * <p>
+ * JDK HttpClient 没有暴露域名解析、建立连接和连接池的耗时，这里记录收到响应头的时间（调用 BodyHandler 的时刻）、
+ * 响应体读取完毕的时间和字节数，对应的项记为 -1。
+ * @author hubz
+ * @date 2026/10/19 00:55
+ **/
+@Slf4j
+final class JdkHttpInstrumentation {
+
+    private final HttpMetricsListener listener;
+
+    private final HttpRequest request;
+
+    private final int attempt;
+
+    private final long startNanos = System.nanoTime();
+
+    private final AtomicLong bytesReceived = new AtomicLong();
+
+    private final AtomicBoolean reported = new AtomicBoolean();
+
+    private volatile long timeToFirstByteMillis = -1;
+
+    private volatile int statusCode = -1;
+
+    JdkHttpInstrumentation(HttpMetricsListener listener, HttpRequest request, int attempt) {
+        this.listener = listener;
+        this.request = request;
+        this.attempt = attempt;
+    }
+
+    /**
+     * 包装响应处理，记录收到响应头的时间和响应体字节数
+     **/
+    <T> HttpResponse.BodyHandler<T> wrap(HttpResponse.BodyHandler<T> bodyHandler) {
+        return responseInfo -> {
+            timeToFirstByteMillis = elapsedMillis();
+            statusCode = responseInfo.statusCode();
+            return new CountingSubscriber<>(bodyHandler.apply(responseInfo));
+        };
+    }
+
+    /**
+     * 请求异常时记录，响应体已经记录过时忽略
+     **/
+    void onError(Throwable error) {
+        report(error);
+    }
+
+    private void report(Throwable error) {
+        if (!reported.compareAndSet(false, true)) {
+            return;
+        }
+        long bytesSent = request.bodyPublisher().map(HttpRequest.BodyPublisher::contentLength).orElse(0L);
+        HttpRequestMetrics metrics = HttpRequestMetrics.builder()
+                .method(request.method())
+                .host(HttpCircuitBreaker.hostKey(request.uri()))
+                .statusCode(null == error ? statusCode : -1)
+                .error(null == error ? null : error.getClass().getName())
+                .attempt(attempt)
+                .poolWaitMillis(-1)
+                .dnsMillis(-1)
+                .connectMillis(-1)
+                .timeToFirstByteMillis(timeToFirstByteMillis)
+                .totalMillis(elapsedMillis())
+                .bytesSent(bytesSent)
+                .bytesReceived(bytesReceived.get())
+                .build();
+        try {
+            listener.onRequest(metrics);
+        } catch (RuntimeException e) {
+            log.warn("记录请求指标失败", e);
+        }
+    }
+
+    private long elapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    private final class CountingSubscriber<T> implements HttpResponse.BodySubscriber<T> {
+
+        private final HttpResponse.BodySubscriber<T> delegate;
+
+        CountingSubscriber(HttpResponse.BodySubscriber<T> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public CompletionStage<T> getBody() {
+            return delegate.getBody();
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            delegate.onSubscribe(subscription);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> item) {
+            long n = 0;
+            for (ByteBuffer buffer : item) {
+                n += buffer.remaining();
+            }
+            bytesReceived.addAndGet(n);
+            delegate.onNext(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            report(throwable);
+            delegate.onError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            report(null);
+            delegate.onComplete();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.hubz.common.util.http;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 基于 JDK java.net.http 的传输实现，重试、熔断和指标与 {@link HttpUtils} 使用同一套逻辑
+ * <p>
+ * 优先使用 HTTP/2，同一主机的并发请求复用一个连接，适合请求数多、单个响应小的场景。
+ * 连接池由 JDK 管理，{@link HttpClientConfig#getMaxConnTotal()} 等连接数配置不生效。
+ * Java 21 之前 JDK HttpClient 没有 close 方法，关闭后连接在空闲超时后由 JDK 回收。
+ * @author hubz
+ * @date 2026/10/19 02:16
+ **/
+public final class JdkHttpTransport implements HttpTransport {
+
+    private final HttpClient client;
+
+    private final HttpClientConfig config;
+
+    private final Duration readTimeout;
+
+    public JdkHttpTransport(HttpClientConfig config) {
+        this.config = config;
+        this.readTimeout = Duration.ofMillis(config.getReadTimeout());
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(config.getConnectTimeout()))
+                .version(config.isHttp2() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1);
+        if (null != config.getExecutor()) {
+            builder.executor(config.getExecutor());
+        }
+        this.client = builder.build();
+    }
+
+    @Override
+    public HttpResult execute(String method, String url, Map<String, String> headers, byte[] body) throws IOException {
+        HttpRequest.Builder requestBuilder = HttpRequest.newBuilder()
+                .uri(URI.create(url))
+                .timeout(readTimeout)
+                .header("Accept-Encoding", HttpBodyHandlers.ACCEPT_ENCODING)
+                .method(method, null == body
+                        ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofByteArray(body));
+        if (null != config.getUserAgent()) {
+            requestBuilder.setHeader("User-Agent", config.getUserAgent());
+        }
+        String authorization = null == config.getAuth() ? null : config.getAuth().getAuth();
+        if (null != authorization) {
+            requestBuilder.setHeader("Authorization", authorization);
+        }
+        if (null != headers) {
+            headers.forEach(requestBuilder::setHeader);
+        }
+        HttpResponse<byte[]> response;
+        try {
+            response = HttpUtils.send(client, requestBuilder.build(), HttpBodyHandlers.ofByteArray(),
+                    config.getRetryPolicy(), config.getCircuitBreaker(), config.getMetricsListener());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("请求被中断：" + url);
+        }
+        Map<String, List<String>> responseHeaders = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        responseHeaders.putAll(response.headers().map());
+        return HttpResult.builder()
+                .statusCode(response.statusCode())
+                .headers(responseHeaders)
+                .body(null == response.body() ? new byte[0] : response.body())
+                .build();
+    }
+
+    @Override
+    public String name() {
+        return "jdk";
+    }
+
+    @Override
+    public void close() {
+        // Java 11 的 HttpClient 无需也无法显式关闭
+    }
+}
@@ -0,0 +1,329 @@
+package com.hubz.common.util.http;
+
+import org.apache.http.entity.AbstractHttpEntity;
+import org.apache.http.entity.ContentType;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * 流式的 multipart/form-data 请求体
+ * <p>
+ * 文件部分在写出时才读取，使用 {@link FileChannel#transferTo} 分段拷贝到输出流，内存中不保留整个文件；
+ * 输出流不是文件或 Socket 通道，transferTo 仍会经过一块 JDK 内部的临时缓冲区，并不会绕过堆内存。
+ * 各部分的长度在构造时已知，因此请求带 Content-Length，不使用分块传输。进度按整个请求体回调。
+ * @author hubz
+ * @date 2026/10/19 01:30
+ **/
+public class MultipartEntity extends AbstractHttpEntity {
+
+    private static final byte[] CRLF = "\r\n".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * 文件部分每次写出的最大字节数，同时也是进度回调的粒度
+     */
+    private static final long TRANSFER_CHUNK = 1024 * 1024L;
+
+    private final String boundary;
+
+    private final List<Part> parts;
+
+    private final HttpProgressListener progressListener;
+
+    private final long contentLength;
+
+    private MultipartEntity(Builder builder) {
+        this.boundary = builder.boundary;
+        // 各部分的分隔行在这里生成，Builder 中先添加部分、后设置 boundary 也能使用同一个分隔符
+        List<Part> rendered = new ArrayList<>(builder.parts.size());
+        for (Part part : builder.parts) {
+            rendered.add(part.withBoundary(boundary));
+        }
+        this.parts = Collections.unmodifiableList(rendered);
+        this.progressListener = builder.progressListener;
+        setContentType(ContentType.MULTIPART_FORM_DATA.getMimeType() + "; boundary=" + boundary);
+        long length = closingBoundary().length;
+        for (Part part : parts) {
+            length += part.header.length + part.length + CRLF.length;
+        }
+        this.contentLength = length;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return true;
+    }
+
+    @Override
+    public long getContentLength() {
+        return contentLength;
+    }
+
+    /**
+     * 按顺序拼接各部分的输入流，文件在读到该部分时才打开，不回调进度
+     **/
+    @Override
+    public InputStream getContent() {
+        List<Object> segments = new ArrayList<>(parts.size() * 3 + 1);
+        for (Part part : parts) {
+            segments.add(part.header);
+            segments.add(null == part.file ? part.content : part.file);
+            segments.add(CRLF);
+        }
+        segments.add(closingBoundary());
+        Iterator<Object> iterator = segments.iterator();
+        return new SequenceInputStream(new Enumeration<InputStream>() {
+            @Override
+            public boolean hasMoreElements() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public InputStream nextElement() {
+                Object segment = iterator.next();
+                if (segment instanceof Path) {
+                    try {
+                        return Files.newInputStream((Path) segment);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+                return new ByteArrayInputStream((byte[]) segment);
+            }
+        });
+    }
+
+    @Override
+    public void writeTo(OutputStream outStream) throws IOException {
+        Objects.requireNonNull(outStream, "outStream");
+        long start = System.currentTimeMillis();
+        Progress progress = new Progress(start);
+        WritableByteChannel target = null;
+        for (Part part : parts) {
+            progress.write(outStream, part.header);
+            if (null != part.file) {
+                if (null == target) {
+                    target = Channels.newChannel(outStream);
+                }
+                transferFile(part, target, progress);
+            } else {
+                progress.write(outStream, part.content);
+            }
+            progress.write(outStream, CRLF);
+        }
+        progress.write(outStream, closingBoundary());
+        outStream.flush();
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return false;
+    }
+
+    private void transferFile(Part part, WritableByteChannel target, Progress progress) throws IOException {
+        try (FileChannel channel = FileChannel.open(part.file, StandardOpenOption.READ)) {
+            long written = 0;
+            while (written < part.length) {
+                long transferred = channel.transferTo(written, Math.min(TRANSFER_CHUNK, part.length - written), target);
+                if (transferred <= 0) {
+                    throw new IOException("文件在传输过程中被截断：" + part.file);
+                }
+                written += transferred;
+                progress.advance(transferred);
+            }
+        }
+    }
+
+    private byte[] closingBoundary() {
+        return ("--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * 累计整个请求体的进度
+     */
+    private final class Progress {
+
+        private final long start;
+
+        private long written;
+
+        Progress(long start) {
+            this.start = start;
+        }
+
+        void write(OutputStream out, byte[] bytes) throws IOException {
+            out.write(bytes);
+            advance(bytes.length);
+        }
+
+        void advance(long bytes) {
+            written += bytes;
+            if (null != progressListener) {
+                progressListener.onProgress(written, contentLength, System.currentTimeMillis() - start);
+            }
+        }
+    }
+
+    /**
+     * 请求体的一部分，文件或内存中的内容二选一
+     */
+    private static final class Part {
+
+        /**
+         * Content-Disposition 等部分头，不含分隔行
+         */
+        private final String headerFields;
+
+        /**
+         * 包含分隔行的完整部分头，由 {@link #withBoundary} 生成
+         */
+        private final byte[] header;
+
+        private final byte[] content;
+
+        private final Path file;
+
+        private final long length;
+
+        private Part(String headerFields, byte[] header, byte[] content, Path file, long length) {
+            this.headerFields = headerFields;
+            this.header = header;
+            this.content = content;
+            this.file = file;
+            this.length = length;
+        }
+
+        private Part withBoundary(String boundary) {
+            byte[] rendered = ("--" + boundary + "\r\n" + headerFields).getBytes(StandardCharsets.UTF_8);
+            return new Part(headerFields, rendered, content, file, length);
+        }
+    }
+
+    /**
+     * MultipartEntity 构造器
+     */
+    public static final class Builder {
+
+        private final List<Part> parts = new ArrayList<>();
+
+        private String boundary = "----hubz" + UUID.randomUUID().toString().replace("-", "");
+
+        private HttpProgressListener progressListener;
+
+        private Builder() {
+        }
+
+        /**
+         * 文本字段，UTF-8 编码
+         */
+        public Builder addText(String name, String value) {
+            return addText(name, value, ContentType.TEXT_PLAIN.withCharset(StandardCharsets.UTF_8));
+        }
+
+        public Builder addText(String name, String value, ContentType contentType) {
+            byte[] content = Objects.requireNonNull(value, "value").getBytes(
+                    null == contentType.getCharset() ? StandardCharsets.UTF_8 : contentType.getCharset());
+            return addBytes(name, content, contentType, null);
+        }
+
+        /**
+         * 内存中的内容
+         *
+         * @param name 字段名
+         * @param content 内容
+         * @param contentType 内容类型，为空时使用 application/octet-stream
+         * @param fileName 文件名，可为空
+         */
+        public Builder addBytes(String name, byte[] content, ContentType contentType, String fileName) {
+            Objects.requireNonNull(content, "content");
+            parts.add(new Part(partHeader(name, fileName, contentType), null, content, null, content.length));
+            return this;
+        }
+
+        /**
+         * 文件，文件名和内容类型按文件推断
+         */
+        public Builder addFile(String name, Path file) throws IOException {
+            String probed = Files.probeContentType(file);
+            ContentType contentType = null == probed ? ContentType.APPLICATION_OCTET_STREAM : ContentType.create(probed);
+            return addFile(name, file, contentType, file.getFileName().toString());
+        }
+
+        /**
+         * 文件，写出时才读取
+         *
+         * @param name 字段名
+         * @param file 文件
+         * @param contentType 内容类型，为空时使用 application/octet-stream
+         * @param fileName 上传的文件名
+         */
+        public Builder addFile(String name, Path file, ContentType contentType, String fileName) throws IOException {
+            if (!Files.isRegularFile(file)) {
+                throw new IOException("Not a regular file: " + file);
+            }
+            parts.add(new Part(partHeader(name, fileName, contentType), null, null, file, Files.size(file)));
+            return this;
+        }
+
+        /**
+         * 进度回调，总字节数为整个请求体的长度
+         */
+        public Builder progressListener(HttpProgressListener progressListener) {
+            this.progressListener = progressListener;
+            return this;
+        }
+
+        public Builder boundary(String boundary) {
+            this.boundary = Objects.requireNonNull(boundary, "boundary");
+            return this;
+        }
+
+        public MultipartEntity build() {
+            return new MultipartEntity(this);
+        }
+
+        private static String partHeader(String name, String fileName, ContentType contentType) {
+            StringBuilder header = new StringBuilder("Content-Disposition: form-data; name=\"").append(escape(name)).append('"');
+            if (null != fileName) {
+                header.append("; filename=\"").append(escape(fileName)).append('"');
+            }
+            header.append("\r\n");
+            ContentType type = null == contentType ? ContentType.APPLICATION_OCTET_STREAM : contentType;
+            // 没有文件名的纯文本字段省略 Content-Type，与浏览器表单一致
+            if (null != fileName || !ContentType.TEXT_PLAIN.getMimeType().equals(type.getMimeType())) {
+                header.append("Content-Type: ").append(type).append("\r\n");
+            }
+            header.append("\r\n");
+            return header.toString();
+        }
+
+        /**
+         * 按 RFC 7578 转义字段名和文件名中的引号和换行
+         */
+        private static String escape(String value) {
+            return Objects.requireNonNull(value, "name").replace("\"", "%22").replace("\r", "%0D").replace("\n", "%0A");
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.hubz.common.util.http;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 可自动续期的 BearerToken 认证
+ * <p>
+ * token 在过期前 refreshAhead 毫秒由后台线程提前刷新，请求线程直接使用缓存的认证头。
+ * 同一时刻最多只有一个刷新请求，并发的请求线程共享同一次刷新结果，不会同时请求 token 服务。
+ * 只有在没有可用 token（首次使用或已过期）时请求线程才会等待刷新完成；刷新失败且旧 token 未过期时继续使用旧 token。
+ * @author hubz
+ * @date 2026/10/19 00:05
+ **/
+@Slf4j
+public class RefreshableBearerAuth implements Auth, Closeable {
+
+    /**
+     * 获取 token
+     */
+    @FunctionalInterface
+    public interface TokenProvider {
+
+        /**
+         * 向 token 服务请求新的 token
+         * @author hubz
+         * @date 2026/10/19 00:06
+         *
+         * @return com.hubz.common.util.http.RefreshableBearerAuth.AccessToken
+         **/
+        AccessToken fetch() throws Exception;
+    }
+
+    /**
+     * token 及其过期时间
+     */
+    public static final class AccessToken {
+
+        private final String auth;
+
+        private final long expiresAtMillis;
+
+        private AccessToken(String token, long expiresAtMillis) {
+            this.auth = "Bearer " + token;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+
+        /**
+         * @param token token字符串
+         * @param expiresInMillis 有效时长（毫秒），小于等于0表示永不过期
+         */
+        public static AccessToken of(String token, long expiresInMillis) {
+            return new AccessToken(token, expiresInMillis > 0 ? System.currentTimeMillis() + expiresInMillis : Long.MAX_VALUE);
+        }
+
+        public long getExpiresAtMillis() {
+            return expiresAtMillis;
+        }
+
+        boolean isExpired(long now) {
+            return now >= expiresAtMillis;
+        }
+    }
+
+    /**
+     * 刷新失败后的重试间隔
+     */
+    private static final long RETRY_INTERVAL_MILLIS = 5_000L;
+
+    private final TokenProvider tokenProvider;
+
+    private final long refreshAheadMillis;
+
+    private final ScheduledExecutorService scheduler;
+
+    private volatile AccessToken current;
+
+    /**
+     * 进行中的刷新，没有刷新时为 null
+     */
+    private final AtomicReference<CompletableFuture<AccessToken>> inFlight = new AtomicReference<>();
+
+    private volatile ScheduledFuture<?> scheduledRefresh;
+
+    /**
+     * @param tokenProvider 获取 token 的方式
+     * @param refreshAheadMillis 提前多久（毫秒）刷新
+     */
+    public RefreshableBearerAuth(TokenProvider tokenProvider, long refreshAheadMillis) {
+        if (refreshAheadMillis < 0) {
+            throw new IllegalArgumentException("refreshAheadMillis must not be negative");
+        }
+        this.tokenProvider = tokenProvider;
+        this.refreshAheadMillis = refreshAheadMillis;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "bearer-token-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public String getAuth() {
+        AccessToken token = current;
+        if (null != token && !token.isExpired(System.currentTimeMillis())) {
+            return token.auth;
+        }
+        try {
+            return refresh().get().auth;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("等待刷新token时被中断", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("获取token失败", e.getCause());
+        }
+    }
+
+    /**
+     * 不阻塞调用线程地获取认证头，有可用 token 时直接返回已完成的结果，否则在刷新完成后完成
+     * @author hubz
+     * @date 2026/10/19 00:09
+     *
+     * @return java.util.concurrent.CompletableFuture<java.lang.String>
+     **/
+    public CompletableFuture<String> getAuthAsync() {
+        AccessToken token = current;
+        if (null != token && !token.isExpired(System.currentTimeMillis())) {
+            return CompletableFuture.completedFuture(token.auth);
+        }
+        return refresh().thenApply(refreshed -> refreshed.auth);
+    }
+
+    /**
+     * 服务端返回 401 等认证失败时调用，丢弃当前 token，下次请求重新获取
+     * @author hubz
+     * @date 2026/10/19 00:10
+     **/
+    public void invalidate() {
+        current = null;
+        refresh();
+    }
+
+    /**
+     * 刷新 token，已有刷新在进行时返回同一个结果
+     * @author hubz
+     * @date 2026/10/19 00:12
+     *
+     * @return java.util.concurrent.CompletableFuture<com.hubz.common.util.http.RefreshableBearerAuth.AccessToken>
+     **/
+    public CompletableFuture<AccessToken> refresh() {
+        CompletableFuture<AccessToken> future = new CompletableFuture<>();
+        if (!inFlight.compareAndSet(null, future)) {
+            CompletableFuture<AccessToken> running = inFlight.get();
+            if (null != running) {
+                return running;
+            }
+            return refresh();
+        }
+        try {
+            scheduler.execute(() -> doRefresh(future));
+        } catch (Exception e) {
+            inFlight.set(null);
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private void doRefresh(CompletableFuture<AccessToken> future) {
+        try {
+            AccessToken token = tokenProvider.fetch();
+            if (null == token) {
+                throw new IllegalStateException("TokenProvider returned null");
+            }
+            current = token;
+            scheduleNext(token.expiresAtMillis - refreshAheadMillis - System.currentTimeMillis());
+            inFlight.set(null);
+            future.complete(token);
+        } catch (Exception e) {
+            AccessToken old = current;
+            if (null != old && !old.isExpired(System.currentTimeMillis())) {
+                log.warn("刷新token失败，继续使用旧token，【{}】毫秒后重试", RETRY_INTERVAL_MILLIS, e);
+                scheduleNext(RETRY_INTERVAL_MILLIS);
+                inFlight.set(null);
+                future.complete(old);
+            } else {
+                log.error("获取token失败", e);
+                inFlight.set(null);
+                future.completeExceptionally(e);
+            }
+        }
+    }
+
+    private void scheduleNext(long delayMillis) {
+        ScheduledFuture<?> previous = scheduledRefresh;
+        if (null != previous) {
+            previous.cancel(false);
+        }
+        if (current.expiresAtMillis == Long.MAX_VALUE) {
+            return;
+        }
+        scheduledRefresh = scheduler.schedule(this::refresh, Math.max(0, delayMillis), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
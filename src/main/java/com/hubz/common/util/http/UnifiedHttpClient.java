@@ -0,0 +1,145 @@
+package com.hubz.common.util.http;
+
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.json.JSONUtil;
+import org.apache.http.entity.ContentType;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 统一的 HTTP 客户端，请求方式与传输实现无关
+ * <p>
+ * 认证、超时、连接池、重试、熔断和指标统一由 {@link HttpClientConfig} 配置，同一份配置可以在
+ * Apache（{@link #apache}）和 JDK（{@link #jdk}）两种实现之间切换，便于按场景选择更快的实现。
+ * 也可以通过 {@link #of} 使用自定义的 {@link HttpTransport}。
+ * @author hubz
+ * @date 2026/10/19 02:20
+ **/
+public final class UnifiedHttpClient implements Closeable {
+
+    /**
+     * 请求失败时异常信息中保留的响应内容长度
+     */
+    private static final int ERROR_BODY_PREVIEW_LENGTH = 200;
+
+    private final HttpTransport transport;
+
+    private UnifiedHttpClient(HttpTransport transport) {
+        this.transport = Objects.requireNonNull(transport, "transport");
+    }
+
+    /**
+     * 使用 Apache HttpClient 发送请求
+     */
+    public static UnifiedHttpClient apache(HttpClientConfig config) {
+        return new UnifiedHttpClient(new ApacheHttpTransport(config));
+    }
+
+    /**
+     * 使用 JDK java.net.http 发送请求
+     */
+    public static UnifiedHttpClient jdk(HttpClientConfig config) {
+        return new UnifiedHttpClient(new JdkHttpTransport(config));
+    }
+
+    public static UnifiedHttpClient of(HttpTransport transport) {
+        return new UnifiedHttpClient(transport);
+    }
+
+    public HttpTransport getTransport() {
+        return transport;
+    }
+
+    public HttpResult get(String url) throws IOException {
+        return get(url, null);
+    }
+
+    public HttpResult get(String url, Map<String, String> headers) throws IOException {
+        return transport.execute(HttpClientMethod.GET.toString(), url, headers, null);
+    }
+
+    /**
+     * GET 请求并将响应体解析为指定类型，响应体为空时返回 null
+     * @author hubz
+     * @date 2026/10/19 02:24
+     *
+     * @param url 请求URL
+     * @param headers 请求头，可为空
+     * @param type 目标类型，可以是 Class 或 TypeReference.getType()
+     * @return T 解析结果
+     * @throws IOException 请求失败或响应状态码不是 2xx
+     **/
+    public <T> T getJson(String url, Map<String, String> headers, Type type) throws IOException {
+        HttpResult result = get(url, jsonHeaders(headers, false));
+        String body = result.bodyAsString();
+        if (!result.isSuccessful()) {
+            throw new IOException(StrUtil.format("GET {} 失败：响应状态码【{}】，响应内容：{}", url, result.getStatusCode(),
+                    StrUtil.maxLength(body, ERROR_BODY_PREVIEW_LENGTH)));
+        }
+        return StrUtil.isBlank(body) ? null : JSONUtil.toBean(body, type, false);
+    }
+
+    /**
+     * POST JSON 请求体
+     * @author hubz
+     * @date 2026/10/19 02:26
+     *
+     * @param url 请求URL
+     * @param headers 请求头，可为空
+     * @param body 请求对象，序列化为 JSON
+     * @return com.hubz.common.util.http.HttpResult
+     **/
+    public HttpResult postJson(String url, Map<String, String> headers, Object body) throws IOException {
+        return transport.execute(HttpClientMethod.POST.toString(), url, jsonHeaders(headers, true), toJsonBytes(body));
+    }
+
+    public HttpResult putJson(String url, Map<String, String> headers, Object body) throws IOException {
+        return transport.execute(HttpClientMethod.PUT.toString(), url, jsonHeaders(headers, true), toJsonBytes(body));
+    }
+
+    public HttpResult delete(String url, Map<String, String> headers) throws IOException {
+        return transport.execute(HttpClientMethod.DELETE.toString(), url, headers, null);
+    }
+
+    /**
+     * 发送任意请求，不添加额外的请求头
+     * @author hubz
+     * @date 2026/10/19 02:28
+     *
+     * @param method 请求方法
+     * @param url 请求URL
+     * @param headers 请求头，可为空；有请求体时应包含 Content-Type
+     * @param body 请求体，可为空
+     * @return com.hubz.common.util.http.HttpResult
+     **/
+    public HttpResult execute(String method, String url, Map<String, String> headers, byte[] body) throws IOException {
+        return transport.execute(method, url, headers, body);
+    }
+
+    @Override
+    public void close() throws IOException {
+        transport.close();
+    }
+
+    private static Map<String, String> jsonHeaders(Map<String, String> headers, boolean withBody) {
+        Map<String, String> result = new HashMap<>(4);
+        result.put("Accept", ContentType.APPLICATION_JSON.getMimeType());
+        if (withBody) {
+            result.put("Content-Type", ContentType.APPLICATION_JSON.toString());
+        }
+        if (null != headers) {
+            result.putAll(headers);
+        }
+        return result;
+    }
+
+    private static byte[] toJsonBytes(Object body) {
+        return null == body ? null : JSONUtil.toJsonStr(body).getBytes(StandardCharsets.UTF_8);
+    }
+}
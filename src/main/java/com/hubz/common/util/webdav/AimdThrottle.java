@@ -0,0 +1,90 @@
+package com.hubz.common.util.webdav;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 加性增/乘性减（AIMD）自适应限流
+ * <p>
+ * 请求成功时每次增加固定速率直至上限；服务端返回 429/503 时速率按比例下降，
+ * 并在 Retry-After 指定的时间内暂停发送。并发请求在同一次过载中会陆续返回 429/503，
+ * 因此一次下降后的一个窗口内（至少 {@link #DECREASE_WINDOW_MILLIS}，且不短于 Retry-After）不再重复下降。
+ * @author hubz
+ * @date 2026/10/18 11:15
+ **/
+public class AimdThrottle extends TokenBucketThrottle {
+
+    /**
+     * 默认初始速率（请求/秒）
+     */
+    private static final double DEFAULT_INITIAL_RATE = 20;
+    private static final double DEFAULT_MIN_RATE = 1;
+    private static final double DEFAULT_MAX_RATE = 500;
+    private static final double DEFAULT_INCREASE = 1;
+    private static final double DEFAULT_DECREASE_FACTOR = 0.5;
+    private static final int DEFAULT_BURST = 10;
+
+    /**
+     * 两次速率下降之间的最短间隔（毫秒）
+     */
+    private static final long DECREASE_WINDOW_MILLIS = 1000L;
+
+    private final double minRate;
+
+    private final double maxRate;
+
+    /**
+     * 每次成功请求增加的速率
+     */
+    private final double increase;
+
+    /**
+     * 被限流时速率的缩减系数
+     */
+    private final double decreaseFactor;
+
+    /**
+     * 在此时间之前收到的限流响应不再下降速率
+     */
+    private long decreaseHoldUntilNanos = System.nanoTime();
+
+    public AimdThrottle() {
+        this(DEFAULT_INITIAL_RATE, DEFAULT_MIN_RATE, DEFAULT_MAX_RATE, DEFAULT_INCREASE, DEFAULT_DECREASE_FACTOR, DEFAULT_BURST);
+    }
+
+    /**
+     * @param initialRate 初始速率（请求/秒）
+     * @param minRate 最低速率
+     * @param maxRate 最高速率
+     * @param increase 每次成功请求增加的速率
+     * @param decreaseFactor 被限流时速率的缩减系数，取值 (0, 1)
+     * @param burst 允许的最大突发请求数
+     */
+    public AimdThrottle(double initialRate, double minRate, double maxRate,
+                        double increase, double decreaseFactor, int burst) {
+        super(initialRate, burst);
+        if (minRate <= 0 || maxRate < minRate || decreaseFactor <= 0 || decreaseFactor >= 1) {
+            throw new IllegalArgumentException("invalid AIMD parameters");
+        }
+        this.minRate = minRate;
+        this.maxRate = maxRate;
+        this.increase = increase;
+        this.decreaseFactor = decreaseFactor;
+    }
+
+    @Override
+    public synchronized void feedback(int statusCode, long retryAfterMillis) {
+        double rate = getPermitsPerSecond();
+        if (WebDavConstant.TOO_MANY_REQUESTS.equals(statusCode) || WebDavConstant.SERVICE_UNAVAILABLE.equals(statusCode)) {
+            long now = System.nanoTime();
+            if (now - decreaseHoldUntilNanos >= 0) {
+                setPermitsPerSecond(Math.max(minRate, rate * decreaseFactor));
+                decreaseHoldUntilNanos = now + TimeUnit.MILLISECONDS.toNanos(Math.max(DECREASE_WINDOW_MILLIS, retryAfterMillis));
+            }
+            if (retryAfterMillis > 0) {
+                pause(retryAfterMillis);
+            }
+        } else if (statusCode < 500 && rate < maxRate) {
+            setPermitsPerSecond(Math.min(maxRate, rate + increase));
+        }
+    }
+}
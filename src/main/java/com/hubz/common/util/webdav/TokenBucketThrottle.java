@@ -0,0 +1,108 @@
+package com.hubz.common.util.webdav;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 令牌桶限流：以固定速率补充令牌，允许不超过桶容量的突发请求
+ * @author hubz
+ * @date 2026/10/18 11:06
+ **/
+public class TokenBucketThrottle implements WebDavThrottle {
+
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * 每秒补充的令牌数
+     */
+    private double permitsPerSecond;
+
+    /**
+     * 桶容量
+     */
+    private final double capacity;
+
+    /**
+     * 当前令牌数，为负数时表示已被预支
+     */
+    private double tokens;
+
+    private long lastRefillNanos;
+
+    /**
+     * 在该时间点之前暂停发放令牌
+     */
+    private long pausedUntilNanos;
+
+    /**
+     * @param permitsPerSecond 每秒允许的请求数
+     * @param capacity 允许的最大突发请求数
+     */
+    public TokenBucketThrottle(double permitsPerSecond, int capacity) {
+        if (permitsPerSecond <= 0 || capacity < 1) {
+            throw new IllegalArgumentException("permitsPerSecond and capacity must be positive");
+        }
+        this.permitsPerSecond = permitsPerSecond;
+        this.capacity = capacity;
+        this.tokens = capacity;
+        this.lastRefillNanos = System.nanoTime();
+        this.pausedUntilNanos = this.lastRefillNanos;
+    }
+
+    @Override
+    public void acquire() {
+        long waitNanos;
+        synchronized (this) {
+            long now = System.nanoTime();
+            refill(now);
+            tokens -= 1;
+            waitNanos = tokens >= 0 ? 0 : (long) (-tokens / permitsPerSecond * NANOS_PER_SECOND);
+            waitNanos = Math.max(waitNanos, pausedUntilNanos - now);
+        }
+        if (waitNanos > 0) {
+            LockSupport.parkNanos(waitNanos);
+        }
+    }
+
+    /**
+     * 当前每秒允许的请求数
+     * @author hubz
+     * @date 2026/10/18 11:10
+     *
+     * @return double
+     **/
+    public synchronized double getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+
+    /**
+     * 调整发放速率
+     * @author hubz
+     * @date 2026/10/18 11:10
+     *
+     * @param permitsPerSecond 每秒允许的请求数
+     **/
+    protected synchronized void setPermitsPerSecond(double permitsPerSecond) {
+        refill(System.nanoTime());
+        this.permitsPerSecond = permitsPerSecond;
+    }
+
+    /**
+     * 暂停发放令牌
+     * @author hubz
+     * @date 2026/10/18 11:11
+     *
+     * @param pauseMillis 暂停的毫秒数
+     **/
+    protected synchronized void pause(long pauseMillis) {
+        long until = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(pauseMillis);
+        pausedUntilNanos = Math.max(pausedUntilNanos, until);
+    }
+
+    private void refill(long now) {
+        if (now > lastRefillNanos) {
+            tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * permitsPerSecond / NANOS_PER_SECOND);
+            lastRefillNanos = now;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.hubz.common.util.webdav;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * 批量操作中单个条目的执行结果
+ * @author hubz
+ * @date 2026/10/18 10:12
+ **/
+@Data
+@Builder
+public class WebDavBatchItemResult {
+    /**
+     * 执行的操作，如 UPLOAD、DOWNLOAD
+     */
+    private String action;
+
+    /**
+     * 源路径（本地文件或WebDav路径）
+     */
+    private String source;
+
+    /**
+     * 目标路径
+     */
+    private String target;
+
+    /**
+     * 是否成功
+     */
+    private Boolean success;
+
+    /**
+     * 失败原因
+     */
+    private String message;
+
+    /**
+     * 耗时（毫秒）
+     */
+    private Long costMillis;
+}
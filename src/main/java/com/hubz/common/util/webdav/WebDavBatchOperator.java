@@ -0,0 +1,166 @@
+package com.hubz.common.util.webdav;
+
+import cn.hutool.core.thread.ThreadUtil;
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.log.StaticLog;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 批量删除/移动/复制
+ * <p>
+ * 每个条目只发送一个请求，不再预先检查路径是否存在；多个请求由工作线程并行发送，
+ * 共用 WebDavClient 的连接池和限流策略，每个条目的结果记录到执行报告中。
+ * @author hubz
+ * @date 2026/10/18 20:58
+ **/
+final class WebDavBatchOperator {
+
+    static final String ACTION_DELETE = "DELETE";
+    static final String ACTION_MOVE = "MOVE";
+    static final String ACTION_COPY = "COPY";
+
+    private final WebDavClient client;
+
+    private final String basePath;
+
+    private final int workerCount;
+
+    WebDavBatchOperator(WebDavClient client, String basePath, int workerCount) {
+        if (workerCount < 1) {
+            throw new IllegalArgumentException("workerCount must be positive");
+        }
+        this.client = client;
+        this.basePath = basePath;
+        this.workerCount = workerCount;
+    }
+
+    /**
+     * 批量删除
+     * @author hubz
+     * @date 2026/10/18 21:00
+     *
+     * @param paths 待删除的文件/目录路径
+     * @return com.hubz.common.util.webdav.WebDavBatchReport 执行报告
+     **/
+    WebDavBatchReport delete(Collection<String> paths) {
+        WebDavBatchReport report = new WebDavBatchReport();
+        ThreadPoolExecutor executor = newExecutor();
+        StaticLog.info("开始批量删除【{}】个WebDav路径：工作线程【{}】", paths.size(), workerCount);
+        try {
+            for (String path : paths) {
+                executor.execute(() -> deleteOne(report, path));
+            }
+            report.setCompleted(true);
+        } catch (Exception e) {
+            StaticLog.error(e, "提交批量删除任务失败");
+        } finally {
+            executor.shutdown();
+            awaitTermination(executor);
+        }
+        StaticLog.info("批量删除完成：成功【{}】失败【{}】", report.getSuccessCount(), report.getFailCount());
+        return report;
+    }
+
+    /**
+     * 批量移动/复制
+     * @author hubz
+     * @date 2026/10/18 21:02
+     *
+     * @param method MOVE 或 COPY
+     * @param sourceToTarget 源路径与目标路径
+     * @param overwrite 目标已存在时是否覆盖
+     * @return com.hubz.common.util.webdav.WebDavBatchReport 执行报告
+     **/
+    WebDavBatchReport transfer(String method, Map<String, String> sourceToTarget, boolean overwrite) {
+        WebDavBatchReport report = new WebDavBatchReport();
+        ThreadPoolExecutor executor = newExecutor();
+        StaticLog.info("开始批量{}【{}】个WebDav路径：工作线程【{}】", method, sourceToTarget.size(), workerCount);
+        try {
+            for (Map.Entry<String, String> entry : sourceToTarget.entrySet()) {
+                executor.execute(() -> transferOne(report, method, entry.getKey(), entry.getValue(), overwrite));
+            }
+            report.setCompleted(true);
+        } catch (Exception e) {
+            StaticLog.error(e, "提交批量{}任务失败", method);
+        } finally {
+            executor.shutdown();
+            awaitTermination(executor);
+        }
+        StaticLog.info("批量{}完成：成功【{}】失败【{}】", method, report.getSuccessCount(), report.getFailCount());
+        return report;
+    }
+
+    private void deleteOne(WebDavBatchReport report, String path) {
+        long start = System.currentTimeMillis();
+        String message = null;
+        boolean success = false;
+        try {
+            int statusCode = client.sendDelete(basePath, path);
+            success = WebDavClient.isDeleted(statusCode);
+            message = success ? null : StrUtil.format("请求响应状态码【{}】", statusCode);
+        } catch (Exception e) {
+            message = e.getMessage();
+        }
+        if (!success) {
+            StaticLog.error("删除WebDav路径【{}】失败：{}", path, message);
+        }
+        report.add(WebDavBatchItemResult.builder()
+                .action(ACTION_DELETE)
+                .source(path)
+                .success(success)
+                .message(message)
+                .costMillis(System.currentTimeMillis() - start)
+                .build());
+    }
+
+    private void transferOne(WebDavBatchReport report, String method, String source, String target, boolean overwrite) {
+        long start = System.currentTimeMillis();
+        String message = null;
+        boolean success = false;
+        try {
+            int statusCode = client.sendTransfer(method, basePath, source, target, overwrite);
+            success = WebDavClient.isTransferred(statusCode);
+            if (WebDavConstant.PRECONDITION_FAILED.equals(statusCode)) {
+                message = "目标已存在";
+            } else if (!success) {
+                message = StrUtil.format("请求响应状态码【{}】", statusCode);
+            }
+        } catch (Exception e) {
+            message = e.getMessage();
+        }
+        if (!success) {
+            StaticLog.error("{} WebDav路径【{}】至【{}】失败：{}", method, source, target, message);
+        }
+        report.add(WebDavBatchItemResult.builder()
+                .action(WebDavConstant.HTTP_METHOD_MOVE.equals(method) ? ACTION_MOVE : ACTION_COPY)
+                .source(source)
+                .target(target)
+                .success(success)
+                .message(message)
+                .costMillis(System.currentTimeMillis() - start)
+                .build());
+    }
+
+    private ThreadPoolExecutor newExecutor() {
+        return new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(WebDavConstant.DEFAULT_UPLOAD_QUEUE_CAPACITY),
+                ThreadUtil.newNamedThreadFactory("webdav-batch-", true),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    private static void awaitTermination(ThreadPoolExecutor executor) {
+        try {
+            while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                StaticLog.debug("等待批量任务完成，剩余【{}】", executor.getQueue().size() + executor.getActiveCount());
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
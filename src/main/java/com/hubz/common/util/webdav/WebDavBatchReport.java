@@ -0,0 +1,76 @@
+package com.hubz.common.util.webdav;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 批量操作的执行报告
+ * @author hubz
+ * @date 2026/10/18 10:15
+ **/
+@Data
+public class WebDavBatchReport {
+    /**
+     * 任务是否全部调度完成（遍历/提交过程未出现异常）
+     */
+    private Boolean completed = false;
+
+    /**
+     * 每个条目的执行结果
+     */
+    private final List<WebDavBatchItemResult> results = Collections.synchronizedList(new ArrayList<>());
+
+    /**
+     * 记录单个条目的执行结果
+     * @author hubz
+     * @date 2026/10/18 10:16
+     *
+     * @param result 执行结果
+     **/
+    public void add(WebDavBatchItemResult result) {
+        results.add(result);
+    }
+
+    /**
+     * 成功的条目数量
+     * @author hubz
+     * @date 2026/10/18 10:16
+     *
+     * @return long
+     **/
+    public long getSuccessCount() {
+        synchronized (results) {
+            return results.stream().filter(item -> Boolean.TRUE.equals(item.getSuccess())).count();
+        }
+    }
+
+    /**
+     * 失败的条目数量
+     * @author hubz
+     * @date 2026/10/18 10:16
+     *
+     * @return long
+     **/
+    public long getFailCount() {
+        synchronized (results) {
+            return results.size() - getSuccessCount();
+        }
+    }
+
+    /**
+     * 失败的条目列表
+     * @author hubz
+     * @date 2026/10/18 10:17
+     *
+     * @return java.util.List<com.hubz.common.util.webdav.WebDavBatchItemResult>
+     **/
+    public List<WebDavBatchItemResult> getFailedResults() {
+        synchronized (results) {
+            return results.stream().filter(item -> !Boolean.TRUE.equals(item.getSuccess())).collect(Collectors.toList());
+        }
+    }
+}
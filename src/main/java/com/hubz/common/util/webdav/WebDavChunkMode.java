@@ -0,0 +1,25 @@
+package com.hubz.common.util.webdav;
+
+/**
+ * 大文件上传的分块方式
+ * @author hubz
+ * @date 2026/10/18 19:20
+ **/
+public enum WebDavChunkMode {
+
+    /**
+     * 不分块，单次流式 PUT，失败时整体重试
+     */
+    NONE,
+
+    /**
+     * 按 Content-Range 分块 PUT 到目标文件，需服务端支持部分更新；第一块使用普通 PUT 替换远端文件。
+     * 只从本地记录的续传状态继续：源文件大小、修改时间未变，且远端 ETag 与大小与上次写入后一致，否则从头上传
+     */
+    CONTENT_RANGE,
+
+    /**
+     * Nextcloud 分块上传 v2：分块上传到临时目录后 MOVE 合并，续传时跳过已完整上传的分块
+     */
+    NEXTCLOUD_V2
+}
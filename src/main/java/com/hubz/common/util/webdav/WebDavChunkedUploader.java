@@ -0,0 +1,359 @@
+package com.hubz.common.util.webdav;
+
+import cn.hutool.core.convert.Convert;
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.log.StaticLog;
+import com.hubz.common.util.HashUtil;
+import com.hubz.common.util.http.FileChannelEntity;
+import com.hubz.common.util.http.HttpProgressListener;
+import org.apache.http.Header;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+import org.apache.http.message.BasicHeader;
+import org.apache.http.util.EntityUtils;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * 大文件上传：流式读取文件，支持进度回调、有限次数重试和可续传的分块上传
+ * @author hubz
+ * @date 2026/10/18 19:30
+ **/
+final class WebDavChunkedUploader {
+
+    private static final String HEADER_OC_TOTAL_LENGTH = "OC-Total-Length";
+    private static final String NEXTCLOUD_ASSEMBLE_FILE = ".file";
+    private static final String NEXTCLOUD_CHUNK_NAME_FORMAT = "%05d";
+    private static final int REQUEST_TIMEOUT_STATUS = 408;
+    private static final String WEAK_ETAG_PREFIX = "W/";
+
+    /**
+     * 续传状态文件所在的目录（系统临时目录下）和后缀
+     */
+    private static final String RESUME_STATE_DIR = "hubz-webdav-upload";
+    private static final String RESUME_STATE_SUFFIX = ".properties";
+    private static final String STATE_SIZE = "size";
+    private static final String STATE_MODIFIED = "modified";
+    private static final String STATE_OFFSET = "offset";
+    private static final String STATE_ETAG = "etag";
+
+    private final WebDavClient client;
+
+    private final Path file;
+
+    private final String targetUrl;
+
+    private final WebDavUploadOptions options;
+
+    private long total;
+
+    private long startMillis;
+
+    /**
+     * 最近一次成功 PUT 响应的强 ETag，没有时为 null
+     */
+    private String lastEtag;
+
+    WebDavChunkedUploader(WebDavClient client, Path file, String targetUrl, WebDavUploadOptions options) {
+        this.client = client;
+        this.file = file;
+        this.targetUrl = targetUrl;
+        this.options = options;
+    }
+
+    /**
+     * 上传文件
+     * @author hubz
+     * @date 2026/10/18 19:34
+     *
+     * @return boolean 上传结果
+     **/
+    boolean upload() throws IOException, InterruptedException {
+        total = Files.size(file);
+        startMillis = System.currentTimeMillis();
+        WebDavChunkMode mode = null == options.getChunkMode() ? WebDavChunkMode.NONE : options.getChunkMode();
+        if (total <= options.getChunkSize()) {
+            mode = WebDavChunkMode.NONE;
+        }
+        StaticLog.info("开始上传大文件【{}】至【{}】：大小【{}】分块方式【{}】", file, targetUrl, total, mode);
+        switch (mode) {
+            case CONTENT_RANGE:
+                return uploadContentRange();
+            case NEXTCLOUD_V2:
+                return uploadNextcloud();
+            default:
+                return put(targetUrl, 0, total);
+        }
+    }
+
+    /**
+     * 按 Content-Range 分块 PUT
+     * <p>
+     * 第一块使用不带 Content-Range 的 PUT，替换远端可能存在的旧文件；之后每块通过 If-Match 确认远端仍是上一块写入后的版本。
+     * 每块成功后在本地记录源文件大小、修改时间、已上传的字节数和远端 ETag，只有这些都与当前状态一致时才续传。
+     * @author hubz
+     * @date 2026/10/18 19:38
+     *
+     * @return boolean 上传结果
+     **/
+    private boolean uploadContentRange() throws IOException, InterruptedException {
+        Path statePath = resumeStatePath();
+        long modified = Files.getLastModifiedTime(file).toMillis();
+        String etag = null;
+        long offset = 0;
+        Properties state = loadState(statePath);
+        if (null != state && String.valueOf(total).equals(state.getProperty(STATE_SIZE))
+                && String.valueOf(modified).equals(state.getProperty(STATE_MODIFIED))) {
+            WebDavPathResponse remote = remoteProperties(targetUrl);
+            String recordedEtag = state.getProperty(STATE_ETAG);
+            long recordedOffset = Convert.toLong(state.getProperty(STATE_OFFSET), 0L);
+            if (null != remote && StrUtil.equals(recordedEtag, remote.getEtag())
+                    && Long.valueOf(recordedOffset).equals(remote.getContentLength()) && recordedOffset < total) {
+                offset = recordedOffset;
+                etag = recordedEtag;
+                StaticLog.info("远端已存在本次上传的【{}】字节，从该位置继续上传【{}】", offset, file);
+            }
+        }
+        for (; offset < total; offset += options.getChunkSize()) {
+            long length = Math.min(options.getChunkSize(), total - offset);
+            List<Header> headers = new ArrayList<>(2);
+            if (offset > 0) {
+                headers.add(new BasicHeader(HttpHeaders.CONTENT_RANGE,
+                        StrUtil.format("bytes {}-{}/{}", offset, offset + length - 1, total)));
+                if (null != etag) {
+                    headers.add(new BasicHeader(HttpHeaders.IF_MATCH, etag));
+                }
+            }
+            if (!put(targetUrl, offset, length, headers.toArray(new Header[0]))) {
+                return false;
+            }
+            etag = lastEtag;
+            if (null == etag) {
+                // 无法确认远端版本，不能续传
+                Files.deleteIfExists(statePath);
+            } else {
+                saveState(statePath, modified, offset + length, etag);
+            }
+        }
+        Files.deleteIfExists(statePath);
+        notifyProgress(total);
+        return true;
+    }
+
+    /**
+     * Nextcloud 分块上传 v2
+     * @author hubz
+     * @date 2026/10/18 19:42
+     *
+     * @return boolean 上传结果
+     **/
+    private boolean uploadNextcloud() throws IOException, InterruptedException {
+        if (StrUtil.isBlank(options.getNextcloudUploadsUrl())) {
+            throw new IllegalArgumentException("nextcloudUploadsUrl is required for NEXTCLOUD_V2");
+        }
+        // 同一文件同一版本使用固定的临时目录，便于中断后续传
+        String transferId = "hubz-" + HashUtil.calculateUniqueStr(file.toAbsolutePath().toString(), String.valueOf(total),
+                String.valueOf(Files.getLastModifiedTime(file).toMillis()), targetUrl).substring(0, 32);
+        String uploadDir = StrUtil.removeSuffix(options.getNextcloudUploadsUrl(), "/") + "/" + transferId;
+        Header destination = new BasicHeader(WebDavConstant.HEADER_DESTINATION, targetUrl);
+        Header totalLength = new BasicHeader(HEADER_OC_TOTAL_LENGTH, String.valueOf(total));
+
+        Map<String, Long> uploadedChunks = listChunks(uploadDir);
+        if (null == uploadedChunks) {
+            if (!expectSuccess(client.request(WebDavConstant.HTTP_METHOD_MKCOL, uploadDir, destination))) {
+                StaticLog.error("创建Nextcloud分块上传目录【{}】失败", uploadDir);
+                return false;
+            }
+            uploadedChunks = new HashMap<>(0);
+        }
+        int index = 1;
+        for (long offset = 0; offset < total; offset += options.getChunkSize(), index++) {
+            long length = Math.min(options.getChunkSize(), total - offset);
+            String chunkName = String.format(NEXTCLOUD_CHUNK_NAME_FORMAT, index);
+            if (Long.valueOf(length).equals(uploadedChunks.get(chunkName))) {
+                notifyProgress(offset + length);
+                continue;
+            }
+            if (!put(uploadDir + "/" + chunkName, offset, length, destination, totalLength)) {
+                return false;
+            }
+        }
+        HttpResponse moveResponse = client.request(WebDavConstant.HTTP_METHOD_MOVE, uploadDir + "/" + NEXTCLOUD_ASSEMBLE_FILE,
+                destination, totalLength, new BasicHeader(WebDavConstant.HEADER_OVERWRITE, "T"));
+        boolean success = expectSuccess(moveResponse);
+        if (!success) {
+            StaticLog.error("合并Nextcloud分块【{}】失败", uploadDir);
+        }
+        return success;
+    }
+
+    /**
+     * 上传文件的一个区间，失败时有限次数重试
+     * @author hubz
+     * @date 2026/10/18 19:48
+     *
+     * @param url 上传地址
+     * @param offset 区间起始位置
+     * @param length 区间长度
+     * @param headers 附加请求头
+     * @return boolean 上传结果
+     **/
+    private boolean put(String url, long offset, long length, Header... headers) throws IOException, InterruptedException {
+        HttpProgressListener listener = (transferred, totalBytes, elapsed) -> notifyProgress(offset + transferred);
+        for (int attempt = 1; attempt <= options.getMaxRetries(); attempt++) {
+            HttpResponse httpResponse = null;
+            try {
+                FileChannelEntity entity = new FileChannelEntity(file, offset, length, null, listener);
+                httpResponse = client.request(WebDavConstant.HTTP_METHOD_PUT, url, entity, headers);
+                int statusCode = httpResponse.getStatusLine().getStatusCode();
+                if (statusCode >= 200 && statusCode < 300) {
+                    Header etag = httpResponse.getFirstHeader(HttpHeaders.ETAG);
+                    lastEtag = null == etag || StrUtil.isBlank(etag.getValue()) || etag.getValue().startsWith(WEAK_ETAG_PREFIX)
+                            ? null : etag.getValue();
+                    return true;
+                }
+                // 客户端错误重试也不会成功
+                if (statusCode >= 400 && statusCode < 500 && statusCode != REQUEST_TIMEOUT_STATUS
+                        && !WebDavConstant.TOO_MANY_REQUESTS.equals(statusCode)) {
+                    StaticLog.error("上传【{}】失败：请求响应状态码【{}】", url, statusCode);
+                    return false;
+                }
+                StaticLog.warn("上传【{}】失败（第{}次）：请求响应状态码【{}】", url, attempt, statusCode);
+            } catch (IOException e) {
+                StaticLog.warn("上传【{}】中断（第{}次）：{}", url, attempt, e.getMessage());
+                if (attempt == options.getMaxRetries()) {
+                    throw e;
+                }
+            } finally {
+                if (null != httpResponse) {
+                    EntityUtils.consumeQuietly(httpResponse.getEntity());
+                }
+            }
+            if (attempt < options.getMaxRetries()) {
+                Thread.sleep(WebDavConstant.UPLOAD_RETRY_INTERVAL_MILLIS * attempt);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 获取远端文件当前的大小和 ETag
+     * @author hubz
+     * @date 2026/10/18 19:52
+     *
+     * @param url 文件地址
+     * @return com.hubz.common.util.webdav.WebDavPathResponse 文件不存在或获取失败时返回 null
+     **/
+    private WebDavPathResponse remoteProperties(String url) throws IOException {
+        HttpResponse httpResponse = client.request(WebDavConstant.HTTP_METHOD_PROPFIND, url,
+                new BasicHeader(WebDavConstant.HEADER_DEPTH, WebDavConstant.DEPTH_ZERO));
+        try {
+            if (!WebDavConstant.FOUND_STATUS_CODE.equals(httpResponse.getStatusLine().getStatusCode())) {
+                return null;
+            }
+            try (WebDavPropFindParser parser = new WebDavPropFindParser(httpResponse.getEntity().getContent(), null)) {
+                return parser.hasNext() ? parser.next() : null;
+            }
+        } catch (Exception e) {
+            StaticLog.warn("获取远端文件【{}】属性失败：{}", url, e.getMessage());
+            return null;
+        } finally {
+            EntityUtils.consumeQuietly(httpResponse.getEntity());
+        }
+    }
+
+    /**
+     * 续传状态文件，按源文件和目标地址区分
+     **/
+    private Path resumeStatePath() {
+        Path dir = null == options.getResumeStateDir()
+                ? Paths.get(System.getProperty("java.io.tmpdir"), RESUME_STATE_DIR) : options.getResumeStateDir();
+        String key = HashUtil.calculateUniqueStr(file.toAbsolutePath().toString(), targetUrl).substring(0, 32);
+        return dir.resolve(key + RESUME_STATE_SUFFIX);
+    }
+
+    private static Properties loadState(Path statePath) {
+        if (!Files.isRegularFile(statePath)) {
+            return null;
+        }
+        Properties state = new Properties();
+        try (Reader reader = Files.newBufferedReader(statePath, StandardCharsets.UTF_8)) {
+            state.load(reader);
+            return state;
+        } catch (IOException e) {
+            StaticLog.warn("读取续传状态【{}】失败：{}", statePath, e.getMessage());
+            return null;
+        }
+    }
+
+    private void saveState(Path statePath, long modified, long uploaded, String etag) throws IOException {
+        Properties state = new Properties();
+        state.setProperty(STATE_SIZE, String.valueOf(total));
+        state.setProperty(STATE_MODIFIED, String.valueOf(modified));
+        state.setProperty(STATE_OFFSET, String.valueOf(uploaded));
+        state.setProperty(STATE_ETAG, etag);
+        Files.createDirectories(statePath.getParent());
+        try (Writer writer = Files.newBufferedWriter(statePath, StandardCharsets.UTF_8)) {
+            state.store(writer, null);
+        }
+    }
+
+    /**
+     * 获取分块上传目录中已上传的分块
+     * @author hubz
+     * @date 2026/10/18 19:55
+     *
+     * @param uploadDir 分块上传目录
+     * @return java.util.Map<java.lang.String, java.lang.Long> 分块名称与大小，目录不存在时返回 null
+     **/
+    private Map<String, Long> listChunks(String uploadDir) throws IOException {
+        HttpResponse httpResponse = client.request(WebDavConstant.HTTP_METHOD_PROPFIND, uploadDir,
+                new BasicHeader(WebDavConstant.HEADER_DEPTH, WebDavConstant.DEPTH_ONE));
+        try {
+            if (!WebDavConstant.FOUND_STATUS_CODE.equals(httpResponse.getStatusLine().getStatusCode())) {
+                return null;
+            }
+            Map<String, Long> chunks = new HashMap<>(16);
+            try (WebDavPropFindParser parser = new WebDavPropFindParser(httpResponse.getEntity().getContent(), null)) {
+                parser.forEachRemaining(item -> {
+                    if (!Boolean.TRUE.equals(item.getCollection()) && null != item.getContentLength()) {
+                        chunks.put(StrUtil.subAfter(StrUtil.removeSuffix(item.getHref(), "/"), "/", true), item.getContentLength());
+                    }
+                });
+            }
+            StaticLog.info("Nextcloud分块上传目录【{}】中已存在【{}】个分块", uploadDir, chunks.size());
+            return chunks;
+        } catch (Exception e) {
+            StaticLog.warn("获取分块上传目录【{}】失败：{}", uploadDir, e.getMessage());
+            return null;
+        } finally {
+            EntityUtils.consumeQuietly(httpResponse.getEntity());
+        }
+    }
+
+    private static boolean expectSuccess(HttpResponse httpResponse) {
+        try {
+            int statusCode = httpResponse.getStatusLine().getStatusCode();
+            return statusCode >= 200 && statusCode < 300;
+        } finally {
+            EntityUtils.consumeQuietly(httpResponse.getEntity());
+        }
+    }
+
+    private void notifyProgress(long transferred) {
+        if (null != options.getProgressListener()) {
+            options.getProgressListener().onProgress(transferred, total, System.currentTimeMillis() - startMillis);
+        }
+    }
+}
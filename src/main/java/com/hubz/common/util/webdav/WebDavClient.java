@@ -0,0 +1,1585 @@
+package com.hubz.common.util.webdav;
+
+import cn.hutool.core.date.DatePattern;
+import cn.hutool.core.date.DateUtil;
+import cn.hutool.core.io.FileUtil;
+import cn.hutool.core.io.IoUtil;
+import cn.hutool.core.io.file.PathUtil;
+import cn.hutool.core.net.URLDecoder;
+import cn.hutool.core.util.NumberUtil;
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.log.StaticLog;
+import com.hubz.common.constant.CommonConstant;
+import com.hubz.common.util.TimeUtils;
+import com.hubz.common.util.http.Auth;
+import com.hubz.common.util.http.BasicAuth;
+import com.hubz.common.util.http.BearerAuth;
+import com.hubz.common.util.http.HttpRequestClient;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+import org.apache.http.entity.FileEntity;
+import org.apache.http.message.BasicHeader;
+import org.apache.http.util.EntityUtils;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URLEncoder;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import javax.xml.stream.XMLStreamException;
+
+/**
+ * WebDav客户端
+ * <p>
+ * 每个实例对应一个WebDav服务，持有独立的连接池、限流策略和目录缓存，线程安全，
+ * 同一进程中可以同时创建多个实例访问不同的WebDav服务。使用完毕后调用 {@link #close()} 释放连接池。
+ * <pre>
+ * WebDavClient client = WebDavClient.builder()
+ *         .url("https://dav.example.com/dav")
+ *         .basicAuth("user", "password")
+ *         .maxConnections(16)
+ *         .build();
+ * </pre>
+ * @author hubz
+ * @date 2026/10/18 20:10
+ **/
+public final class WebDavClient implements Closeable {
+
+    /**
+     * 请求协议，http 或 https
+     */
+    private final String scheme;
+
+    /**
+     * 不含协议的WebDav地址
+     */
+    private final String webDavUrl;
+
+    /**
+     * 服务端返回的 href 中需要去除的路径前缀
+     */
+    private final String hrefPrefix;
+
+    private final HttpRequestClient httpRequestClient;
+
+    private final WebDavThrottle throttle;
+
+    private final WebDavDirCache dirCache;
+
+    /**
+     * 当前WebDav服务是否支持 Depth: infinity，null 表示尚未探测
+     */
+    private volatile Boolean depthInfinitySupported = null;
+
+    private WebDavClient(Builder builder, String scheme, String webDavUrl, String hrefPrefix) {
+        this.scheme = scheme;
+        this.webDavUrl = webDavUrl;
+        this.hrefPrefix = hrefPrefix;
+        this.httpRequestClient = new HttpRequestClient(builder.auth, builder.connectTimeout, builder.readTimeout,
+                builder.maxConnPerRoute, builder.maxConnTotal);
+        this.throttle = builder.throttle;
+        this.dirCache = builder.dirCache;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 获取WebDav地址
+     * @author hubz
+     * @date 2026/10/18 20:14
+     *
+     * @return java.lang.String 含协议的WebDav地址
+     **/
+    public String getWebDavUrl() {
+        return scheme + "://" + webDavUrl;
+    }
+
+    /**
+     * 释放连接池
+     * @author hubz
+     * @date 2026/10/18 20:15
+     **/
+    @Override
+    public void close() throws IOException {
+        httpRequestClient.close();
+    }
+
+    /**
+     * 参数检查
+     * @author hubz
+     * @date 2022/12/9 14:22
+     *
+     * @param basePath 根目录
+     **/
+    private static void check(String basePath) {
+        if (Objects.isNull(basePath) || CommonConstant.EMPTY_STRING.equals(basePath)) {
+            throw new RuntimeException("basePath is not empty");
+        }
+    }
+
+    /**
+     * 创建根目录
+     * @author hubz
+     * @date 2022/12/9 14:22
+     *
+     * @param basePath 根目录
+     * @return java.lang.Boolean
+     **/
+    public Boolean init(String basePath) {
+        check(basePath);
+        HttpResponse response = null;
+        try {
+            String url = StrUtil.format("{}/{}", webDavUrl, basePath);
+            response = throttled(() -> httpRequestClient.execute(WebDavConstant.HTTP_METHOD_MKCOL, dealUrl(url)));
+            return WebDavConstant.REQUEST_OK.equals(response.getStatusLine().getStatusCode());
+        } catch (Exception e) {
+            StaticLog.error(e, "创建根目录失败");
+        } finally {
+            if (null != response) {
+                EntityUtils.consumeQuietly(response.getEntity());
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 创建新文件夹
+     * @author hubz
+     * @date 2022/7/27 22:22
+     *
+     * @param basePath 根目录
+     * @param dir 新的目录名
+     * @return java.lang.Boolean true 成功  false 失败
+     **/
+    public Boolean createDir(String basePath, String dir) {
+        check(basePath);
+        try {
+            List<String> toCreatePaths = new ArrayList<>();
+            StringBuilder toCreatePath = new StringBuilder();
+            for (String dirName : dir.replace("\\", "/").split("/")) {
+                if (StrUtil.isNotBlank(dirName)) {
+                    toCreatePaths.add(toCreatePath.append("/").append(dirName).toString());
+                }
+            }
+            if (toCreatePaths.isEmpty() || dirCache.contains(basePath, dir)) {
+                return true;
+            }
+            StaticLog.info("创建目录【{}】", dir);
+            // 多数情况下目标目录已存在，先检查完整路径，存在则无需逐级检查
+            if (checkPathExist(basePath, dir)) {
+                toCreatePaths.forEach(path -> dirCache.markExists(basePath, path));
+                return true;
+            }
+            String baseUrl = StrUtil.format("{}/{}", webDavUrl, basePath);
+            for (String path : toCreatePaths) {
+                if (dirCache.contains(basePath, path)) {
+                    continue;
+                }
+                // 处理路径
+                String encodeToCreatePath = encodeFilePath(path);
+                StaticLog.debug("开始创建目录【{}】", encodeToCreatePath);
+                if (!checkPathExist(basePath, path)) {
+                    String createDirUrl = dealUrl(StrUtil.format("{}/{}", baseUrl, encodeToCreatePath));
+                    StaticLog.debug("创建目录URL：{}", createDirUrl);
+                    HttpResponse httpResponse = null;
+                    try {
+                        httpResponse = throttled(() -> httpRequestClient.execute(WebDavConstant.HTTP_METHOD_MKCOL, createDirUrl));
+                        int statusCode = httpResponse.getStatusLine().getStatusCode();
+                        // 405 表示目录已被其他请求创建
+                        if (!WebDavConstant.WEBDAV_SUCCESS.equals(statusCode) && !WebDavConstant.METHOD_NOT_ALLOWED.equals(statusCode)) {
+                            return false;
+                        }
+                    } finally {
+                        if (null != httpResponse) {
+                            EntityUtils.consumeQuietly(httpResponse.getEntity());
+                        }
+                    }
+                }
+                dirCache.markExists(basePath, path);
+            }
+            return true;
+        } catch (Exception e) {
+            StaticLog.error(e, "创建文件夹失败【{}】", dir);
+        }
+        return false;
+    }
+
+    /**
+     * 上传单文件
+     * @author hubz
+     * @date 2022/7/30 0:06
+     *
+     * @param basePath 根目录
+     * @param sourceFilePath 源文件路径
+     * @param targetPath 目标上传路径
+     * @return java.lang.Boolean
+     **/
+    public Boolean uploadFile(String basePath, String sourceFilePath, String targetPath) {
+        check(basePath);
+        Boolean createDirResult = createDir(basePath, targetPath);
+        if (Boolean.FALSE.equals(createDirResult)) {
+            return false;
+        }
+        return putFile(basePath, sourceFilePath, targetPath);
+    }
+
+    /**
+     * 上传单文件到已存在的目录（不检查/创建目录）
+     * @author hubz
+     * @date 2026/10/18 10:40
+     *
+     * @param basePath 根目录
+     * @param sourceFilePath 源文件路径
+     * @param targetPath 目标上传路径
+     * @return java.lang.Boolean
+     **/
+    Boolean putFile(String basePath, String sourceFilePath, String targetPath) {
+        HttpResponse httpResponse = null;
+        try {
+            Path targetFilePath = Path.of(targetPath, Path.of(sourceFilePath).getFileName().toString());
+            StaticLog.info("开始上传指定文件【{}】到WebDav目录【{}】", sourceFilePath, targetFilePath);
+            String encodeTargetFilePath = encodeFilePath(targetFilePath.toString());
+
+            String url = StrUtil.format("{}/{}/{}", webDavUrl, basePath, encodeTargetFilePath);
+            File file = new File(sourceFilePath);
+            HttpEntity entity = new FileEntity(file);
+            httpResponse = throttled(() -> httpRequestClient.doPut(dealUrl(url), entity));
+            int statusCode = httpResponse.getStatusLine().getStatusCode();
+            StaticLog.debug("上传指定文件【{}】到WebDav目录【{}】完成：请求响应状态码【{}】", sourceFilePath, targetFilePath, statusCode);
+            return WebDavConstant.WEBDAV_SUCCESS.equals(statusCode) || WebDavConstant.WEBDAV_SUCCESS_2.equals(statusCode);
+        } catch (Exception e) {
+            e.printStackTrace();
+        } finally {
+            if (null != httpResponse) {
+                EntityUtils.consumeQuietly(httpResponse.getEntity());
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 按条件上传单文件
+     * <p>
+     * 携带上次读取到的 ETag（If-Match）时，远端已被其他客户端修改则放弃上传；
+     * 使用 {@link WebDavConditions#createOnly()} 时，远端已存在则放弃上传。
+     * @author hubz
+     * @date 2026/10/18 21:32
+     *
+     * @param basePath 根目录
+     * @param sourceFilePath 源文件路径
+     * @param targetPath 目标上传路径
+     * @param conditions 前置条件
+     * @return com.hubz.common.util.webdav.WebDavTransferStatus 上传结果
+     **/
+    public WebDavTransferStatus uploadFile(String basePath, String sourceFilePath, String targetPath, WebDavConditions conditions) {
+        check(basePath);
+        if (!createDir(basePath, targetPath)) {
+            return WebDavTransferStatus.FAILED;
+        }
+        HttpResponse httpResponse = null;
+        try {
+            Path targetFilePath = Path.of(targetPath, Path.of(sourceFilePath).getFileName().toString());
+            StaticLog.info("按条件上传指定文件【{}】到WebDav目录【{}】", sourceFilePath, targetFilePath);
+            String url = dealUrl(StrUtil.format("{}/{}/{}", webDavUrl, basePath, encodeFilePath(targetFilePath.toString())));
+            HttpEntity entity = new FileEntity(new File(sourceFilePath));
+            Header[] headers = null == conditions ? new Header[0] : conditions.toHeaders();
+            httpResponse = throttled(() -> httpRequestClient.executeWithHeaders(WebDavConstant.HTTP_METHOD_PUT, url, entity, headers));
+            int statusCode = httpResponse.getStatusLine().getStatusCode();
+            StaticLog.debug("按条件上传指定文件【{}】完成：请求响应状态码【{}】", sourceFilePath, statusCode);
+            if (WebDavConstant.PRECONDITION_FAILED.equals(statusCode)) {
+                return WebDavTransferStatus.PRECONDITION_FAILED;
+            }
+            return WebDavConstant.REQUEST_OK.equals(statusCode) || WebDavConstant.WEBDAV_SUCCESS.equals(statusCode)
+                    || WebDavConstant.WEBDAV_SUCCESS_2.equals(statusCode) ? WebDavTransferStatus.SUCCESS : WebDavTransferStatus.FAILED;
+        } catch (Exception e) {
+            StaticLog.error(e, "上传文件【{}】失败", sourceFilePath);
+        } finally {
+            if (null != httpResponse) {
+                EntityUtils.consumeQuietly(httpResponse.getEntity());
+            }
+        }
+        return WebDavTransferStatus.FAILED;
+    }
+
+    /**
+     * 上传大文件：流式读取文件内容，支持进度回调、失败重试以及可续传的分块上传
+     * @author hubz
+     * @date 2026/10/18 20:02
+     *
+     * @param basePath 根目录
+     * @param sourceFilePath 源文件路径
+     * @param targetPath 目标上传路径
+     * @param options 上传选项
+     * @return java.lang.Boolean
+     **/
+    public Boolean uploadLargeFile(String basePath, String sourceFilePath, String targetPath, WebDavUploadOptions options) {
+        if (!createDir(basePath, targetPath)) {
+            StaticLog.error("创建目录【{}】失败，取消上传【{}】", targetPath, sourceFilePath);
+            return false;
+        }
+        try {
+            Path sourceFile = Path.of(sourceFilePath);
+            Path targetFilePath = Path.of(targetPath, sourceFile.getFileName().toString());
+            String url = dealUrl(StrUtil.format("{}/{}/{}", webDavUrl, basePath, encodeFilePath(targetFilePath.toString())));
+            WebDavUploadOptions uploadOptions = null == options ? WebDavUploadOptions.builder().build() : options;
+            return new WebDavChunkedUploader(this, sourceFile, url, uploadOptions).upload();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            StaticLog.error(e, "上传文件【{}】被中断", sourceFilePath);
+        } catch (IOException e) {
+            StaticLog.error(e, "上传文件【{}】失败", sourceFilePath);
+        }
+        return false;
+    }
+
+    /**
+     * 批量上传文件
+     * @author hubz
+     * @date 2022/7/30 19:51
+     *
+     * @param basePath 根目录
+     * @param sourcePath 待上传的文件/目录路径
+     * @param targetPath WebDav目标路径
+     * @return java.lang.Boolean
+     **/
+    public Boolean uploadFilesFromPath(String basePath, String sourcePath, String targetPath) {
+        return uploadFilesFromPath(basePath, sourcePath, targetPath,
+                WebDavConstant.DEFAULT_UPLOAD_WORKERS, WebDavConstant.DEFAULT_UPLOAD_QUEUE_CAPACITY).getCompleted();
+    }
+
+    /**
+     * 并行批量上传文件
+     * @author hubz
+     * @date 2026/10/18 10:42
+     *
+     * @param basePath 根目录
+     * @param sourcePath 待上传的文件/目录路径
+     * @param targetPath WebDav目标路径
+     * @param workerCount 并行上传的工作线程数
+     * @param queueCapacity 待上传文件队列的容量
+     * @return com.hubz.common.util.webdav.WebDavBatchReport 每个文件的上传结果
+     **/
+    public WebDavBatchReport uploadFilesFromPath(String basePath, String sourcePath, String targetPath,
+                                                 int workerCount, int queueCapacity) {
+        check(basePath);
+        return new WebDavUploadEngine(this, basePath, workerCount, queueCapacity).upload(sourcePath, targetPath);
+    }
+
+    /**
+     * 增量双向同步本地目录与WebDav目录
+     * @author hubz
+     * @date 2026/10/18 17:10
+     *
+     * @param basePath 根目录
+     * @param localDir 本地目录
+     * @param remoteDir WebDav目录
+     * @param manifestPath 记录上次同步状态的清单文件路径
+     * @param deleteAble 是否同步删除操作，否的话一侧被删除的文件会从另一侧恢复
+     * @return com.hubz.common.util.webdav.WebDavBatchReport 每个被同步文件的结果
+     **/
+    public WebDavBatchReport sync(String basePath, String localDir, String remoteDir, String manifestPath, Boolean deleteAble) {
+        return sync(basePath, localDir, remoteDir, manifestPath, deleteAble, WebDavConstant.DEFAULT_UPLOAD_WORKERS);
+    }
+
+    /**
+     * 增量双向同步本地目录与WebDav目录
+     * @author hubz
+     * @date 2026/10/18 17:10
+     *
+     * @param basePath 根目录
+     * @param localDir 本地目录
+     * @param remoteDir WebDav目录
+     * @param manifestPath 记录上次同步状态的清单文件路径
+     * @param deleteAble 是否同步删除操作，否的话一侧被删除的文件会从另一侧恢复
+     * @param workerCount 并行传输的工作线程数
+     * @return com.hubz.common.util.webdav.WebDavBatchReport 每个被同步文件的结果
+     **/
+    public WebDavBatchReport sync(String basePath, String localDir, String remoteDir, String manifestPath,
+                                  Boolean deleteAble, int workerCount) {
+        check(basePath);
+        return new WebDavSyncEngine(this, basePath, localDir, remoteDir, Boolean.TRUE.equals(deleteAble), workerCount)
+                .sync(Paths.get(manifestPath));
+    }
+
+    /**
+     * 删除文件
+     * @author hubz
+     * @date 2022/7/26 23:58
+     *
+     * @param basePath 根目录
+     * @param sourceDir 文件所在目录
+     * @param fileName 文件名称
+     * @return java.lang.Boolean 删除结果
+     **/
+    public Boolean deleteFile(String basePath, String sourceDir, String fileName) {
+        check(basePath);
+        try {
+            StaticLog.info("删除WebDav目录【{}】中指定文件【{}】", sourceDir, fileName);
+            int statusCode = sendDelete(basePath, StrUtil.format("{}/{}", sourceDir, fileName));
+            StaticLog.debug("删除WebDav目录【{}】中指定文件【{}】完成：请求响应状态码【{}】", sourceDir, fileName, statusCode);
+            return isDeleted(statusCode);
+        } catch (Exception e) {
+            StaticLog.error(e, StrUtil.format("删除WebDav目录【{}】中指定文件【{}】文件失败", sourceDir, fileName));
+        }
+        return false;
+    }
+
+    /**
+     * 删除指定目录
+     * @author hubz
+     * @date 2022/8/14 12:54
+     *
+     * @param basePath 根目录
+     * @param deletePath 待删除的目录
+     * @return java.lang.Boolean 删除结果
+     **/
+    public Boolean deletePath(String basePath, String deletePath) {
+        check(basePath);
+        try {
+            StaticLog.info("删除WebDav目录【{}】", deletePath);
+            int statusCode = sendDelete(basePath, deletePath);
+            StaticLog.debug("删除WebDav目录【{}】完成：请求响应状态码【{}】", deletePath, statusCode);
+            return isDeleted(statusCode);
+        } catch (Exception e) {
+            StaticLog.error(e, StrUtil.format("删除WebDav目录【{}】失败", deletePath));
+        }
+        return false;
+    }
+
+    /**
+     * 批量删除文件/目录，多个请求通过连接池并行发送
+     * @author hubz
+     * @date 2026/10/18 20:45
+     *
+     * @param basePath 根目录
+     * @param paths 待删除的文件/目录路径
+     * @return com.hubz.common.util.webdav.WebDavBatchReport 每个路径的删除结果，不存在的路径视为删除成功
+     **/
+    public WebDavBatchReport deletePaths(String basePath, Collection<String> paths) {
+        return deletePaths(basePath, paths, WebDavConstant.DEFAULT_UPLOAD_WORKERS);
+    }
+
+    /**
+     * 批量删除文件/目录
+     * @author hubz
+     * @date 2026/10/18 20:45
+     *
+     * @param basePath 根目录
+     * @param paths 待删除的文件/目录路径
+     * @param workerCount 并行请求数
+     * @return com.hubz.common.util.webdav.WebDavBatchReport 每个路径的删除结果，不存在的路径视为删除成功
+     **/
+    public WebDavBatchReport deletePaths(String basePath, Collection<String> paths, int workerCount) {
+        check(basePath);
+        return new WebDavBatchOperator(this, basePath, workerCount).delete(paths);
+    }
+
+    /**
+     * 在服务端移动文件/目录，移动目录时其下所有内容一并移动
+     * @author hubz
+     * @date 2026/10/18 20:48
+     *
+     * @param basePath 根目录
+     * @param sourcePath 源路径
+     * @param targetPath 目标路径
+     * @param overwrite 目标已存在时是否覆盖
+     * @return java.lang.Boolean 移动结果
+     **/
+    public Boolean move(String basePath, String sourcePath, String targetPath, boolean overwrite) {
+        return transfer(WebDavConstant.HTTP_METHOD_MOVE, basePath, sourcePath, targetPath, overwrite);
+    }
+
+    /**
+     * 在服务端复制文件/目录，复制目录时其下所有内容一并复制
+     * @author hubz
+     * @date 2026/10/18 20:48
+     *
+     * @param basePath 根目录
+     * @param sourcePath 源路径
+     * @param targetPath 目标路径
+     * @param overwrite 目标已存在时是否覆盖
+     * @return java.lang.Boolean 复制结果
+     **/
+    public Boolean copy(String basePath, String sourcePath, String targetPath, boolean overwrite) {
+        return transfer(WebDavConstant.HTTP_METHOD_COPY, basePath, sourcePath, targetPath, overwrite);
+    }
+
+    /**
+     * 重命名文件/目录，目录下的整棵树由服务端一次完成，目标已存在时失败
+     * @author hubz
+     * @date 2026/10/18 20:50
+     *
+     * @param basePath 根目录
+     * @param path 文件/目录路径
+     * @param newName 新名称
+     * @return java.lang.Boolean 重命名结果
+     **/
+    public Boolean rename(String basePath, String path, String newName) {
+        if (StrUtil.isBlank(newName) || StrUtil.containsAny(newName, "/", "\\")) {
+            throw new IllegalArgumentException("newName must be a single path segment");
+        }
+        String normalized = StrUtil.removeSuffix(dealPath(path), "/");
+        String parent = parentPath(normalized);
+        return move(basePath, normalized, parent.isEmpty() ? newName : parent + "/" + newName, false);
+    }
+
+    /**
+     * 父级路径，顶层路径的父级为根目录，返回空字符串
+     **/
+    static String parentPath(String path) {
+        int index = path.lastIndexOf('/');
+        return index < 0 ? "" : path.substring(0, index);
+    }
+
+    /**
+     * 批量移动文件/目录
+     * @author hubz
+     * @date 2026/10/18 20:52
+     *
+     * @param basePath 根目录
+     * @param sourceToTarget 源路径与目标路径
+     * @param overwrite 目标已存在时是否覆盖
+     * @return com.hubz.common.util.webdav.WebDavBatchReport 每个条目的移动结果
+     **/
+    public WebDavBatchReport movePaths(String basePath, Map<String, String> sourceToTarget, boolean overwrite) {
+        return movePaths(basePath, sourceToTarget, overwrite, WebDavConstant.DEFAULT_UPLOAD_WORKERS);
+    }
+
+    /**
+     * 批量移动文件/目录
+     * @author hubz
+     * @date 2026/10/18 20:52
+     *
+     * @param basePath 根目录
+     * @param sourceToTarget 源路径与目标路径
+     * @param overwrite 目标已存在时是否覆盖
+     * @param workerCount 并行请求数
+     * @return com.hubz.common.util.webdav.WebDavBatchReport 每个条目的移动结果
+     **/
+    public WebDavBatchReport movePaths(String basePath, Map<String, String> sourceToTarget, boolean overwrite, int workerCount) {
+        check(basePath);
+        return new WebDavBatchOperator(this, basePath, workerCount).transfer(WebDavConstant.HTTP_METHOD_MOVE, sourceToTarget, overwrite);
+    }
+
+    /**
+     * 批量复制文件/目录
+     * @author hubz
+     * @date 2026/10/18 20:53
+     *
+     * @param basePath 根目录
+     * @param sourceToTarget 源路径与目标路径
+     * @param overwrite 目标已存在时是否覆盖
+     * @return com.hubz.common.util.webdav.WebDavBatchReport 每个条目的复制结果
+     **/
+    public WebDavBatchReport copyPaths(String basePath, Map<String, String> sourceToTarget, boolean overwrite) {
+        return copyPaths(basePath, sourceToTarget, overwrite, WebDavConstant.DEFAULT_UPLOAD_WORKERS);
+    }
+
+    /**
+     * 批量复制文件/目录
+     * @author hubz
+     * @date 2026/10/18 20:53
+     *
+     * @param basePath 根目录
+     * @param sourceToTarget 源路径与目标路径
+     * @param overwrite 目标已存在时是否覆盖
+     * @param workerCount 并行请求数
+     * @return com.hubz.common.util.webdav.WebDavBatchReport 每个条目的复制结果
+     **/
+    public WebDavBatchReport copyPaths(String basePath, Map<String, String> sourceToTarget, boolean overwrite, int workerCount) {
+        check(basePath);
+        return new WebDavBatchOperator(this, basePath, workerCount).transfer(WebDavConstant.HTTP_METHOD_COPY, sourceToTarget, overwrite);
+    }
+
+    /**
+     * 发送 MOVE/COPY 请求并记录日志
+     * @author hubz
+     * @date 2026/10/18 20:55
+     *
+     * @param method MOVE 或 COPY
+     * @param basePath 根目录
+     * @param sourcePath 源路径
+     * @param targetPath 目标路径
+     * @param overwrite 目标已存在时是否覆盖
+     * @return java.lang.Boolean
+     **/
+    private Boolean transfer(String method, String basePath, String sourcePath, String targetPath, boolean overwrite) {
+        check(basePath);
+        try {
+            StaticLog.info("{} WebDav路径【{}】至【{}】", method, sourcePath, targetPath);
+            int statusCode = sendTransfer(method, basePath, sourcePath, targetPath, overwrite);
+            StaticLog.debug("{} WebDav路径【{}】至【{}】完成：请求响应状态码【{}】", method, sourcePath, targetPath, statusCode);
+            return isTransferred(statusCode);
+        } catch (Exception e) {
+            StaticLog.error(e, "{} WebDav路径【{}】至【{}】失败", method, sourcePath, targetPath);
+        }
+        return false;
+    }
+
+    /**
+     * 发送 DELETE 请求
+     * @author hubz
+     * @date 2026/10/18 20:40
+     *
+     * @param basePath 根目录
+     * @param path 文件/目录路径
+     * @return int 请求响应状态码
+     **/
+    int sendDelete(String basePath, String path) throws IOException {
+        dirCache.invalidate(basePath, path);
+        String url = dealUrl(StrUtil.format("{}/{}", webDavUrl, encodeFilePath(Paths.get(basePath, path).toString())));
+        HttpResponse httpResponse = throttled(() -> httpRequestClient.executeWithHeaders(WebDavConstant.HTTP_METHOD_DELETE, url));
+        try {
+            return httpResponse.getStatusLine().getStatusCode();
+        } finally {
+            EntityUtils.consumeQuietly(httpResponse.getEntity());
+        }
+    }
+
+    /**
+     * 发送 MOVE/COPY 请求，目标的父级目录不存在时先创建
+     * @author hubz
+     * @date 2026/10/18 20:42
+     *
+     * @param method MOVE 或 COPY
+     * @param basePath 根目录
+     * @param sourcePath 源路径
+     * @param targetPath 目标路径
+     * @param overwrite 目标已存在时是否覆盖
+     * @return int 请求响应状态码
+     **/
+    int sendTransfer(String method, String basePath, String sourcePath, String targetPath, boolean overwrite) throws IOException {
+        String target = StrUtil.removeSuffix(dealPath(targetPath), "/");
+        String targetParent = parentPath(target);
+        // 父级为根目录时无需创建
+        if (StrUtil.isNotBlank(StrUtil.strip(targetParent, "/")) && !createDir(basePath, targetParent)) {
+            throw new IOException(StrUtil.format("创建目录【{}】失败", targetParent));
+        }
+        String sourceUrl = dealUrl(StrUtil.format("{}/{}/{}", webDavUrl, basePath, encodeFilePath(sourcePath)));
+        String targetUrl = dealUrl(StrUtil.format("{}/{}/{}", webDavUrl, basePath, encodeFilePath(target)));
+        HttpResponse httpResponse = throttled(() -> httpRequestClient.executeWithHeaders(method, sourceUrl,
+                new BasicHeader(WebDavConstant.HEADER_DESTINATION, targetUrl),
+                new BasicHeader(WebDavConstant.HEADER_OVERWRITE, overwrite ? "T" : "F"),
+                new BasicHeader(WebDavConstant.HEADER_DEPTH, WebDavConstant.DEPTH_INFINITY)));
+        try {
+            int statusCode = httpResponse.getStatusLine().getStatusCode();
+            if (WebDavConstant.HTTP_METHOD_MOVE.equals(method)) {
+                dirCache.invalidate(basePath, sourcePath);
+            }
+            // 覆盖时目标可能由目录变为文件
+            dirCache.invalidate(basePath, target);
+            return statusCode;
+        } finally {
+            EntityUtils.consumeQuietly(httpResponse.getEntity());
+        }
+    }
+
+    /**
+     * DELETE 是否成功，路径不存在视为成功
+     **/
+    static boolean isDeleted(int statusCode) {
+        return WebDavConstant.REQUEST_OK.equals(statusCode) || WebDavConstant.WEBDAV_SUCCESS.equals(statusCode)
+                || WebDavConstant.WEBDAV_SUCCESS_2.equals(statusCode) || WebDavConstant.NOT_FOUND_STATUS_CODE.equals(statusCode);
+    }
+
+    /**
+     * MOVE/COPY 是否成功，201 表示新建目标，204 表示覆盖已有目标
+     **/
+    static boolean isTransferred(int statusCode) {
+        return WebDavConstant.WEBDAV_SUCCESS.equals(statusCode) || WebDavConstant.WEBDAV_SUCCESS_2.equals(statusCode);
+    }
+
+    /**
+     * 获取文件内容
+     * @author hubz
+     * @date 2022/7/26 20:32
+     *
+     * @param basePath 根目录
+     * @param sourceDir 文件WebDav的目录
+     * @param fileName 文件名
+     * @return java.lang.String 文件内容
+     **/
+    public String getFileBody(String basePath, String sourceDir, String fileName) {
+        String fileBodyStr = getFileBody(basePath, sourceDir, fileName, inputStream -> IoUtil.read(inputStream, StandardCharsets.UTF_8));
+        if (null == fileBodyStr) {
+            return "";
+        }
+        StaticLog.debug("获取WebDav目录【{}】中文件【{}】的内容完成：{}", sourceDir, fileName,
+                StrUtil.maxLength(fileBodyStr, WebDavConstant.LOG_PREVIEW_LENGTH));
+        return fileBodyStr;
+    }
+
+    /**
+     * 流式处理文件内容，处理完成后释放连接，内存占用与文件大小无关
+     * @author hubz
+     * @date 2026/10/18 17:35
+     *
+     * @param basePath 根目录
+     * @param sourceDir 文件WebDav的目录
+     * @param fileName 文件名
+     * @param handler 文件内容的处理逻辑
+     * @return T 处理结果，获取失败时返回 null
+     **/
+    public <T> T getFileBody(String basePath, String sourceDir, String fileName, WebDavStreamHandler<T> handler) {
+        return getFileBody(basePath, sourceDir, fileName, null, handler);
+    }
+
+    /**
+     * 按条件流式处理文件内容，如携带上次获取时的 ETag，内容未变化时只传输响应头
+     * @author hubz
+     * @date 2026/10/18 21:25
+     *
+     * @param basePath 根目录
+     * @param sourceDir 文件WebDav的目录
+     * @param fileName 文件名
+     * @param conditions 前置条件，可为空
+     * @param handler 文件内容的处理逻辑
+     * @return T 处理结果，内容未修改、前置条件不满足或获取失败时返回 null
+     **/
+    public <T> T getFileBody(String basePath, String sourceDir, String fileName, WebDavConditions conditions,
+                             WebDavStreamHandler<T> handler) {
+        check(basePath);
+        HttpResponse httpResponse = null;
+        try {
+            httpResponse = openFile(basePath, sourceDir, fileName, null == conditions ? new Header[0] : conditions.toHeaders());
+            if (null == httpResponse) {
+                return null;
+            }
+            try (InputStream inputStream = httpResponse.getEntity().getContent()) {
+                return handler.handle(inputStream);
+            }
+        } catch (Exception e) {
+            StaticLog.error(e, StrUtil.format("WebDav获取【{}/{}】文件内容失败", sourceDir, fileName));
+        } finally {
+            if (null != httpResponse) {
+                EntityUtils.consumeQuietly(httpResponse.getEntity());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 获取文件内容的输入流，调用方必须关闭该输入流以释放连接
+     * @author hubz
+     * @date 2026/10/18 17:38
+     *
+     * @param basePath 根目录
+     * @param sourceDir 文件WebDav的目录
+     * @param fileName 文件名
+     * @return java.io.InputStream 获取失败时返回 null
+     **/
+    public InputStream getFileBodyStream(String basePath, String sourceDir, String fileName) {
+        check(basePath);
+        try {
+            HttpResponse httpResponse = openFile(basePath, sourceDir, fileName);
+            return null == httpResponse ? null : httpResponse.getEntity().getContent();
+        } catch (Exception e) {
+            StaticLog.error(e, StrUtil.format("WebDav获取【{}/{}】文件内容失败", sourceDir, fileName));
+        }
+        return null;
+    }
+
+    /**
+     * 获取文件内容的通道，调用方必须关闭该通道以释放连接
+     * @author hubz
+     * @date 2026/10/18 17:39
+     *
+     * @param basePath 根目录
+     * @param sourceDir 文件WebDav的目录
+     * @param fileName 文件名
+     * @return java.nio.channels.ReadableByteChannel 获取失败时返回 null
+     **/
+    public ReadableByteChannel getFileBodyChannel(String basePath, String sourceDir, String fileName) {
+        InputStream inputStream = getFileBodyStream(basePath, sourceDir, fileName);
+        return null == inputStream ? null : Channels.newChannel(inputStream);
+    }
+
+    /**
+     * 发送获取文件内容的请求
+     * @author hubz
+     * @date 2026/10/18 17:40
+     *
+     * @param basePath 根目录
+     * @param sourceDir 文件WebDav的目录
+     * @param fileName 文件名
+     * @param headers 条件请求头
+     * @return org.apache.http.HttpResponse 请求失败或内容未修改时释放连接并返回 null
+     **/
+    private HttpResponse openFile(String basePath, String sourceDir, String fileName, Header... headers) throws IOException {
+        String fileDir = Paths.get(basePath, sourceDir).toString();
+        StaticLog.info("获取WebDav目录【{}】中文件【{}】的内容", fileDir, fileName);
+        String encodeFileName = encodeFilePath(fileName);
+        String url = StrUtil.format("{}/{}/{}", webDavUrl, fileDir, encodeFileName);
+        HttpResponse httpResponse = throttled(() -> httpRequestClient.executeWithHeaders(WebDavConstant.HTTP_METHOD_GET, dealUrl(url), headers));
+        int statusCode = httpResponse.getStatusLine().getStatusCode();
+        if (WebDavConstant.NOT_MODIFIED.equals(statusCode)) {
+            StaticLog.debug("WebDav目录【{}】中文件【{}】未修改", fileDir, fileName);
+            EntityUtils.consumeQuietly(httpResponse.getEntity());
+            return null;
+        }
+        if (!WebDavConstant.REQUEST_OK.equals(statusCode)) {
+            StaticLog.warn("获取WebDav目录【{}】中文件【{}】失败：请求响应状态码【{}】", fileDir, fileName, statusCode);
+            EntityUtils.consumeQuietly(httpResponse.getEntity());
+            return null;
+        }
+        return httpResponse;
+    }
+
+    /**
+     * 下载文件
+     * @author hubz
+     * @date 2022/7/26 22:23
+     *
+     * @param basePath 根目录
+     * @param sourceDir 文件WebDav的目录
+     * @param fileName 文件名
+     * @param targetPath 本地目标文件所在的路径
+     * @param needBak 是否需要备份已有数据，是的话进行备份，否的话检查是否存在数据，存在则删除
+     * @param bakPath 备份已有文件的备份目录
+     * @return java.lang.Boolean 下载结果
+     **/
+    public Boolean downloadFile(String basePath, String sourceDir, String fileName, String targetPath, Boolean needBak, String bakPath) {
+        check(basePath);
+        try {
+            sourceDir = Paths.get(basePath, sourceDir).toString();
+            String targetFilePath = Paths.get(targetPath, fileName).toAbsolutePath().toString();
+            StaticLog.info("下载WebDav文件【{}】至本地路径【{}】", sourceDir, targetFilePath);
+            if (needBak) {
+                if (FileUtil.exist(targetFilePath)) {
+                    StaticLog.warn("目标文件已存在,备份中...");
+                    if (StrUtil.isBlank(bakPath)) {
+                        StaticLog.warn("备份目录为空...");
+                        return false;
+                    }
+                    // 创建备份目录
+                    Path fileBakPath = Paths.get(bakPath, fileName + ".bak." + TimeUtils.getCurrentLongTime());
+                    PathUtil.mkParentDirs(fileBakPath);
+                    // 将文件移动到备份目录中
+                    FileUtil.move(Paths.get(targetFilePath), Paths.get(fileBakPath.toAbsolutePath().toString(), fileName), true);
+                }
+            }
+            // 不需要备份时，下载完成后直接替换旧数据
+            String encodeFileName = encodeFilePath(fileName);
+            String url = StrUtil.format("{}/{}/{}", webDavUrl, sourceDir, encodeFileName);
+            return new WebDavDownloader(this, dealUrl(url), WebDavConstant.DOWNLOAD_MAX_RETRIES).download(Paths.get(targetFilePath), 1)
+                    == WebDavTransferStatus.SUCCESS;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            StaticLog.error(e, StrUtil.format("从WebDav下载【{}/{}】文件失败", sourceDir, fileName));
+        }
+        return false;
+    }
+
+    /**
+     * 下载文件到指定目录
+     * @author hubz
+     * @date 2022/8/1 22:57
+     *
+     * @param basePath 根目录
+     * @param webDavSourceFilePath 文件的WebDav路径
+     * @param targetFilePathStr 本地目标文件所在的路径
+     * @param needBak 是否需要备份已有数据，是的话进行备份，否的话检查是否存在数据，存在则删除
+     * @param bakPath 备份已有文件的备份目录
+     * @return java.lang.Boolean 下载结果
+     **/
+    public Boolean downloadFile(String basePath, String webDavSourceFilePath, String targetFilePathStr, Boolean needBak, String bakPath) {
+        return downloadFile(basePath, webDavSourceFilePath, targetFilePathStr, needBak, bakPath, 1);
+    }
+
+    /**
+     * 下载文件到指定目录，支持断点续传和大文件分段并行下载
+     * <p>
+     * 数据先写入同目录的临时文件，完成后原子替换目标文件；单连接下载中断后再次调用会从已下载的位置继续。
+     * @author hubz
+     * @date 2026/10/18 18:45
+     *
+     * @param basePath 根目录
+     * @param webDavSourceFilePath 文件的WebDav路径
+     * @param targetFilePathStr 本地目标文件所在的路径
+     * @param needBak 是否需要备份已有数据，是的话进行备份，否的话下载完成后直接覆盖
+     * @param bakPath 备份已有文件的备份目录
+     * @param segments 并行下载的区间数，文件较小或服务端不支持区间请求时使用单连接下载
+     * @return java.lang.Boolean 下载结果
+     **/
+    public Boolean downloadFile(String basePath, String webDavSourceFilePath, String targetFilePathStr,
+                                Boolean needBak, String bakPath, int segments) {
+        check(basePath);
+        try {
+            webDavSourceFilePath = Paths.get(basePath, webDavSourceFilePath).toString();
+            Path targetFileBasePath = Paths.get(targetFilePathStr);
+            String targetFilePath = targetFileBasePath.toAbsolutePath().toString();
+            StaticLog.info("下载WebDav文件【{}】至本地路径【{}】", webDavSourceFilePath, targetFilePath);
+            if (needBak) {
+                if (FileUtil.exist(targetFilePath)) {
+                    StaticLog.warn("目标文件【{}】已存在,备份中...", targetFilePath);
+                    if (StrUtil.isBlank(bakPath)) {
+                        StaticLog.warn("备份目录为空...");
+                        return false;
+                    }
+                    // 创建备份目录
+                    String fileName = targetFileBasePath.getName(targetFileBasePath.getNameCount() - 1).toString();
+                    Path fileBakPath = Paths.get(bakPath, fileName + ".bak." + TimeUtils.getCurrentLongTime());
+                    PathUtil.mkParentDirs(fileBakPath);
+                    // 将文件移动到备份目录中
+                    FileUtil.move(Paths.get(targetFilePath), Paths.get(fileBakPath.toAbsolutePath().toString(), fileName), true);
+                }
+            }
+            // 不需要备份时，下载完成后直接替换旧数据，父级目录由下载过程创建
+            String encodeFilePath = encodeFilePath(webDavSourceFilePath);
+            String url = dealUrl(StrUtil.format("{}/{}", webDavUrl, encodeFilePath));
+            StaticLog.debug("开始下载WebDav远端【{}】的文件", url);
+            return new WebDavDownloader(this, url, WebDavConstant.DOWNLOAD_MAX_RETRIES).download(targetFileBasePath, segments)
+                    == WebDavTransferStatus.SUCCESS;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            StaticLog.error(e, StrUtil.format("从WebDav下载【{}】文件失败", webDavSourceFilePath));
+        }
+        return false;
+    }
+
+    /**
+     * 按条件下载文件，如携带本地副本对应的 ETag，远端未变化时只传输响应头
+     * @author hubz
+     * @date 2026/10/18 21:28
+     *
+     * @param basePath 根目录
+     * @param webDavSourceFilePath 文件的WebDav路径
+     * @param targetFilePathStr 本地目标文件路径
+     * @param conditions 前置条件
+     * @return com.hubz.common.util.webdav.WebDavTransferStatus 下载结果
+     **/
+    public WebDavTransferStatus downloadFile(String basePath, String webDavSourceFilePath, String targetFilePathStr,
+                                             WebDavConditions conditions) {
+        return downloadFile(basePath, webDavSourceFilePath, targetFilePathStr, conditions, 1);
+    }
+
+    /**
+     * 按条件下载文件，支持断点续传和大文件分段并行下载
+     * <p>
+     * 续传时通过 If-Range 确认远端仍是同一版本，分段下载时每个区间通过 If-Match 确认，远端在下载过程中变化时不会拼接出混合版本。
+     * @author hubz
+     * @date 2026/10/18 21:28
+     *
+     * @param basePath 根目录
+     * @param webDavSourceFilePath 文件的WebDav路径
+     * @param targetFilePathStr 本地目标文件路径
+     * @param conditions 前置条件
+     * @param segments 并行下载的区间数
+     * @return com.hubz.common.util.webdav.WebDavTransferStatus 下载结果
+     **/
+    public WebDavTransferStatus downloadFile(String basePath, String webDavSourceFilePath, String targetFilePathStr,
+                                             WebDavConditions conditions, int segments) {
+        check(basePath);
+        try {
+            String url = dealUrl(StrUtil.format("{}/{}", webDavUrl, encodeFilePath(Paths.get(basePath, webDavSourceFilePath).toString())));
+            StaticLog.info("按条件下载WebDav文件【{}】至本地路径【{}】", url, targetFilePathStr);
+            Header[] headers = null == conditions ? new Header[0] : conditions.toHeaders();
+            return new WebDavDownloader(this, url, WebDavConstant.DOWNLOAD_MAX_RETRIES, headers)
+                    .download(Paths.get(targetFilePathStr), segments);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            StaticLog.error(e, StrUtil.format("从WebDav下载【{}】文件失败", webDavSourceFilePath));
+        }
+        return WebDavTransferStatus.FAILED;
+    }
+
+
+    /**
+     * 判断路径是否存在
+     * @author hubz
+     * @date 2022/7/30 14:35
+     *
+     * @param basePath 根目录
+     * @param path 文件/目录路径
+     * @return java.lang.Boolean true 存在 false，不存在
+     **/
+    public Boolean checkPathExist(String basePath, String path) {
+        check(basePath);
+        HttpResponse httpResponse = null;
+        try {
+            String encodePath = encodeFilePath(path);
+            String url = StrUtil.format("{}/{}/{}", webDavUrl, basePath, encodePath);
+            String hasDealUrl = dealUrl(url);
+            StaticLog.info("检查路径【{}】是否存在", hasDealUrl);
+            httpResponse = throttled(() -> httpRequestClient.execute(WebDavConstant.HTTP_METHOD_PROPFIND, hasDealUrl));
+            int statusCode = httpResponse.getStatusLine().getStatusCode();
+            if (String.valueOf(statusCode).startsWith(WebDavConstant.CODE_40)) {
+                StaticLog.warn("路径【{}】不存在", hasDealUrl);
+                return false;
+            } else {
+                StaticLog.debug("路径【{}】存在", hasDealUrl);
+                return WebDavConstant.FOUND_STATUS_CODE.equals(statusCode);
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+            return false;
+        } finally {
+            if (null != httpResponse) {
+                EntityUtils.consumeQuietly(httpResponse.getEntity());
+            }
+        }
+    }
+
+    /**
+     * 获取指定路径下的文件/目录列表
+     * @author hubz
+     * @date 2022/8/1 22:54
+     *
+     * @param basePath 根目录
+     * @param path 指定路径
+     * @return java.util.List<com.hubz.minimdmanage.common.utils.webdav.WebDavPathResponse> 指定路径下的文件/目录列表
+     **/
+    public List<WebDavPathResponse> getWebDavPathInfo(String basePath, String path) {
+        List<WebDavPathResponse> result = new ArrayList<>();
+        if (getWebDavPathInfo(basePath, path, result::add)) {
+            return result;
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * 流式获取指定路径下的文件/目录列表，每解析出一个子级条目即回调一次，内存占用与目录大小无关
+     * @author hubz
+     * @date 2026/10/18 14:20
+     *
+     * @param basePath 根目录
+     * @param path 指定路径
+     * @param consumer 子级文件/目录的处理逻辑
+     * @return java.lang.Boolean 是否获取成功
+     **/
+    public Boolean getWebDavPathInfo(String basePath, String path, Consumer<WebDavPathResponse> consumer) {
+        check(basePath);
+        try {
+            StaticLog.info("获取WebDav路径【{}/{}】下的文件/目录列表", basePath, path);
+            listChildren(basePath, path, consumer);
+            return true;
+        } catch (IOException e) {
+            StaticLog.warn("【{}/{}】路径不存在：{}", basePath, path, e.getMessage());
+        } catch (Exception e) {
+            StaticLog.error(e, "获取路径【{}/{}】目录下的路径列表错误", basePath, path);
+        }
+        return false;
+    }
+
+    /**
+     * 流式获取指定路径下的文件/目录列表，获取失败时抛出异常，供需要完整列表的遍历使用
+     * @author hubz
+     * @date 2026/10/19 03:00
+     *
+     * @param basePath 根目录
+     * @param path 指定路径
+     * @param consumer 子级文件/目录的处理逻辑
+     * @throws FileNotFoundException 路径不存在
+     * @throws IOException 请求失败或响应状态码不是 207
+     **/
+    void listChildren(String basePath, String path, Consumer<WebDavPathResponse> consumer) throws IOException {
+        HttpResponse httpResponse = propFind(basePath, path, WebDavConstant.DEPTH_ONE);
+        try {
+            int statusCode = httpResponse.getStatusLine().getStatusCode();
+            if (WebDavConstant.NOT_FOUND_STATUS_CODE.equals(statusCode)) {
+                throw new FileNotFoundException(StrUtil.format("路径【{}/{}】不存在", basePath, path));
+            }
+            if (!WebDavConstant.FOUND_STATUS_CODE.equals(statusCode)) {
+                throw new IOException(StrUtil.format("获取路径【{}/{}】的列表失败：请求响应状态码【{}】", basePath, path, statusCode));
+            }
+            try (WebDavPropFindParser parser = new WebDavPropFindParser(httpResponse.getEntity().getContent(), hrefPrefix)) {
+                // 第一个是当前目录的信息，从第二个开始是当前目录的子级目录/文件的信息
+                if (parser.hasNext()) {
+                    parser.next();
+                }
+                while (parser.hasNext()) {
+                    WebDavPathResponse item = parser.next();
+                    // 判断当前路径信息是否为父级路径
+                    if (StrUtil.equals(path, item.getHref()) || StrUtil.equals(path, item.getDisplayName())) {
+                        continue;
+                    }
+                    consumer.accept(item);
+                }
+            } catch (XMLStreamException | IllegalStateException e) {
+                throw new IOException(StrUtil.format("解析路径【{}/{}】的列表失败", basePath, path), e);
+            }
+        } finally {
+            EntityUtils.consumeQuietly(httpResponse.getEntity());
+        }
+    }
+
+    /**
+     * 获取指定文件/目录自身的属性
+     * @author hubz
+     * @date 2026/10/18 17:05
+     *
+     * @param basePath 根目录
+     * @param path 文件/目录路径
+     * @return com.hubz.common.util.webdav.WebDavPathResponse 路径不存在时返回 null
+     **/
+    public WebDavPathResponse getWebDavPathProperties(String basePath, String path) {
+        check(basePath);
+        HttpResponse httpResponse = null;
+        try {
+            httpResponse = propFind(basePath, path, WebDavConstant.DEPTH_ZERO);
+            int statusCode = httpResponse.getStatusLine().getStatusCode();
+            if (!WebDavConstant.FOUND_STATUS_CODE.equals(statusCode)) {
+                StaticLog.warn("【{}/{}】路径不存在：请求响应状态码【{}】", basePath, path, statusCode);
+                return null;
+            }
+            try (WebDavPropFindParser parser = new WebDavPropFindParser(httpResponse.getEntity().getContent(), hrefPrefix)) {
+                return parser.hasNext() ? parser.next() : null;
+            }
+        } catch (Exception e) {
+            StaticLog.error(e, "获取路径【{}/{}】的属性错误", basePath, path);
+        } finally {
+            if (null != httpResponse) {
+                EntityUtils.consumeQuietly(httpResponse.getEntity());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 递归获取指定路径下所有层级的文件/目录
+     * <p>
+     * 服务端支持时使用一次 Depth: infinity 的 PROPFIND 流式读取整棵树；不支持时退化为有限并发的广度优先遍历。
+     * 返回的 Stream 是惰性的，并持有网络连接/工作线程，使用完毕后必须关闭（try-with-resources）。
+     * 获取失败时抛出 {@link UncheckedIOException}（路径不存在时原因为 {@link FileNotFoundException}），
+     * 逐级遍历时任一目录获取失败、或响应解析失败，消费 Stream 时抛出异常，不会返回不完整的列表。
+     * @author hubz
+     * @date 2026/10/18 15:10
+     *
+     * @param basePath 根目录
+     * @param path 指定路径
+     * @return java.util.stream.Stream<com.hubz.common.util.webdav.WebDavPathResponse>
+     **/
+    public Stream<WebDavPathResponse> listRecursive(String basePath, String path) {
+        return listRecursive(basePath, path, WebDavConstant.DEFAULT_WALK_WORKERS);
+    }
+
+    /**
+     * 递归获取指定路径下所有层级的文件/目录
+     * @author hubz
+     * @date 2026/10/18 15:12
+     *
+     * @param basePath 根目录
+     * @param path 指定路径
+     * @param concurrency 退化为广度优先遍历时的最大并发请求数
+     * @return java.util.stream.Stream<com.hubz.common.util.webdav.WebDavPathResponse>
+     **/
+    public Stream<WebDavPathResponse> listRecursive(String basePath, String path, int concurrency) {
+        check(basePath);
+        if (!Boolean.FALSE.equals(depthInfinitySupported)) {
+            Stream<WebDavPathResponse> stream = listWithInfiniteDepth(basePath, path);
+            if (null != stream) {
+                return stream;
+            }
+        }
+        return new WebDavTreeWalker(this, basePath, concurrency).walk(path);
+    }
+
+    /**
+     * 使用 Depth: infinity 获取整棵树
+     * @author hubz
+     * @date 2026/10/18 15:15
+     *
+     * @param basePath 根目录
+     * @param path 指定路径
+     * @return java.util.stream.Stream<com.hubz.common.util.webdav.WebDavPathResponse> 服务端不支持时返回 null
+     * @throws UncheckedIOException 路径不存在（原因为 FileNotFoundException）或请求失败
+     **/
+    private Stream<WebDavPathResponse> listWithInfiniteDepth(String basePath, String path) {
+        HttpResponse httpResponse = null;
+        try {
+            httpResponse = propFind(basePath, path, WebDavConstant.DEPTH_INFINITY);
+            int statusCode = httpResponse.getStatusLine().getStatusCode();
+            if (!WebDavConstant.FOUND_STATUS_CODE.equals(statusCode)) {
+                if (WebDavConstant.FORBIDDEN.equals(statusCode)) {
+                    StaticLog.info("WebDav服务不支持 Depth: infinity，使用逐级遍历");
+                    depthInfinitySupported = false;
+                    EntityUtils.consumeQuietly(httpResponse.getEntity());
+                    return null;
+                }
+                EntityUtils.consumeQuietly(httpResponse.getEntity());
+                if (WebDavConstant.NOT_FOUND_STATUS_CODE.equals(statusCode)) {
+                    throw new FileNotFoundException(StrUtil.format("路径【{}/{}】不存在", basePath, path));
+                }
+                throw new IOException(StrUtil.format("递归获取路径【{}/{}】的列表失败：请求响应状态码【{}】", basePath, path, statusCode));
+            }
+            depthInfinitySupported = true;
+            HttpResponse response = httpResponse;
+            WebDavPropFindParser parser = new WebDavPropFindParser(response.getEntity().getContent(), hrefPrefix);
+            // 第一个是当前目录自身的信息
+            if (parser.hasNext()) {
+                parser.next();
+            }
+            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(parser, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                    .onClose(() -> {
+                        IoUtil.close(parser);
+                        EntityUtils.consumeQuietly(response.getEntity());
+                    });
+        } catch (IOException | XMLStreamException e) {
+            StaticLog.error(e, "递归获取路径【{}/{}】下的路径列表错误", basePath, path);
+            if (null != httpResponse) {
+                EntityUtils.consumeQuietly(httpResponse.getEntity());
+            }
+            throw e instanceof IOException ? new UncheckedIOException((IOException) e)
+                    : new UncheckedIOException(new IOException("PROPFIND 响应解析失败", e));
+        }
+    }
+
+    /**
+     * 发送 PROPFIND 请求
+     * @author hubz
+     * @date 2026/10/18 15:18
+     *
+     * @param basePath 根目录
+     * @param path 指定路径
+     * @param depth Depth 请求头
+     * @return org.apache.http.HttpResponse
+     **/
+    private HttpResponse propFind(String basePath, String path, String depth) throws IOException {
+        String encodePath = encodeFilePath(path);
+        String url = dealUrl(StrUtil.format("{}/{}/{}", webDavUrl, basePath, encodePath));
+        StaticLog.debug("获取路径【{}】下的文件/目录信息：Depth【{}】", url, depth);
+        return throttled(() -> httpRequestClient.executeWithHeaders(WebDavConstant.HTTP_METHOD_PROPFIND, url,
+                new BasicHeader(WebDavConstant.HEADER_DEPTH, depth)));
+    }
+
+    /**
+     * 将 PROPFIND 返回的 href 转换为相对指定目录的路径
+     * <p>
+     * 目录的 href 与解析响应时一样去除 hrefPrefix 后再比较，hrefPrefix 是否包含根目录都能得到正确的相对路径。
+     * @author hubz
+     * @date 2026/10/18 15:20
+     *
+     * @param basePath 根目录
+     * @param dir 相对根目录的目录，为空时表示根目录
+     * @param href 服务端返回的路径（已去除服务端前缀）
+     * @return java.lang.String 相对该目录的路径，以 / 开头
+     **/
+    String relativePath(String basePath, String dir, String href) {
+        return relativePath(URLDecoder.decodeForPath(hrefOf(basePath, dir), StandardCharsets.UTF_8), href);
+    }
+
+    /**
+     * 指定路径在 PROPFIND 响应中的 href（未解码，已去除 hrefPrefix）
+     * @author hubz
+     * @date 2026/10/18 15:21
+     *
+     * @param basePath 根目录
+     * @param path 相对根目录的路径
+     * @return java.lang.String
+     **/
+    String hrefOf(String basePath, String path) {
+        int pathStart = webDavUrl.indexOf('/');
+        String serverPath = pathStart < 0 ? "" : webDavUrl.substring(pathStart);
+        String href = StrUtil.format("/{}/{}/{}", serverPath, encodeFilePath(basePath), encodeFilePath(StrUtil.nullToEmpty(path)))
+                .replaceAll("/+", "/");
+        return StrUtil.isEmpty(hrefPrefix) ? href : href.replace(hrefPrefix, "");
+    }
+
+    /**
+     * 将 href 转换为相对 parent 的路径，href 不在 parent 下时原样返回
+     * @author hubz
+     * @date 2026/10/18 15:22
+     *
+     * @param parent 已解码的目录路径
+     * @param href 服务端返回的路径（已去除服务端前缀）
+     * @return java.lang.String
+     **/
+    static String relativePath(String parent, String href) {
+        String path = dealPath(URLDecoder.decodeForPath(href, StandardCharsets.UTF_8));
+        String base = "/" + dealPath(parent).replaceAll("^/+|/+$", "");
+        if (!path.startsWith("/")) {
+            path = "/" + path;
+        }
+        if (path.equals(base) || path.startsWith(base + "/")) {
+            path = path.substring(base.length());
+        }
+        return path.replaceAll("/+$", "");
+    }
+
+    /**
+     * 经过限流策略发送附带自定义请求头的请求
+     * @author hubz
+     * @date 2026/10/18 18:50
+     *
+     * @param method 请求方法
+     * @param url 已处理的完整URL
+     * @param headers 自定义请求头
+     * @return org.apache.http.HttpResponse
+     **/
+    HttpResponse request(String method, String url, Header... headers) throws IOException {
+        return throttled(() -> httpRequestClient.executeWithHeaders(method, url, headers));
+    }
+
+    /**
+     * 经过限流策略发送附带请求体和自定义请求头的请求
+     * @author hubz
+     * @date 2026/10/18 19:58
+     *
+     * @param method 请求方法
+     * @param url 已处理的完整URL
+     * @param httpEntity 请求体
+     * @param headers 自定义请求头
+     * @return org.apache.http.HttpResponse
+     **/
+    HttpResponse request(String method, String url, HttpEntity httpEntity, Header... headers) throws IOException {
+        return throttled(() -> httpRequestClient.executeWithHeaders(method, url, httpEntity, headers));
+    }
+
+    /**
+     * 经过限流策略发送请求，并将响应状态反馈给限流策略
+     * @author hubz
+     * @date 2026/10/18 11:30
+     *
+     * @param call 请求
+     * @return org.apache.http.HttpResponse
+     **/
+    private HttpResponse throttled(WebDavCall call) throws IOException {
+        throttle.acquire();
+        HttpResponse response = call.execute();
+        throttle.feedback(response.getStatusLine().getStatusCode(), retryAfterMillis(response));
+        return response;
+    }
+
+    /**
+     * 解析 Retry-After 响应头，支持秒数和HTTP日期两种格式
+     * @author hubz
+     * @date 2026/10/18 11:32
+     *
+     * @param response 响应
+     * @return long 需要等待的毫秒数，没有该响应头时返回 -1
+     **/
+    private static long retryAfterMillis(HttpResponse response) {
+        Header header = response.getFirstHeader(HttpHeaders.RETRY_AFTER);
+        if (null == header || StrUtil.isBlank(header.getValue())) {
+            return -1;
+        }
+        String value = header.getValue().trim();
+        try {
+            if (NumberUtil.isLong(value)) {
+                return TimeUnit.SECONDS.toMillis(Long.parseLong(value));
+            }
+            return Math.max(0, DateUtil.parse(value, DatePattern.HTTP_DATETIME_FORMAT).getTime() - System.currentTimeMillis());
+        } catch (Exception e) {
+            StaticLog.warn("无法解析Retry-After：{}", value);
+            return -1;
+        }
+    }
+
+    /**
+     * WebDav请求
+     */
+    @FunctionalInterface
+    private interface WebDavCall {
+        HttpResponse execute() throws IOException;
+    }
+
+    /**
+     * 处理URL
+     * @author hubz
+     * @date 2022/7/30 19:51
+     *
+     * @param url url
+     * @return java.lang.String 处理后的url
+     **/
+    private String dealUrl(String url) {
+        return scheme + "://" + dealPath(url);
+    }
+
+    /**
+     * 处理路径
+     * @author hubz
+     * @date 2022/12/10 15:22
+     *
+     * @param path 路径
+     * @return java.lang.String
+     **/
+    private static String dealPath(String path) {
+        return path.replace("%2F", "/")
+                .replace("https://", "")
+                .replace("http://", "")
+                .replaceAll("%5C", "/")
+                .replaceAll("//", "/")
+                .replace("\\", "/")
+                .replaceAll("\\\\", "/");
+    }
+
+    /**
+     * 编码文件路径
+     * @author hubz
+     * @date 2022/12/10 15:21
+     *
+     * @param path 文件路径
+     * @return java.lang.String 处理后的文件路径
+     **/
+    private static String encodeFilePath(String path) {
+        return URLEncoder.encode(dealPath(path), StandardCharsets.UTF_8)
+                .replace("+", "%20")
+                .replace("%2F", "/");
+    }
+
+    /**
+     * WebDavClient 构造器
+     */
+    public static final class Builder {
+
+        private String url;
+
+        private Auth auth;
+
+        private int connectTimeout = WebDavConstant.DEFAULT_CONNECT_TIMEOUT_MILLIS;
+
+        private int readTimeout = WebDavConstant.DEFAULT_READ_TIMEOUT_MILLIS;
+
+        private int maxConnPerRoute = WebDavConstant.DEFAULT_MAX_CONN_PER_ROUTE;
+
+        private int maxConnTotal = WebDavConstant.DEFAULT_MAX_CONN_TOTAL;
+
+        private WebDavThrottle throttle;
+
+        private WebDavDirCache dirCache;
+
+        private String hrefPrefix;
+
+        private Builder() {
+        }
+
+        /**
+         * WebDav地址，未指定协议时使用 https
+         */
+        public Builder url(String url) {
+            this.url = url;
+            return this;
+        }
+
+        public Builder basicAuth(String username, String password) {
+            this.auth = new BasicAuth(username, password);
+            return this;
+        }
+
+        public Builder bearerToken(String bearerToken) {
+            this.auth = new BearerAuth(bearerToken);
+            return this;
+        }
+
+        public Builder auth(Auth auth) {
+            this.auth = auth;
+            return this;
+        }
+
+        /**
+         * 连接超时及从连接池获取连接的超时时间（毫秒）
+         */
+        public Builder connectTimeout(int connectTimeout) {
+            this.connectTimeout = connectTimeout;
+            return this;
+        }
+
+        /**
+         * 读超时时间（毫秒）
+         */
+        public Builder readTimeout(int readTimeout) {
+            this.readTimeout = readTimeout;
+            return this;
+        }
+
+        /**
+         * 连接池大小，一个实例只访问一个服务，单路由上限与总上限相同
+         */
+        public Builder maxConnections(int maxConnections) {
+            this.maxConnPerRoute = maxConnections;
+            this.maxConnTotal = maxConnections;
+            return this;
+        }
+
+        public Builder maxConnPerRoute(int maxConnPerRoute) {
+            this.maxConnPerRoute = maxConnPerRoute;
+            return this;
+        }
+
+        public Builder maxConnTotal(int maxConnTotal) {
+            this.maxConnTotal = maxConnTotal;
+            return this;
+        }
+
+        /**
+         * 限流策略，默认使用 {@link AimdThrottle}，不需要限流时传 {@link WebDavThrottle#NONE}
+         */
+        public Builder throttle(WebDavThrottle throttle) {
+            this.throttle = throttle;
+            return this;
+        }
+
+        /**
+         * 已存在目录的缓存
+         */
+        public Builder dirCache(WebDavDirCache dirCache) {
+            this.dirCache = dirCache;
+            return this;
+        }
+
+        /**
+         * 服务端返回的 href 中需要去除的路径前缀，默认为WebDav地址中的路径部分
+         */
+        public Builder hrefPrefix(String hrefPrefix) {
+            this.hrefPrefix = hrefPrefix;
+            return this;
+        }
+
+        public WebDavClient build() {
+            if (StrUtil.isBlank(url)) {
+                throw new IllegalArgumentException("url is required");
+            }
+            Objects.requireNonNull(auth, "auth");
+            if (connectTimeout < 0 || readTimeout < 0 || maxConnPerRoute < 1 || maxConnTotal < 1) {
+                throw new IllegalArgumentException("timeouts must not be negative and pool size must be positive");
+            }
+            String address = url.trim();
+            String scheme = "https";
+            int schemeEnd = address.indexOf("://");
+            if (schemeEnd > 0) {
+                scheme = address.substring(0, schemeEnd).toLowerCase();
+                address = address.substring(schemeEnd + 3);
+            }
+            if (!"http".equals(scheme) && !"https".equals(scheme)) {
+                throw new IllegalArgumentException("unsupported scheme: " + scheme);
+            }
+            address = address.replaceAll("/+$", "");
+            int pathStart = address.indexOf('/');
+            String prefix = null != hrefPrefix ? hrefPrefix : pathStart < 0 ? "" : address.substring(pathStart);
+            if (null == throttle) {
+                throttle = new AimdThrottle();
+            }
+            if (null == dirCache) {
+                dirCache = new WebDavDirCache(WebDavConstant.DEFAULT_DIR_CACHE_CAPACITY, WebDavConstant.DEFAULT_DIR_CACHE_TTL_MILLIS);
+            }
+            return new WebDavClient(this, scheme, address, prefix);
+        }
+    }
+}
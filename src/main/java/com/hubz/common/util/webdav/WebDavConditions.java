@@ -0,0 +1,96 @@
+package com.hubz.common.util.webdav;
+
+import cn.hutool.core.date.DatePattern;
+import cn.hutool.core.util.StrUtil;
+import lombok.Builder;
+import lombok.Data;
+import org.apache.http.Header;
+import org.apache.http.HttpHeaders;
+import org.apache.http.message.BasicHeader;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 条件请求的前置条件
+ * <p>
+ * 下载时使用 If-None-Match / If-Modified-Since，内容未变化时服务端只返回 304；
+ * 上传时使用 If-Match 保证只覆盖自己读到的版本，使用 If-None-Match: * 保证只创建不覆盖。
+ * @author hubz
+ * @date 2026/10/18 21:12
+ **/
+@Data
+@Builder
+public class WebDavConditions {
+
+    /**
+     * 匹配任意已存在实体的 ETag
+     */
+    public static final String ANY_ETAG = "*";
+
+    /**
+     * 远端 ETag 与之相同时才执行
+     */
+    private String ifMatch;
+
+    /**
+     * 远端 ETag 与之不同时才执行，{@link #ANY_ETAG} 表示远端不存在时才执行
+     */
+    private String ifNoneMatch;
+
+    /**
+     * 远端在该时间（毫秒）之后修改过才执行
+     */
+    private Long ifModifiedSince;
+
+    /**
+     * 远端在该时间（毫秒）之后未修改过才执行
+     */
+    private Long ifUnmodifiedSince;
+
+    /**
+     * 内容与指定 ETag 不同时才下载
+     */
+    public static WebDavConditions ifNoneMatch(String etag) {
+        return WebDavConditions.builder().ifNoneMatch(etag).build();
+    }
+
+    /**
+     * 远端仍是指定 ETag 的版本时才执行
+     */
+    public static WebDavConditions ifMatch(String etag) {
+        return WebDavConditions.builder().ifMatch(etag).build();
+    }
+
+    /**
+     * 远端不存在时才上传
+     */
+    public static WebDavConditions createOnly() {
+        return WebDavConditions.builder().ifNoneMatch(ANY_ETAG).build();
+    }
+
+    /**
+     * 转换为请求头
+     * @author hubz
+     * @date 2026/10/18 21:15
+     *
+     * @return org.apache.http.Header[]
+     **/
+    public Header[] toHeaders() {
+        List<Header> headers = new ArrayList<>(4);
+        if (StrUtil.isNotBlank(ifMatch)) {
+            headers.add(new BasicHeader(HttpHeaders.IF_MATCH, ifMatch));
+        }
+        if (StrUtil.isNotBlank(ifNoneMatch)) {
+            headers.add(new BasicHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch));
+        }
+        if (null != ifModifiedSince) {
+            headers.add(new BasicHeader(HttpHeaders.IF_MODIFIED_SINCE, DatePattern.HTTP_DATETIME_FORMAT.format(new Date(ifModifiedSince))));
+        }
+        if (null != ifUnmodifiedSince) {
+            headers.add(new BasicHeader(HttpHeaders.IF_UNMODIFIED_SINCE, DatePattern.HTTP_DATETIME_FORMAT.format(new Date(ifUnmodifiedSince))));
+        }
+        return headers.toArray(new Header[0]);
+    }
+}
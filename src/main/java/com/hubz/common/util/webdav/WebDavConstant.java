@@ -6,15 +6,37 @@ package com.hubz.common.util.webdav;
  **/
 public final class WebDavConstant {
 
-    public static Integer SAME_VERSION = 0;
+    /**
+     * 同步时本地与WebDav文件的版本比较结果
+     */
+    public static final Integer SAME_VERSION = 0;
 
-    public static Integer LOCAL_IS_LAST = 1;
+    public static final Integer LOCAL_IS_LAST = 1;
 
-    public static Integer WEBDAV_IS_LAST = -1;
+    public static final Integer WEBDAV_IS_LAST = -1;
 
+    public static final String HTTP_METHOD_GET = "GET";
     public static final String HTTP_METHOD_HEAD = "HEAD";
     public static final String HTTP_METHOD_MKCOL = "MKCOL";
     public static final String HTTP_METHOD_PROPFIND = "PROPFIND";
+    public static final String HTTP_METHOD_PUT = "PUT";
+    public static final String HTTP_METHOD_MOVE = "MOVE";
+    public static final String HTTP_METHOD_COPY = "COPY";
+    public static final String HTTP_METHOD_DELETE = "DELETE";
+
+    /**
+     * PROPFIND 的遍历深度
+     */
+    public static final String HEADER_DEPTH = "Depth";
+    public static final String DEPTH_ZERO = "0";
+    public static final String DEPTH_ONE = "1";
+    public static final String DEPTH_INFINITY = "infinity";
+
+    /**
+     * MOVE/COPY 的目标地址及目标已存在时是否覆盖（T/F）
+     */
+    public static final String HEADER_DESTINATION = "Destination";
+    public static final String HEADER_OVERWRITE = "Overwrite";
 
     /**
      * 请求成功状态码
@@ -23,13 +45,110 @@ public final class WebDavConstant {
 
     public static final Integer WEBDAV_SUCCESS = 201;
     public static final Integer WEBDAV_SUCCESS_2 = 204;
+    /**
+     * 区间请求成功状态码
+     */
+    public static final Integer PARTIAL_CONTENT = 206;
+    /**
+     * 条件请求：内容未修改
+     */
+    public static final Integer NOT_MODIFIED = 304;
 
+    public static final Integer FORBIDDEN = 403;
     public static final Integer NOT_FOUND_STATUS_CODE = 404;
+    /**
+     * MKCOL 目标已存在
+     */
+    public static final Integer METHOD_NOT_ALLOWED = 405;
+    /**
+     * 请求的区间超出文件范围
+     */
+    public static final Integer RANGE_NOT_SATISFIABLE = 416;
+    /**
+     * MOVE/COPY 的目标父级目录不存在
+     */
+    public static final Integer CONFLICT = 409;
+    /**
+     * Overwrite: F 且目标已存在
+     */
+    public static final Integer PRECONDITION_FAILED = 412;
     public static final Integer FOUND_STATUS_CODE = 207;
 
+    /**
+     * 服务端限流状态码
+     */
+    public static final Integer TOO_MANY_REQUESTS = 429;
+    public static final Integer SERVICE_UNAVAILABLE = 503;
+
     /**
      * 失败状态码前缀
      */
     public static final String CODE_40 = "40";
 
-}
\ No newline at end of file
+    /**
+     * 并行上传默认的工作线程数
+     */
+    public static final int DEFAULT_UPLOAD_WORKERS = 8;
+
+    /**
+     * 并行上传默认的待上传文件队列容量
+     */
+    public static final int DEFAULT_UPLOAD_QUEUE_CAPACITY = 256;
+
+    /**
+     * 目录缓存默认容量
+     */
+    public static final int DEFAULT_DIR_CACHE_CAPACITY = 10_000;
+
+    /**
+     * 目录缓存默认有效期：5分钟
+     */
+    public static final long DEFAULT_DIR_CACHE_TTL_MILLIS = 5 * 60 * 1000L;
+
+    /**
+     * 下载中断后的最大重试次数
+     */
+    public static final int DOWNLOAD_MAX_RETRIES = 3;
+
+    /**
+     * 下载重试的基础间隔（毫秒），按重试次数线性增加
+     */
+    public static final long DOWNLOAD_RETRY_INTERVAL_MILLIS = 500L;
+
+    /**
+     * 上传重试的基础间隔（毫秒），按重试次数线性增加
+     */
+    public static final long UPLOAD_RETRY_INTERVAL_MILLIS = 500L;
+
+    /**
+     * 启用分段并行下载的最小文件大小：8MB
+     */
+    public static final long DOWNLOAD_SEGMENT_MIN_SIZE = 8 * 1024 * 1024L;
+
+    /**
+     * 日志中打印文件内容时的最大长度
+     */
+    public static final int LOG_PREVIEW_LENGTH = 256;
+
+    /**
+     * 逐级遍历远端目录时默认的并发请求数
+     */
+    public static final int DEFAULT_WALK_WORKERS = 4;
+
+    /**
+     * 逐级遍历远端目录时缓冲的最大条目数
+     */
+    public static final int DEFAULT_WALK_BUFFER = 1024;
+
+    /**
+     * WebDavClient 默认的连接/读取超时时间（毫秒）
+     */
+    public static final int DEFAULT_CONNECT_TIMEOUT_MILLIS = 15_000;
+    public static final int DEFAULT_READ_TIMEOUT_MILLIS = 15_000;
+
+    /**
+     * WebDavClient 默认的连接池大小
+     */
+    public static final int DEFAULT_MAX_CONN_PER_ROUTE = 50;
+    public static final int DEFAULT_MAX_CONN_TOTAL = 200;
+}
@@ -0,0 +1,98 @@
+package com.hubz.common.util.webdav;
+
+import cn.hutool.cache.CacheUtil;
+import cn.hutool.cache.impl.LRUCache;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 已确认存在的WebDav远端目录缓存
+ * <p>
+ * 容量有限，超出后淘汰最久未使用的目录；每个目录在写入 TTL 毫秒后过期重新检查。
+ * 删除目录时需要调用 {@link #invalidate(String, String)} 使该目录及其子目录失效。
+ * @author hubz
+ * @date 2026/10/18 13:05
+ **/
+public class WebDavDirCache {
+
+    private final LRUCache<String, Boolean> cache;
+
+    /**
+     * @param capacity 最多缓存的目录数量
+     * @param ttlMillis 目录存在状态的有效期（毫秒）
+     */
+    public WebDavDirCache(int capacity, long ttlMillis) {
+        this.cache = CacheUtil.newLRUCache(capacity, ttlMillis);
+    }
+
+    /**
+     * 目录是否已确认存在
+     * @author hubz
+     * @date 2026/10/18 13:08
+     *
+     * @param basePath 根目录
+     * @param dir 目录
+     * @return boolean
+     **/
+    public synchronized boolean contains(String basePath, String dir) {
+        return Boolean.TRUE.equals(cache.get(key(basePath, dir), false));
+    }
+
+    /**
+     * 记录目录已存在
+     * @author hubz
+     * @date 2026/10/18 13:08
+     *
+     * @param basePath 根目录
+     * @param dir 目录
+     **/
+    public synchronized void markExists(String basePath, String dir) {
+        cache.put(key(basePath, dir), Boolean.TRUE);
+    }
+
+    /**
+     * 使目录及其所有子目录失效
+     * @author hubz
+     * @date 2026/10/18 13:10
+     *
+     * @param basePath 根目录
+     * @param dir 目录
+     **/
+    public synchronized void invalidate(String basePath, String dir) {
+        String key = key(basePath, dir);
+        String childPrefix = key + "/";
+        List<String> toRemove = new ArrayList<>();
+        for (String cached : cache.keySet()) {
+            if (cached.equals(key) || cached.startsWith(childPrefix)) {
+                toRemove.add(cached);
+            }
+        }
+        toRemove.forEach(cache::remove);
+    }
+
+    /**
+     * 清空缓存
+     * @author hubz
+     * @date 2026/10/18 13:11
+     **/
+    public synchronized void clear() {
+        cache.clear();
+    }
+
+    /**
+     * 统一路径格式：使用 / 分隔，去掉首尾及重复的 /
+     * @author hubz
+     * @date 2026/10/18 13:12
+     *
+     * @param basePath 根目录
+     * @param dir 目录
+     * @return java.lang.String
+     **/
+    private static String key(String basePath, String dir) {
+        String path = (basePath + "/" + (null == dir ? "" : dir)).replace("\\", "/").replaceAll("/+", "/");
+        int start = path.startsWith("/") ? 1 : 0;
+        int end = path.endsWith("/") ? path.length() - 1 : path.length();
+        return start >= end ? "" : path.substring(start, end);
+    }
+}
@@ -0,0 +1,453 @@
+package com.hubz.common.util.webdav;
+
+import cn.hutool.core.thread.ThreadUtil;
+import cn.hutool.core.util.NumberUtil;
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.log.StaticLog;
+import org.apache.http.Header;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+import org.apache.http.message.BasicHeader;
+import org.apache.http.util.EntityUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 可续传的WebDav文件下载
+ * <p>
+ * 数据先通过 FileChannel 写入同目录下的临时文件，下载完成后再原子替换目标文件，中途失败不会破坏已有文件。
+ * 单连接下载的临时文件在失败后保留，下次下载时通过 Range 和 If-Range 请求从已下载的位置继续，
+ * 没有记录远端版本（强 ETag 或 Last-Modified）的临时文件无法确认远端未变化，会被删除并从头下载；
+ * 大文件可以拆分为多个区间并行下载，每个区间失败时从该区间已写入的位置重试。
+ * @author hubz
+ * @date 2026/10/18 18:02
+ **/
+final class WebDavDownloader {
+
+    /**
+     * 单连接下载临时文件后缀，可跨进程续传
+     */
+    static final String PART_SUFFIX = ".part";
+
+    /**
+     * 记录临时文件对应远端版本的文件后缀，内容为强 ETag 或 Last-Modified，续传时通过 If-Range 确认远端未变化
+     */
+    private static final String PART_ETAG_SUFFIX = ".part.etag";
+
+    /**
+     * 分段下载临时文件后缀，文件中可能存在空洞，不能用于续传
+     */
+    private static final String SEGMENT_PART_SUFFIX = ".segments";
+
+    private static final String RANGE_UNIT = "bytes";
+
+    private static final String WEAK_ETAG_PREFIX = "W/";
+
+    /**
+     * 每次从网络写入文件的最大字节数
+     */
+    private static final long TRANSFER_CHUNK = 1024 * 1024L;
+
+    private final WebDavClient client;
+
+    private final String url;
+
+    private final int maxRetries;
+
+    /**
+     * 条件请求头，为空表示无条件下载
+     */
+    private final Header[] conditions;
+
+    WebDavDownloader(WebDavClient client, String url, int maxRetries) {
+        this(client, url, maxRetries, new Header[0]);
+    }
+
+    WebDavDownloader(WebDavClient client, String url, int maxRetries, Header[] conditions) {
+        this.client = client;
+        this.url = url;
+        this.maxRetries = maxRetries;
+        this.conditions = conditions;
+    }
+
+    /**
+     * 下载文件
+     * @author hubz
+     * @date 2026/10/18 18:08
+     *
+     * @param target 本地目标文件
+     * @param segments 并行下载的区间数，小于等于1时使用单连接下载
+     * @return com.hubz.common.util.webdav.WebDavTransferStatus 下载结果
+     **/
+    WebDavTransferStatus download(Path target, int segments) throws IOException, InterruptedException {
+        Path parent = target.toAbsolutePath().getParent();
+        if (null != parent) {
+            Files.createDirectories(parent);
+        }
+        if (segments > 1) {
+            Probe probe = probe();
+            if (WebDavConstant.NOT_MODIFIED.equals(probe.statusCode)) {
+                return WebDavTransferStatus.NOT_MODIFIED;
+            }
+            if (WebDavConstant.PRECONDITION_FAILED.equals(probe.statusCode)) {
+                return WebDavTransferStatus.PRECONDITION_FAILED;
+            }
+            if (probe.contentLength >= WebDavConstant.DOWNLOAD_SEGMENT_MIN_SIZE) {
+                return downloadSegments(target, probe.contentLength, segments, probe.etag)
+                        ? WebDavTransferStatus.SUCCESS : WebDavTransferStatus.FAILED;
+            }
+        }
+        return downloadSequential(target);
+    }
+
+    /**
+     * 单连接可续传下载
+     * @author hubz
+     * @date 2026/10/18 18:12
+     *
+     * @param target 本地目标文件
+     * @return com.hubz.common.util.webdav.WebDavTransferStatus 下载结果
+     **/
+    private WebDavTransferStatus downloadSequential(Path target) throws IOException, InterruptedException {
+        Path part = target.resolveSibling(target.getFileName() + PART_SUFFIX);
+        Path partEtag = target.resolveSibling(target.getFileName() + PART_ETAG_SUFFIX);
+        for (int attempt = 1; attempt <= maxRetries; attempt++) {
+            long offset = resumeOffset(part, partEtag);
+            HttpResponse httpResponse = null;
+            try {
+                httpResponse = client.request(WebDavConstant.HTTP_METHOD_GET, url, requestHeaders(offset, partEtag));
+                int statusCode = httpResponse.getStatusLine().getStatusCode();
+                if (WebDavConstant.NOT_MODIFIED.equals(statusCode)) {
+                    StaticLog.debug("【{}】未修改，无需下载", url);
+                    return WebDavTransferStatus.NOT_MODIFIED;
+                }
+                if (WebDavConstant.PRECONDITION_FAILED.equals(statusCode)) {
+                    StaticLog.warn("下载【{}】的前置条件不满足", url);
+                    return WebDavTransferStatus.PRECONDITION_FAILED;
+                }
+                if (WebDavConstant.RANGE_NOT_SATISFIABLE.equals(statusCode) && offset > 0
+                        && offset == totalLength(httpResponse)) {
+                    // 临时文件已经完整
+                    return complete(part, partEtag, target);
+                }
+                if (WebDavConstant.PARTIAL_CONTENT.equals(statusCode) && rangeStart(httpResponse) == offset) {
+                    StaticLog.info("从【{}】字节处继续下载【{}】", offset, url);
+                } else if (WebDavConstant.REQUEST_OK.equals(statusCode)) {
+                    // 首次下载或远端已变化（If-Range 不匹配），从头开始并记录当前版本
+                    offset = 0;
+                    savePartValidator(partEtag, httpResponse);
+                } else if (WebDavConstant.RANGE_NOT_SATISFIABLE.equals(statusCode)) {
+                    Files.deleteIfExists(part);
+                    continue;
+                } else {
+                    StaticLog.warn("下载【{}】失败：请求响应状态码【{}】", url, statusCode);
+                    return WebDavTransferStatus.FAILED;
+                }
+                long expected = httpResponse.getEntity().getContentLength();
+                long written;
+                try (FileChannel channel = FileChannel.open(part, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                    channel.truncate(offset);
+                    written = transfer(httpResponse.getEntity().getContent(), channel, offset);
+                }
+                if (expected >= 0 && written != expected) {
+                    throw new IOException(StrUtil.format("数据不完整：期望【{}】实际【{}】", expected, written));
+                }
+                return complete(part, partEtag, target);
+            } catch (IOException e) {
+                StaticLog.warn("下载【{}】中断（第{}次）：{}", url, attempt, e.getMessage());
+                if (attempt == maxRetries) {
+                    throw e;
+                }
+                Thread.sleep(WebDavConstant.DOWNLOAD_RETRY_INTERVAL_MILLIS * attempt);
+            } finally {
+                if (null != httpResponse) {
+                    EntityUtils.consumeQuietly(httpResponse.getEntity());
+                }
+            }
+        }
+        return WebDavTransferStatus.FAILED;
+    }
+
+    /**
+     * 可以续传的位置：临时文件有对应的远端版本记录时为其大小，否则删除临时文件并从头下载
+     * @author hubz
+     * @date 2026/10/19 03:20
+     *
+     * @param part 临时文件
+     * @param partEtag 记录临时文件对应远端版本的文件
+     * @return long 续传位置
+     **/
+    private long resumeOffset(Path part, Path partEtag) throws IOException {
+        if (!Files.exists(part)) {
+            return 0L;
+        }
+        if (StrUtil.isBlank(readPartValidator(partEtag))) {
+            StaticLog.info("【{}】的临时文件没有记录远端版本，无法确认远端未变化，从头下载", url);
+            Files.deleteIfExists(part);
+            return 0L;
+        }
+        return Files.size(part);
+    }
+
+    /**
+     * 组装单连接下载的请求头：条件请求头，以及续传时的 Range 和 If-Range
+     * @author hubz
+     * @date 2026/10/18 21:20
+     *
+     * @param offset 已下载的字节数，大于0时临时文件一定有对应的远端版本记录
+     * @param partEtag 记录临时文件对应远端版本的文件
+     * @return org.apache.http.Header[]
+     **/
+    private Header[] requestHeaders(long offset, Path partEtag) throws IOException {
+        List<Header> headers = new ArrayList<>(Arrays.asList(conditions));
+        if (offset > 0) {
+            headers.add(rangeHeader(offset, -1));
+            headers.add(new BasicHeader(HttpHeaders.IF_RANGE, readPartValidator(partEtag)));
+        }
+        return headers.toArray(new Header[0]);
+    }
+
+    private static String readPartValidator(Path partEtag) throws IOException {
+        return Files.isRegularFile(partEtag) ? Files.readString(partEtag, StandardCharsets.UTF_8).trim() : null;
+    }
+
+    /**
+     * 记录响应的强 ETag，没有时记录 Last-Modified；弱 ETag 不能用于 If-Range。都没有时该临时文件不能续传
+     **/
+    private static void savePartValidator(Path partEtag, HttpResponse httpResponse) throws IOException {
+        Header etag = httpResponse.getFirstHeader(HttpHeaders.ETAG);
+        Header lastModified = httpResponse.getFirstHeader(HttpHeaders.LAST_MODIFIED);
+        if (null != etag && StrUtil.isNotBlank(etag.getValue()) && !etag.getValue().startsWith(WEAK_ETAG_PREFIX)) {
+            Files.writeString(partEtag, etag.getValue(), StandardCharsets.UTF_8);
+        } else if (null != lastModified && StrUtil.isNotBlank(lastModified.getValue())) {
+            Files.writeString(partEtag, lastModified.getValue(), StandardCharsets.UTF_8);
+        } else {
+            Files.deleteIfExists(partEtag);
+        }
+    }
+
+    private static WebDavTransferStatus complete(Path part, Path partEtag, Path target) throws IOException {
+        moveAtomically(part, target);
+        Files.deleteIfExists(partEtag);
+        return WebDavTransferStatus.SUCCESS;
+    }
+
+    /**
+     * 分区间并行下载
+     * @author hubz
+     * @date 2026/10/18 18:20
+     *
+     * @param target 本地目标文件
+     * @param contentLength 文件大小
+     * @param segments 区间数
+     * @param etag 文件的强 ETag，每个区间通过 If-Match 确认下载的是同一版本，可为空
+     * @return boolean 下载结果
+     **/
+    private boolean downloadSegments(Path target, long contentLength, int segments, String etag) throws IOException, InterruptedException {
+        Path part = target.resolveSibling(target.getFileName() + SEGMENT_PART_SUFFIX);
+        long segmentSize = (contentLength + segments - 1) / segments;
+        StaticLog.info("分【{}】段并行下载【{}】：文件大小【{}】", segments, url, contentLength);
+        ExecutorService executor = Executors.newFixedThreadPool(segments, ThreadUtil.newNamedThreadFactory("webdav-download-", true));
+        boolean success = false;
+        try (FileChannel channel = FileChannel.open(part, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            // transferFrom 不能写入超出文件大小的位置，先将临时文件扩展到完整大小
+            channel.write(ByteBuffer.wrap(new byte[1]), contentLength - 1);
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (long start = 0; start < contentLength; start += segmentSize) {
+                long segmentStart = start;
+                long segmentEnd = Math.min(contentLength, start + segmentSize) - 1;
+                futures.add(executor.submit(() -> downloadSegment(channel, segmentStart, segmentEnd, etag)));
+            }
+            success = true;
+            for (Future<Boolean> future : futures) {
+                success &= future.get();
+            }
+        } catch (ExecutionException e) {
+            StaticLog.error(e.getCause(), "分段下载【{}】失败", url);
+            success = false;
+        } finally {
+            executor.shutdownNow();
+            if (!success) {
+                Files.deleteIfExists(part);
+            }
+        }
+        return success && moveAtomically(part, target);
+    }
+
+    /**
+     * 下载单个区间，失败时从已写入的位置重试
+     * @author hubz
+     * @date 2026/10/18 18:26
+     *
+     * @param channel 临时文件通道
+     * @param start 区间起始位置
+     * @param end 区间结束位置（包含）
+     * @param etag 文件的强 ETag，可为空
+     * @return boolean 下载结果
+     **/
+    private boolean downloadSegment(FileChannel channel, long start, long end, String etag) throws IOException, InterruptedException {
+        long position = start;
+        for (int attempt = 1; attempt <= maxRetries; attempt++) {
+            HttpResponse httpResponse = null;
+            try {
+                Header range = rangeHeader(position, end);
+                httpResponse = null == etag
+                        ? client.request(WebDavConstant.HTTP_METHOD_GET, url, range)
+                        : client.request(WebDavConstant.HTTP_METHOD_GET, url, range, new BasicHeader(HttpHeaders.IF_MATCH, etag));
+                int statusCode = httpResponse.getStatusLine().getStatusCode();
+                if (!WebDavConstant.PARTIAL_CONTENT.equals(statusCode) || rangeStart(httpResponse) != position) {
+                    StaticLog.warn("下载区间【{}-{}】失败：请求响应状态码【{}】", position, end, statusCode);
+                    return false;
+                }
+                // 逐块写入并记录位置，中断后从已写入的位置重试
+                try (ReadableByteChannel source = Channels.newChannel(httpResponse.getEntity().getContent())) {
+                    long transferred;
+                    while ((transferred = channel.transferFrom(source, position, TRANSFER_CHUNK)) > 0) {
+                        position += transferred;
+                    }
+                }
+                if (position != end + 1) {
+                    throw new IOException(StrUtil.format("区间数据不完整：期望结束于【{}】实际【{}】", end + 1, position));
+                }
+                return true;
+            } catch (IOException e) {
+                StaticLog.warn("下载区间【{}-{}】中断（第{}次）：{}", position, end, attempt, e.getMessage());
+                if (attempt == maxRetries) {
+                    throw e;
+                }
+                Thread.sleep(WebDavConstant.DOWNLOAD_RETRY_INTERVAL_MILLIS * attempt);
+            } finally {
+                if (null != httpResponse) {
+                    EntityUtils.consumeQuietly(httpResponse.getEntity());
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 通过携带条件请求头的 HEAD 请求获取文件大小、ETag，并判断是否支持区间请求
+     * @author hubz
+     * @date 2026/10/18 18:30
+     *
+     * @return com.hubz.common.util.webdav.WebDavDownloader.Probe 不支持区间请求时文件大小为 -1
+     **/
+    private Probe probe() {
+        Probe probe = new Probe();
+        HttpResponse httpResponse = null;
+        try {
+            httpResponse = client.request(WebDavConstant.HTTP_METHOD_HEAD, url, conditions);
+            probe.statusCode = httpResponse.getStatusLine().getStatusCode();
+            Header acceptRanges = httpResponse.getFirstHeader(HttpHeaders.ACCEPT_RANGES);
+            Header contentLength = httpResponse.getFirstHeader(HttpHeaders.CONTENT_LENGTH);
+            Header etag = httpResponse.getFirstHeader(HttpHeaders.ETAG);
+            if (null != etag && StrUtil.isNotBlank(etag.getValue()) && !etag.getValue().startsWith(WEAK_ETAG_PREFIX)) {
+                probe.etag = etag.getValue();
+            }
+            if (WebDavConstant.REQUEST_OK.equals(probe.statusCode)
+                    && null != acceptRanges && RANGE_UNIT.equalsIgnoreCase(acceptRanges.getValue())
+                    && null != contentLength && NumberUtil.isLong(contentLength.getValue())) {
+                probe.contentLength = Long.parseLong(contentLength.getValue());
+            }
+        } catch (IOException e) {
+            StaticLog.warn("获取【{}】文件大小失败：{}", url, e.getMessage());
+        } finally {
+            if (null != httpResponse) {
+                EntityUtils.consumeQuietly(httpResponse.getEntity());
+            }
+        }
+        return probe;
+    }
+
+    /**
+     * 将输入流写入文件通道的指定位置
+     * @author hubz
+     * @date 2026/10/18 18:33
+     *
+     * @param inputStream 输入流
+     * @param channel 文件通道
+     * @param position 写入位置
+     * @return long 写入的字节数
+     **/
+    private static long transfer(InputStream inputStream, FileChannel channel, long position) throws IOException {
+        long written = 0;
+        try (ReadableByteChannel source = Channels.newChannel(inputStream)) {
+            long transferred;
+            while ((transferred = channel.transferFrom(source, position + written, TRANSFER_CHUNK)) > 0) {
+                written += transferred;
+            }
+        }
+        return written;
+    }
+
+    private static Header rangeHeader(long start, long end) {
+        return new BasicHeader(HttpHeaders.RANGE, RANGE_UNIT + "=" + start + "-" + (end >= 0 ? end : ""));
+    }
+
+    /**
+     * 解析 Content-Range 的起始位置，格式：bytes start-end/total
+     **/
+    private static long rangeStart(HttpResponse httpResponse) {
+        Header header = httpResponse.getFirstHeader(HttpHeaders.CONTENT_RANGE);
+        if (null == header) {
+            return -1;
+        }
+        String start = StrUtil.subBetween(header.getValue(), " ", "-");
+        return NumberUtil.isLong(StrUtil.trim(start)) ? Long.parseLong(start.trim()) : -1;
+    }
+
+    /**
+     * 解析 Content-Range 中的文件总大小，格式：bytes start-end/total 或 bytes &#42;/total
+     **/
+    private static long totalLength(HttpResponse httpResponse) {
+        Header header = httpResponse.getFirstHeader(HttpHeaders.CONTENT_RANGE);
+        if (null == header) {
+            return -1;
+        }
+        String total = StrUtil.subAfter(header.getValue(), "/", true);
+        return NumberUtil.isLong(StrUtil.trim(total)) ? Long.parseLong(total.trim()) : -1;
+    }
+
+    /**
+     * 原子替换目标文件
+     **/
+    private static boolean moveAtomically(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return true;
+    }
+
+    /**
+     * HEAD 请求的结果
+     */
+    private static final class Probe {
+
+        private int statusCode = -1;
+
+        private long contentLength = -1;
+
+        private String etag;
+    }
+}
@@ -35,5 +35,20 @@ public class WebDavPathResponse {
      */
     private String contentType;
 
+    /**
+     * 是否为目录（resourcetype 中包含 collection）
+     */
+    private Boolean collection;
+
+    /**
+     * 实体标签（ETag）
+     */
+    private String etag;
+
+    /**
+     * 文件大小（字节），目录为 null
+     */
+    private Long contentLength;
+
 
 }
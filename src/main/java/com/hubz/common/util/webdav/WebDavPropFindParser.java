@@ -0,0 +1,209 @@
+package com.hubz.common.util.webdav;
+
+import cn.hutool.core.date.DatePattern;
+import cn.hutool.core.date.DateUtil;
+import cn.hutool.core.util.NumberUtil;
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.log.StaticLog;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * PROPFIND 响应（multistatus）的流式解析器
+ * <p>
+ * 基于 StAX 逐个读取 {@code <response>} 元素，按 {@code DAV:} 命名空间识别属性，不依赖服务端使用的前缀。
+ * 同一时刻只持有一个条目，内存占用与目录大小无关。
+ * @author hubz
+ * @date 2026/10/18 14:02
+ **/
+public class WebDavPropFindParser implements Iterator<WebDavPathResponse>, Closeable {
+
+    /**
+     * WebDav 命名空间
+     */
+    public static final String DAV_NAMESPACE = "DAV:";
+
+    private static final String RESPONSE = "response";
+    private static final String HREF = "href";
+    private static final String DISPLAY_NAME = "displayname";
+    private static final String LAST_MODIFIED = "getlastmodified";
+    private static final String CONTENT_TYPE = "getcontenttype";
+    private static final String COLLECTION = "collection";
+    private static final String ETAG = "getetag";
+    private static final String CONTENT_LENGTH = "getcontentlength";
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = createXmlInputFactory();
+
+    private final InputStream inputStream;
+
+    private final XMLStreamReader reader;
+
+    /**
+     * 需要从 href 中去除的服务端路径前缀
+     */
+    private final String hrefPrefix;
+
+    private WebDavPathResponse next;
+
+    private boolean finished;
+
+    /**
+     * @param inputStream PROPFIND 响应体
+     * @param hrefPrefix 需要从 href 中去除的服务端路径前缀，可为空
+     */
+    public WebDavPropFindParser(InputStream inputStream, String hrefPrefix) throws XMLStreamException {
+        this.inputStream = inputStream;
+        this.reader = XML_INPUT_FACTORY.createXMLStreamReader(inputStream);
+        this.hrefPrefix = hrefPrefix;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (null == next && !finished) {
+            try {
+                next = readNext();
+            } catch (XMLStreamException e) {
+                throw new IllegalStateException("PROPFIND 响应解析失败", e);
+            }
+            finished = null == next;
+        }
+        return null != next;
+    }
+
+    @Override
+    public WebDavPathResponse next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        WebDavPathResponse current = next;
+        next = null;
+        return current;
+    }
+
+    @Override
+    public void close() throws IOException {
+        finished = true;
+        try {
+            reader.close();
+        } catch (XMLStreamException e) {
+            StaticLog.warn("关闭XML读取器失败：{}", e.getMessage());
+        } finally {
+            inputStream.close();
+        }
+    }
+
+    /**
+     * 读取下一个 response 元素
+     * @author hubz
+     * @date 2026/10/18 14:10
+     *
+     * @return com.hubz.common.util.webdav.WebDavPathResponse 没有更多元素时返回 null
+     **/
+    private WebDavPathResponse readNext() throws XMLStreamException {
+        while (reader.hasNext()) {
+            if (reader.next() == XMLStreamConstants.START_ELEMENT && isDavElement(RESPONSE)) {
+                return readResponse();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 读取当前 response 元素直至其结束标签
+     * @author hubz
+     * @date 2026/10/18 14:12
+     *
+     * @return com.hubz.common.util.webdav.WebDavPathResponse
+     **/
+    private WebDavPathResponse readResponse() throws XMLStreamException {
+        String href = null;
+        String displayName = null;
+        String lastModifiedStr = null;
+        String contentType = null;
+        String etag = null;
+        String contentLength = null;
+        boolean collection = false;
+        int depth = 1;
+        while (depth > 0 && reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+                continue;
+            }
+            if (event != XMLStreamConstants.START_ELEMENT) {
+                continue;
+            }
+            if (!DAV_NAMESPACE.equals(reader.getNamespaceURI())) {
+                depth++;
+                continue;
+            }
+            // getElementText 会消费到对应的结束标签，因此不增加深度
+            switch (reader.getLocalName()) {
+                case HREF:
+                    href = firstNotBlank(href, reader.getElementText());
+                    break;
+                case DISPLAY_NAME:
+                    displayName = firstNotBlank(displayName, reader.getElementText());
+                    break;
+                case LAST_MODIFIED:
+                    lastModifiedStr = firstNotBlank(lastModifiedStr, reader.getElementText());
+                    break;
+                case CONTENT_TYPE:
+                    contentType = firstNotBlank(contentType, reader.getElementText());
+                    break;
+                case ETAG:
+                    etag = firstNotBlank(etag, reader.getElementText());
+                    break;
+                case CONTENT_LENGTH:
+                    contentLength = firstNotBlank(contentLength, reader.getElementText());
+                    break;
+                case COLLECTION:
+                    collection = true;
+                    depth++;
+                    break;
+                default:
+                    depth++;
+            }
+        }
+        href = StrUtil.nullToEmpty(href).trim();
+        if (StrUtil.isNotEmpty(hrefPrefix)) {
+            href = href.replace(hrefPrefix, "");
+        }
+        return WebDavPathResponse.builder()
+                .href(href)
+                .displayName(StrUtil.nullToEmpty(displayName))
+                .lastModifiedStr(StrUtil.nullToEmpty(lastModifiedStr))
+                .lastModified(StrUtil.isBlank(lastModifiedStr) ? null
+                        : DateUtil.parse(lastModifiedStr.trim(), DatePattern.HTTP_DATETIME_FORMAT).getTime())
+                .contentType(StrUtil.nullToEmpty(contentType))
+                .collection(collection)
+                .etag(StrUtil.isBlank(etag) ? null : etag.trim())
+                .contentLength(NumberUtil.isLong(StrUtil.trim(contentLength)) ? Long.valueOf(contentLength.trim()) : null)
+                .build();
+    }
+
+    private boolean isDavElement(String localName) {
+        return DAV_NAMESPACE.equals(reader.getNamespaceURI()) && localName.equals(reader.getLocalName());
+    }
+
+    private static String firstNotBlank(String current, String value) {
+        return StrUtil.isNotBlank(current) ? current : value;
+    }
+
+    private static XMLInputFactory createXmlInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        // 禁止 DTD 和外部实体，防止 XXE
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+}
@@ -0,0 +1,23 @@
+package com.hubz.common.util.webdav;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * WebDav文件内容的流式处理逻辑
+ * @author hubz
+ * @date 2026/10/18 17:30
+ **/
+@FunctionalInterface
+public interface WebDavStreamHandler<T> {
+
+    /**
+     * 处理文件内容，方法返回后输入流及其连接会被释放，不能在方法外继续使用
+     * @author hubz
+     * @date 2026/10/18 17:31
+     *
+     * @param inputStream 文件内容输入流
+     * @return T 处理结果
+     **/
+    T handle(InputStream inputStream) throws IOException;
+}
@@ -0,0 +1,463 @@
+package com.hubz.common.util.webdav;
+
+import cn.hutool.core.thread.ThreadUtil;
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.log.StaticLog;
+import com.hubz.common.util.HashUtil;
+import lombok.AllArgsConstructor;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 本地目录与WebDav目录的增量双向同步
+ * <p>
+ * 一次本地遍历加一次远端递归列表得到两侧当前状态，与清单中上次同步完成时的状态比较，
+ * 只传输发生变化的文件：本地大小/修改时间变化（修改时间变化但大小不变时再比较内容hash），
+ * 远端 ETag 变化（没有 ETag 时比较修改时间和大小）。两侧都变化时以修改时间较新的一侧为准。
+ * 清单中没有记录的文件两侧都存在时，大小相同则比较内容，内容不同且无法判断哪一侧较新时作为冲突报告，不记录到清单。
+ * @author hubz
+ * @date 2026/10/18 16:30
+ **/
+final class WebDavSyncEngine {
+
+    static final String ACTION_UPLOAD = "UPLOAD";
+    static final String ACTION_DOWNLOAD = "DOWNLOAD";
+    static final String ACTION_DELETE_LOCAL = "DELETE_LOCAL";
+    static final String ACTION_DELETE_REMOTE = "DELETE_REMOTE";
+    static final String ACTION_CONFLICT = "CONFLICT";
+
+    /**
+     * 首次同步时两侧大小相同，需要比较内容后才能确定操作
+     */
+    private static final String ACTION_COMPARE = "COMPARE";
+
+    /**
+     * 比较两侧修改时间时允许的误差，WebDav 的修改时间只精确到秒
+     */
+    private static final long MODIFIED_TOLERANCE_MILLIS = 2000L;
+
+    private final WebDavClient client;
+
+    private final String basePath;
+
+    private final Path localDir;
+
+    private final String remoteDir;
+
+    private final boolean deleteAble;
+
+    private final int workerCount;
+
+    WebDavSyncEngine(WebDavClient client, String basePath, String localDir, String remoteDir, boolean deleteAble, int workerCount) {
+        if (workerCount < 1) {
+            throw new IllegalArgumentException("workerCount must be positive");
+        }
+        this.client = client;
+        this.basePath = basePath;
+        this.localDir = Paths.get(localDir).toAbsolutePath().normalize();
+        this.remoteDir = StrUtil.strip(remoteDir.replace("\\", "/"), "/");
+        this.deleteAble = deleteAble;
+        this.workerCount = workerCount;
+    }
+
+    /**
+     * 执行同步
+     * @author hubz
+     * @date 2026/10/18 16:35
+     *
+     * @param manifestPath 清单文件路径
+     * @return com.hubz.common.util.webdav.WebDavBatchReport 每个被同步文件的结果
+     **/
+    WebDavBatchReport sync(Path manifestPath) {
+        WebDavBatchReport report = new WebDavBatchReport();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(WebDavConstant.DEFAULT_UPLOAD_QUEUE_CAPACITY),
+                ThreadUtil.newNamedThreadFactory("webdav-sync-", true),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        try {
+            WebDavSyncManifest manifest = WebDavSyncManifest.load(manifestPath);
+            Map<String, LocalState> localStates = scanLocal();
+            // 远端列表必须完整，获取失败时中止同步，避免把未列出的文件当作远端已删除
+            Map<String, WebDavPathResponse> remoteStates = scanRemote(manifest.getEntries().isEmpty());
+            Set<String> paths = new HashSet<>(localStates.keySet());
+            paths.addAll(remoteStates.keySet());
+            paths.addAll(manifest.getEntries().keySet());
+            StaticLog.info("开始同步【{}】与WebDav【{}/{}】：本地文件【{}】远端文件【{}】",
+                    localDir, basePath, remoteDir, localStates.size(), remoteStates.size());
+            for (String path : paths) {
+                LocalState local = localStates.get(path);
+                WebDavPathResponse remote = remoteStates.get(path);
+                WebDavSyncManifest.Entry entry = manifest.get(path);
+                String action = decide(path, local, remote, entry);
+                if (null == action) {
+                    if (null == local && null == remote) {
+                        manifest.remove(path);
+                    } else if (null != local && null != remote) {
+                        // 两侧一致，记录最新状态避免下次重复比较hash
+                        manifest.put(path, toEntry(local, remote, null == entry ? null : entry.getHash()));
+                    }
+                    continue;
+                }
+                executor.execute(() -> execute(report, manifest, path, action, local, remote));
+            }
+            executor.shutdown();
+            awaitTermination(executor);
+            manifest.save(manifestPath);
+            report.setCompleted(true);
+        } catch (Exception e) {
+            StaticLog.error(e, "同步【{}】与WebDav【{}/{}】失败", localDir, basePath, remoteDir);
+        } finally {
+            executor.shutdownNow();
+        }
+        StaticLog.info("同步【{}】完成：成功【{}】失败【{}】", localDir, report.getSuccessCount(), report.getFailCount());
+        return report;
+    }
+
+    /**
+     * 判断单个文件需要执行的操作
+     * @author hubz
+     * @date 2026/10/18 16:42
+     *
+     * @param path 相对路径
+     * @param local 本地状态
+     * @param remote 远端状态
+     * @param entry 上次同步的状态
+     * @return java.lang.String 需要执行的操作，不需要处理时返回 null
+     **/
+    private String decide(String path, LocalState local, WebDavPathResponse remote, WebDavSyncManifest.Entry entry) {
+        if (null == local && null == remote) {
+            return null;
+        }
+        if (null == entry) {
+            if (null == local) {
+                return ACTION_DOWNLOAD;
+            }
+            if (null == remote) {
+                return ACTION_UPLOAD;
+            }
+            // 首次同步且两侧大小一致时还需比较内容，大小一致不代表是同一版本
+            if (Objects.equals(local.size, remote.getContentLength())) {
+                return ACTION_COMPARE;
+            }
+            return toActionOrConflict(compareVersion(local, remote));
+        }
+        boolean localChanged = null != local && localChanged(path, local, entry);
+        boolean remoteChanged = null != remote && remoteChanged(remote, entry);
+        if (null == remote) {
+            // 远端已被删除
+            return deleteAble && !localChanged ? ACTION_DELETE_LOCAL : ACTION_UPLOAD;
+        }
+        if (null == local) {
+            // 本地已被删除
+            return deleteAble && !remoteChanged ? ACTION_DELETE_REMOTE : ACTION_DOWNLOAD;
+        }
+        if (localChanged && remoteChanged) {
+            StaticLog.warn("文件【{}】在本地和WebDav上均有修改，以修改时间较新的一侧为准", path);
+            return toActionOrConflict(compareVersion(local, remote));
+        }
+        if (localChanged) {
+            return ACTION_UPLOAD;
+        }
+        return remoteChanged ? ACTION_DOWNLOAD : null;
+    }
+
+    private boolean localChanged(String path, LocalState local, WebDavSyncManifest.Entry entry) {
+        if (!Objects.equals(local.size, entry.getLocalSize())) {
+            return true;
+        }
+        if (Objects.equals(local.modified, entry.getLocalModified())) {
+            return false;
+        }
+        // 大小相同但修改时间变化，比较内容hash
+        if (StrUtil.isBlank(entry.getHash())) {
+            return true;
+        }
+        try {
+            local.hash = HashUtil.getFileHashCode(localDir.resolve(path));
+            return !entry.getHash().equals(local.hash);
+        } catch (IOException e) {
+            StaticLog.warn("计算文件【{}】hash失败：{}", path, e.getMessage());
+            return true;
+        }
+    }
+
+    private static boolean remoteChanged(WebDavPathResponse remote, WebDavSyncManifest.Entry entry) {
+        if (StrUtil.isNotBlank(remote.getEtag()) && StrUtil.isNotBlank(entry.getRemoteEtag())) {
+            return !remote.getEtag().equals(entry.getRemoteEtag());
+        }
+        return !Objects.equals(remote.getLastModified(), entry.getRemoteModified())
+                || !Objects.equals(remote.getContentLength(), entry.getRemoteSize());
+    }
+
+    /**
+     * 比较本地与远端哪一侧的版本较新
+     * @author hubz
+     * @date 2026/10/18 16:48
+     *
+     * @param local 本地状态
+     * @param remote 远端状态
+     * @return java.lang.Integer {@link WebDavConstant#SAME_VERSION}/{@link WebDavConstant#LOCAL_IS_LAST}/{@link WebDavConstant#WEBDAV_IS_LAST}
+     **/
+    static Integer compareVersion(LocalState local, WebDavPathResponse remote) {
+        long remoteModified = null == remote.getLastModified() ? 0L : remote.getLastModified();
+        if (local.modified > remoteModified + MODIFIED_TOLERANCE_MILLIS) {
+            return WebDavConstant.LOCAL_IS_LAST;
+        }
+        if (remoteModified > local.modified + MODIFIED_TOLERANCE_MILLIS) {
+            return WebDavConstant.WEBDAV_IS_LAST;
+        }
+        return WebDavConstant.SAME_VERSION;
+    }
+
+    /**
+     * 两侧内容不同时按修改时间决定同步方向，修改时间相同无法判断时作为冲突
+     **/
+    private static String toActionOrConflict(Integer version) {
+        if (WebDavConstant.LOCAL_IS_LAST.equals(version)) {
+            return ACTION_UPLOAD;
+        }
+        if (WebDavConstant.WEBDAV_IS_LAST.equals(version)) {
+            return ACTION_DOWNLOAD;
+        }
+        return ACTION_CONFLICT;
+    }
+
+    /**
+     * 首次同步时比较两侧内容，相同时记录到清单
+     * @author hubz
+     * @date 2026/10/19 04:25
+     *
+     * @param manifest 清单
+     * @param path 相对路径
+     * @param local 本地状态
+     * @param remote 远端状态
+     * @return java.lang.String 需要执行的操作，内容相同时返回 null
+     **/
+    private String compareContent(WebDavSyncManifest manifest, String path, LocalState local, WebDavPathResponse remote)
+            throws IOException {
+        String remoteFile = remoteDir + "/" + path;
+        local.hash = HashUtil.getFileHashCode(localDir.resolve(path));
+        String remoteHash = client.getFileBody(basePath, StrUtil.subBefore(remoteFile, "/", true),
+                StrUtil.subAfter(remoteFile, "/", true), expectRemote(remote), HashUtil::getStreamHashCode);
+        if (null == remoteHash) {
+            throw new IOException("读取WebDav文件内容失败，无法比较两侧内容");
+        }
+        if (local.hash.equals(remoteHash)) {
+            manifest.put(path, toEntry(local, remote, null));
+            return null;
+        }
+        return toActionOrConflict(compareVersion(local, remote));
+    }
+
+    /**
+     * 执行单个文件的同步操作并更新清单
+     * @author hubz
+     * @date 2026/10/18 16:52
+     **/
+    private void execute(WebDavBatchReport report, WebDavSyncManifest manifest, String path, String decided,
+                         LocalState local, WebDavPathResponse remote) {
+        long start = System.currentTimeMillis();
+        Path localFile = localDir.resolve(path);
+        String remoteFile = remoteDir + "/" + path;
+        String action = ACTION_COMPARE.equals(decided) ? ACTION_CONFLICT : decided;
+        String message = null;
+        boolean success = false;
+        try {
+            if (ACTION_COMPARE.equals(decided)) {
+                action = compareContent(manifest, path, local, remote);
+                if (null == action) {
+                    return;
+                }
+            }
+            switch (action) {
+                case ACTION_UPLOAD:
+                    String remoteParent = StrUtil.subBefore(remoteFile, "/", true);
+                    // 只覆盖遍历时看到的远端版本，期间被其他客户端修改或创建则放弃，留待下次同步处理
+                    WebDavTransferStatus uploadStatus = client.uploadFile(basePath, localFile.toString(), remoteParent,
+                            expectRemote(remote));
+                    success = WebDavTransferStatus.SUCCESS == uploadStatus;
+                    if (WebDavTransferStatus.PRECONDITION_FAILED == uploadStatus) {
+                        message = "远端文件已被其他客户端修改";
+                    }
+                    if (success) {
+                        WebDavPathResponse uploaded = client.getWebDavPathProperties(basePath, remoteFile);
+                        if (null == uploaded) {
+                            // 不知道远端的新状态，不能记录；去掉旧记录，下次同步按首次同步比较两侧内容
+                            manifest.remove(path);
+                            success = false;
+                            message = "上传完成但获取远端文件属性失败，下次同步时重新比较";
+                        } else {
+                            manifest.put(path, toEntry(readLocal(localFile, true), uploaded, null));
+                        }
+                    }
+                    break;
+                case ACTION_DOWNLOAD:
+                    WebDavTransferStatus downloadStatus = client.downloadFile(basePath, remoteFile, localFile.toString(),
+                            expectRemote(remote));
+                    success = WebDavTransferStatus.SUCCESS == downloadStatus;
+                    if (WebDavTransferStatus.PRECONDITION_FAILED == downloadStatus) {
+                        message = "远端文件已被其他客户端修改";
+                    }
+                    if (success) {
+                        manifest.put(path, toEntry(readLocal(localFile, true), remote, null));
+                    }
+                    break;
+                case ACTION_DELETE_LOCAL:
+                    Files.deleteIfExists(localFile);
+                    manifest.remove(path);
+                    success = true;
+                    break;
+                case ACTION_DELETE_REMOTE:
+                    success = client.deleteFile(basePath, StrUtil.subBefore(remoteFile, "/", true),
+                            StrUtil.subAfter(remoteFile, "/", true));
+                    if (success) {
+                        manifest.remove(path);
+                    }
+                    break;
+                case ACTION_CONFLICT:
+                    // 不记录到清单，处理前每次同步都会重新报告
+                    message = "本地和WebDav上的文件内容不同且无法判断哪一侧较新，需手动处理";
+                    break;
+                default:
+                    message = "未知的同步操作";
+            }
+            if (!success && null == message) {
+                message = "同步失败";
+            }
+        } catch (Exception e) {
+            success = false;
+            message = e.getMessage();
+        }
+        if (!success) {
+            StaticLog.error("同步文件【{}】失败：操作【{}】{}", path, action, message);
+        }
+        report.add(WebDavBatchItemResult.builder()
+                .action(action)
+                .source(ACTION_DOWNLOAD.equals(action) || ACTION_DELETE_REMOTE.equals(action) ? remoteFile : localFile.toString())
+                .target(ACTION_DOWNLOAD.equals(action) || ACTION_DELETE_REMOTE.equals(action) ? localFile.toString() : remoteFile)
+                .success(success)
+                .message(success ? null : message)
+                .costMillis(System.currentTimeMillis() - start)
+                .build());
+    }
+
+    /**
+     * 要求远端仍是遍历时看到的版本：存在时匹配其 ETag，不存在时要求仍不存在
+     * @author hubz
+     * @date 2026/10/18 21:40
+     *
+     * @param remote 遍历时看到的远端状态
+     * @return com.hubz.common.util.webdav.WebDavConditions 远端没有提供 ETag 时返回 null
+     **/
+    private static WebDavConditions expectRemote(WebDavPathResponse remote) {
+        if (null == remote) {
+            return WebDavConditions.createOnly();
+        }
+        return StrUtil.isBlank(remote.getEtag()) ? null : WebDavConditions.ifMatch(remote.getEtag());
+    }
+
+    /**
+     * 遍历本地目录
+     * @author hubz
+     * @date 2026/10/18 16:58
+     *
+     * @return java.util.Map<java.lang.String, com.hubz.common.util.webdav.WebDavSyncEngine.LocalState>
+     **/
+    private Map<String, LocalState> scanLocal() throws IOException {
+        Map<String, LocalState> states = new HashMap<>();
+        if (!Files.isDirectory(localDir)) {
+            Files.createDirectories(localDir);
+            return states;
+        }
+        // 本地列表同样必须完整，读取失败的文件不能被当作本地已删除
+        try (Stream<Path> paths = Files.walk(localDir)) {
+            paths.filter(Files::isRegularFile).forEach(file -> {
+                try {
+                    states.put(localDir.relativize(file).toString().replace("\\", "/"), readLocal(file, false));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw new IOException(StrUtil.format("遍历本地目录【{}】失败，已中止同步", localDir), e.getCause());
+        }
+        return states;
+    }
+
+    /**
+     * 遍历远端目录，只返回完整的列表
+     * @author hubz
+     * @date 2026/10/18 17:00
+     *
+     * @param allowMissing 远端目录不存在时是否视为空目录，清单中有记录时不允许，否则会删除所有本地文件
+     * @return java.util.Map<java.lang.String, com.hubz.common.util.webdav.WebDavPathResponse>
+     * @throws IOException 列表获取失败或不完整
+     **/
+    private Map<String, WebDavPathResponse> scanRemote(boolean allowMissing) throws IOException {
+        Map<String, WebDavPathResponse> states = new HashMap<>();
+        String remoteBase = basePath + "/" + remoteDir;
+        try (Stream<WebDavPathResponse> items = client.listRecursive(basePath, remoteDir)) {
+            items.filter(item -> !Boolean.TRUE.equals(item.getCollection()))
+                    // 按实际列出的目录计算相对路径，与 hrefPrefix 是否包含根目录无关
+                    .forEach(item -> states.put(StrUtil.removePrefix(client.relativePath(basePath, remoteDir, item.getHref()), "/"), item));
+        } catch (UncheckedIOException e) {
+            if (allowMissing && e.getCause() instanceof FileNotFoundException) {
+                StaticLog.info("WebDav目录【{}】不存在，按空目录同步", remoteBase);
+                return new HashMap<>();
+            }
+            throw new IOException(StrUtil.format("获取WebDav目录【{}】的完整列表失败，已中止同步", remoteBase), e.getCause());
+        } catch (IllegalStateException e) {
+            throw new IOException(StrUtil.format("解析WebDav目录【{}】的列表失败，已中止同步", remoteBase), e);
+        }
+        return states;
+    }
+
+    private static LocalState readLocal(Path file, boolean withHash) throws IOException {
+        LocalState state = new LocalState(Files.size(file), Files.getLastModifiedTime(file).toMillis(), null);
+        if (withHash) {
+            state.hash = HashUtil.getFileHashCode(file);
+        }
+        return state;
+    }
+
+    private static WebDavSyncManifest.Entry toEntry(LocalState local, WebDavPathResponse remote, String hash) {
+        return WebDavSyncManifest.Entry.builder()
+                .localSize(local.size)
+                .localModified(local.modified)
+                .hash(null != local.hash ? local.hash : hash)
+                .remoteEtag(null == remote ? null : remote.getEtag())
+                .remoteModified(null == remote ? null : remote.getLastModified())
+                .remoteSize(null == remote ? null : remote.getContentLength())
+                .build();
+    }
+
+    private static void awaitTermination(ThreadPoolExecutor executor) throws InterruptedException {
+        while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+            StaticLog.debug("等待同步任务完成，剩余【{}】", executor.getQueue().size() + executor.getActiveCount());
+        }
+    }
+
+    /**
+     * 本地文件当前状态
+     */
+    @AllArgsConstructor
+    static final class LocalState {
+        private final long size;
+        private final long modified;
+        private String hash;
+    }
+}
@@ -0,0 +1,177 @@
+package com.hubz.common.util.webdav;
+
+import cn.hutool.core.util.NumberUtil;
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.log.StaticLog;
+import lombok.Builder;
+import lombok.Data;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 本地目录与WebDav上次同步状态的清单
+ * <p>
+ * 每个文件一行，字段以制表符分隔，路径放在最后一列：
+ * {@code 本地大小 本地修改时间 内容hash 远端ETag 远端修改时间 远端大小 相对路径}。
+ * 保存时先写临时文件再替换，避免中断导致清单损坏。
+ * @author hubz
+ * @date 2026/10/18 16:10
+ **/
+public class WebDavSyncManifest {
+
+    private static final String HEADER = "#hubz-webdav-sync-manifest v1";
+    private static final String SEPARATOR = "\t";
+    private static final String NULL_VALUE = "-";
+    private static final int FIELD_COUNT = 7;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * 读取清单，文件不存在时返回空清单
+     * @author hubz
+     * @date 2026/10/18 16:14
+     *
+     * @param manifestPath 清单文件路径
+     * @return com.hubz.common.util.webdav.WebDavSyncManifest
+     **/
+    public static WebDavSyncManifest load(Path manifestPath) throws IOException {
+        WebDavSyncManifest manifest = new WebDavSyncManifest();
+        if (!Files.isRegularFile(manifestPath)) {
+            return manifest;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(manifestPath, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (StrUtil.isBlank(line) || line.startsWith("#")) {
+                    continue;
+                }
+                String[] fields = line.split(SEPARATOR, FIELD_COUNT);
+                if (fields.length != FIELD_COUNT) {
+                    StaticLog.warn("忽略无法识别的清单记录：{}", line);
+                    continue;
+                }
+                manifest.entries.put(fields[6], Entry.builder()
+                        .localSize(toLong(fields[0]))
+                        .localModified(toLong(fields[1]))
+                        .hash(toStr(fields[2]))
+                        .remoteEtag(toStr(fields[3]))
+                        .remoteModified(toLong(fields[4]))
+                        .remoteSize(toLong(fields[5]))
+                        .build());
+            }
+        }
+        return manifest;
+    }
+
+    /**
+     * 保存清单
+     * @author hubz
+     * @date 2026/10/18 16:18
+     *
+     * @param manifestPath 清单文件路径
+     **/
+    public void save(Path manifestPath) throws IOException {
+        Path parent = manifestPath.toAbsolutePath().getParent();
+        if (null != parent) {
+            Files.createDirectories(parent);
+        }
+        Path tempPath = manifestPath.resolveSibling(manifestPath.getFileName() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(tempPath, StandardCharsets.UTF_8)) {
+            writer.write(HEADER);
+            writer.newLine();
+            for (Map.Entry<String, Entry> item : entries.entrySet()) {
+                String path = item.getKey();
+                if (path.contains("\n") || path.contains("\r")) {
+                    StaticLog.warn("路径包含换行符，不写入清单：{}", path);
+                    continue;
+                }
+                Entry entry = item.getValue();
+                writer.write(String.join(SEPARATOR,
+                        fromObj(entry.getLocalSize()), fromObj(entry.getLocalModified()), fromObj(entry.getHash()),
+                        fromObj(entry.getRemoteEtag()), fromObj(entry.getRemoteModified()), fromObj(entry.getRemoteSize()),
+                        path));
+                writer.newLine();
+            }
+        }
+        try {
+            Files.move(tempPath, manifestPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tempPath, manifestPath, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    public Entry get(String path) {
+        return entries.get(path);
+    }
+
+    public void put(String path, Entry entry) {
+        entries.put(path, entry);
+    }
+
+    public void remove(String path) {
+        entries.remove(path);
+    }
+
+    public Map<String, Entry> getEntries() {
+        return entries;
+    }
+
+    private static Long toLong(String value) {
+        return NumberUtil.isLong(value) ? Long.valueOf(value) : null;
+    }
+
+    private static String toStr(String value) {
+        return NULL_VALUE.equals(value) ? null : value;
+    }
+
+    private static String fromObj(Object value) {
+        String str = null == value ? null : value.toString();
+        return StrUtil.isEmpty(str) || str.contains(SEPARATOR) ? NULL_VALUE : str;
+    }
+
+    /**
+     * 单个文件上次同步完成时的状态
+     */
+    @Data
+    @Builder(toBuilder = true)
+    public static class Entry {
+        /**
+         * 本地文件大小
+         */
+        private Long localSize;
+
+        /**
+         * 本地文件修改时间（毫秒）
+         */
+        private Long localModified;
+
+        /**
+         * 本地文件内容的 SHA-256
+         */
+        private String hash;
+
+        /**
+         * 远端ETag
+         */
+        private String remoteEtag;
+
+        /**
+         * 远端修改时间（毫秒）
+         */
+        private Long remoteModified;
+
+        /**
+         * 远端文件大小
+         */
+        private Long remoteSize;
+    }
+}
@@ -0,0 +1,36 @@
+package com.hubz.common.util.webdav;
+
+/**
+ * WebDav请求限流策略
+ * <p>
+ * 每次请求前调用 {@link #acquire()} 获取许可，请求完成后通过 {@link #feedback(int, long)}
+ * 回传响应状态，策略可据此调整发送速率。
+ * @author hubz
+ * @date 2026/10/18 11:02
+ **/
+public interface WebDavThrottle {
+
+    /**
+     * 不限流
+     */
+    WebDavThrottle NONE = () -> {
+    };
+
+    /**
+     * 获取一次请求许可，必要时阻塞等待
+     * @author hubz
+     * @date 2026/10/18 11:03
+     **/
+    void acquire();
+
+    /**
+     * 回传请求结果
+     * @author hubz
+     * @date 2026/10/18 11:04
+     *
+     * @param statusCode 响应状态码
+     * @param retryAfterMillis 服务端 Retry-After 要求等待的毫秒数，没有则为 -1
+     **/
+    default void feedback(int statusCode, long retryAfterMillis) {
+    }
+}
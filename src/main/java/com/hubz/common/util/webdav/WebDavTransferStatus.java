@@ -0,0 +1,29 @@
+package com.hubz.common.util.webdav;
+
+/**
+ * 条件请求的传输结果
+ * @author hubz
+ * @date 2026/10/18 21:10
+ **/
+public enum WebDavTransferStatus {
+
+    /**
+     * 传输完成
+     */
+    SUCCESS,
+
+    /**
+     * 内容未变化（304），只传输了响应头
+     */
+    NOT_MODIFIED,
+
+    /**
+     * 前置条件不满足（412），如远端文件已被其他客户端修改或目标已存在
+     */
+    PRECONDITION_FAILED,
+
+    /**
+     * 传输失败
+     */
+    FAILED
+}
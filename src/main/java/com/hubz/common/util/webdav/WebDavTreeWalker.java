@@ -0,0 +1,177 @@
+package com.hubz.common.util.webdav;
+
+import cn.hutool.core.thread.ThreadUtil;
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.log.StaticLog;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 有限并发的远端目录广度优先遍历
+ * <p>
+ * 每个目录使用一次 Depth: 1 的 PROPFIND，发现的子目录交给工作线程继续遍历。
+ * 结果写入有界队列，由调用方通过 Stream 惰性消费，消费过慢时工作线程阻塞等待。
+ * 任一目录获取失败时，消费到该位置的 Stream 抛出 {@link UncheckedIOException}，不会返回不完整的列表。
+ * @author hubz
+ * @date 2026/10/18 15:30
+ **/
+final class WebDavTreeWalker {
+
+    /**
+     * 遍历结束标记
+     */
+    private static final Object END = new Object();
+
+    private final WebDavClient client;
+
+    private final String basePath;
+
+    private final int concurrency;
+
+    WebDavTreeWalker(WebDavClient client, String basePath, int concurrency) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("concurrency must be positive");
+        }
+        this.client = client;
+        this.basePath = basePath;
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * 遍历指定路径
+     * @author hubz
+     * @date 2026/10/18 15:33
+     *
+     * @param path 指定路径
+     * @return java.util.stream.Stream<com.hubz.common.util.webdav.WebDavPathResponse>
+     **/
+    Stream<WebDavPathResponse> walk(String path) {
+        BlockingQueue<Object> output = new ArrayBlockingQueue<>(WebDavConstant.DEFAULT_WALK_BUFFER);
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency,
+                ThreadUtil.newNamedThreadFactory("webdav-walk-", true));
+        AtomicInteger pending = new AtomicInteger(1);
+        executor.execute(() -> listDir(path, path, output, executor, pending));
+        Iterator<WebDavPathResponse> iterator = new QueueIterator(output);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.NONNULL), false)
+                .onClose(executor::shutdownNow);
+    }
+
+    /**
+     * 列出单个目录，并提交其子目录的遍历任务
+     * @author hubz
+     * @date 2026/10/18 15:36
+     *
+     * @param root 遍历的起始目录
+     * @param dir 目录
+     * @param output 结果队列
+     * @param executor 工作线程
+     * @param pending 尚未完成的目录数量
+     **/
+    private void listDir(String root, String dir, BlockingQueue<Object> output, ExecutorService executor, AtomicInteger pending) {
+        try {
+            client.listChildren(basePath, dir, item -> {
+                put(output, item);
+                if (Boolean.TRUE.equals(item.getCollection())) {
+                    String child = client.relativePath(basePath, "", item.getHref());
+                    pending.incrementAndGet();
+                    try {
+                        executor.execute(() -> listDir(root, child, output, executor, pending));
+                    } catch (RejectedExecutionException e) {
+                        // Stream 已关闭
+                        pending.decrementAndGet();
+                    }
+                }
+            });
+        } catch (Exception e) {
+            StaticLog.error(e, "遍历目录【{}】失败", dir);
+            // 起始目录的异常原样抛出，便于调用方区分路径不存在；子目录失败说明列表不完整
+            IOException error = e instanceof IOException && StrUtil.equals(root, dir)
+                    ? (IOException) e : new IOException(StrUtil.format("遍历目录【{}】失败", dir), e);
+            try {
+                put(output, new Failure(error));
+            } catch (IllegalStateException ignored) {
+                // Stream 已关闭
+            }
+        } finally {
+            if (pending.decrementAndGet() == 0) {
+                put(output, END);
+                executor.shutdown();
+            }
+        }
+    }
+
+    private static void put(BlockingQueue<Object> output, Object item) {
+        try {
+            output.put(item);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("遍历已取消", e);
+        }
+    }
+
+    /**
+     * 目录获取失败的标记
+     */
+    private static final class Failure {
+
+        private final IOException error;
+
+        Failure(IOException error) {
+            this.error = error;
+        }
+    }
+
+    /**
+     * 从结果队列中读取直至结束标记，读到失败标记时抛出异常
+     */
+    private static final class QueueIterator implements Iterator<WebDavPathResponse> {
+
+        private final BlockingQueue<Object> output;
+
+        private Object next;
+
+        QueueIterator(BlockingQueue<Object> output) {
+            this.output = output;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (null == next) {
+                try {
+                    next = output.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    next = new Failure(new InterruptedIOException("遍历被中断"));
+                }
+            }
+            if (next instanceof Failure) {
+                throw new UncheckedIOException(((Failure) next).error);
+            }
+            return END != next;
+        }
+
+        @Override
+        public WebDavPathResponse next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            WebDavPathResponse current = (WebDavPathResponse) next;
+            next = null;
+            return current;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.hubz.common.util.webdav;
+
+import cn.hutool.core.thread.ThreadUtil;
+import cn.hutool.log.StaticLog;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 目录并行上传引擎
+ * <p>
+ * 固定数量的工作线程从有界队列中获取待上传文件，队列满时由遍历线程自行上传（CallerRunsPolicy），
+ * 保证待上传文件数量不会无限堆积。所有请求复用同一个 HttpRequestClient 的连接池，
+ * 工作线程数超过连接池的单路由上限时，多出的线程会在连接池上等待。
+ * @author hubz
+ * @date 2026/10/18 10:20
+ **/
+final class WebDavUploadEngine {
+
+    private final WebDavClient client;
+
+    private final String basePath;
+
+    private final int workerCount;
+
+    private final int queueCapacity;
+
+    WebDavUploadEngine(WebDavClient client, String basePath, int workerCount, int queueCapacity) {
+        if (workerCount < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("workerCount and queueCapacity must be positive");
+        }
+        this.client = client;
+        this.basePath = basePath;
+        this.workerCount = workerCount;
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * 上传文件/目录
+     * @author hubz
+     * @date 2026/10/18 10:24
+     *
+     * @param sourcePath 待上传的文件/目录路径
+     * @param targetPath WebDav目标路径
+     * @return com.hubz.common.util.webdav.WebDavBatchReport 上传报告
+     **/
+    WebDavBatchReport upload(String sourcePath, String targetPath) {
+        WebDavBatchReport report = new WebDavBatchReport();
+        Path root = Paths.get(sourcePath).toAbsolutePath().normalize();
+        // 上传目录时保留目录本身的名称
+        Path relativeBase = Files.isDirectory(root) && null != root.getParent() ? root.getParent() : root;
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                ThreadUtil.newNamedThreadFactory("webdav-upload-", true),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        StaticLog.info("开始并行上传【{}】至【{}】：工作线程【{}】队列容量【{}】", root, targetPath, workerCount, queueCapacity);
+        try (Stream<Path> paths = Files.walk(root)) {
+            paths.filter(Files::isRegularFile).forEach(file -> {
+                String targetDir = resolveTargetDir(relativeBase, file, targetPath);
+                executor.execute(() -> uploadOne(report, file, targetDir));
+            });
+            report.setCompleted(true);
+        } catch (Exception e) {
+            StaticLog.error(e, "遍历失败：{}", sourcePath);
+        } finally {
+            executor.shutdown();
+            awaitTermination(executor);
+        }
+        StaticLog.info("上传【{}】完成：成功【{}】失败【{}】", root, report.getSuccessCount(), report.getFailCount());
+        return report;
+    }
+
+    /**
+     * 上传单个文件并记录结果
+     * @author hubz
+     * @date 2026/10/18 10:31
+     *
+     * @param report 上传报告
+     * @param file 本地文件
+     * @param targetDir WebDav目标目录
+     **/
+    private void uploadOne(WebDavBatchReport report, Path file, String targetDir) {
+        long start = System.currentTimeMillis();
+        String filePath = file.toString();
+        String message = null;
+        boolean success = false;
+        try {
+            // 已存在的目录由 WebDavClient 的目录缓存跳过，失败的结果不缓存，下一个文件会重新创建
+            if (!client.createDir(basePath, targetDir)) {
+                message = "创建目录失败";
+            } else {
+                success = client.putFile(basePath, filePath, targetDir);
+                message = success ? null : "上传失败";
+            }
+        } catch (Exception e) {
+            message = e.getMessage();
+        }
+        if (success) {
+            StaticLog.debug("文件【{}】上传成功", filePath);
+        } else {
+            StaticLog.error("文件【{}】上传失败：{}", filePath, message);
+        }
+        report.add(WebDavBatchItemResult.builder()
+                .source(filePath)
+                .target(targetDir)
+                .success(success)
+                .message(message)
+                .costMillis(System.currentTimeMillis() - start)
+                .build());
+    }
+
+    /**
+     * 计算文件在WebDav上的目标目录
+     * @author hubz
+     * @date 2026/10/18 10:35
+     *
+     * @param relativeBase 计算相对路径的基准目录
+     * @param file 本地文件
+     * @param targetPath WebDav目标路径
+     * @return java.lang.String
+     **/
+    private static String resolveTargetDir(Path relativeBase, Path file, String targetPath) {
+        Path parent = file.getParent();
+        if (null == parent || parent.equals(relativeBase) || !parent.startsWith(relativeBase)) {
+            return targetPath;
+        }
+        return targetPath + "/" + relativeBase.relativize(parent).toString().replace("\\", "/");
+    }
+
+    private static void awaitTermination(ThreadPoolExecutor executor) {
+        try {
+            while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                StaticLog.debug("等待上传任务完成，剩余【{}】", executor.getQueue().size() + executor.getActiveCount());
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
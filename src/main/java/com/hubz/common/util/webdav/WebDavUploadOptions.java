@@ -0,0 +1,50 @@
+package com.hubz.common.util.webdav;
+
+import com.hubz.common.util.http.HttpProgressListener;
+import lombok.Builder;
+import lombok.Data;
+
+import java.nio.file.Path;
+
+/**
+ * 大文件上传参数
+ * @author hubz
+ * @date 2026/10/18 19:22
+ **/
+@Data
+@Builder
+public class WebDavUploadOptions {
+
+    /**
+     * 分块方式
+     */
+    @Builder.Default
+    private WebDavChunkMode chunkMode = WebDavChunkMode.NONE;
+
+    /**
+     * 分块大小，Nextcloud 要求除最后一块外不小于 5MB
+     */
+    @Builder.Default
+    private long chunkSize = 10 * 1024 * 1024L;
+
+    /**
+     * 单次请求的最大尝试次数（含首次请求）
+     */
+    @Builder.Default
+    private int maxRetries = 3;
+
+    /**
+     * 进度回调，可为空
+     */
+    private HttpProgressListener progressListener;
+
+    /**
+     * CONTENT_RANGE 分块上传记录续传状态的目录，为空时使用系统临时目录
+     */
+    private Path resumeStateDir;
+
+    /**
+     * Nextcloud 分块上传的临时目录地址，如 https://host/remote.php/dav/uploads/{user}
+     */
+    private String nextcloudUploadsUrl;
+}
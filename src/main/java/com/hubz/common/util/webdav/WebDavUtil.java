@@ -1,69 +1,100 @@
 package com.hubz.common.util.webdav;
 
-import cn.hutool.core.collection.CollectionUtil;
-import cn.hutool.core.date.DatePattern;
-import cn.hutool.core.date.DateUtil;
-import cn.hutool.core.io.FileUtil;
-import cn.hutool.core.io.file.PathUtil;
-import cn.hutool.core.thread.ThreadUtil;
-import cn.hutool.core.util.StrUtil;
-import cn.hutool.core.util.XmlUtil;
-import cn.hutool.log.StaticLog;
-import com.hubz.common.constant.CommonConstant;
-import com.hubz.common.util.TimeUtils;
-import com.hubz.common.util.http.HttpRequestClient;
-import org.apache.http.HttpEntity;
-import org.apache.http.HttpResponse;
-import org.apache.http.entity.FileEntity;
-import org.apache.http.util.EntityUtils;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-
-import javax.xml.xpath.XPathConstants;
-import java.io.File;
-import java.io.FileOutputStream;
-import java.io.OutputStream;
-import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.util.ArrayList;
-import java.util.Collections;
+import cn.hutool.core.io.IoUtil;
+
+import java.io.InputStream;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
+ * 基于默认 {@link WebDavClient} 的静态工具方法
+ * <p>
+ * 需要同时访问多个WebDav服务时，请直接创建多个 {@link WebDavClient} 实例。
  * @author hubz
  * @date 2022/7/26 19:03
  **/
 public final class WebDavUtil {
-    private static String WEB_DAV_URL = null;
-    private static HttpRequestClient HTTP_REQUEST_CLIENT = null;
+    /**
+     * 服务端返回的 href 中需要去除的路径前缀，保持原有行为
+     */
+    private static final String HREF_PREFIX = "/dav/minimd";
+    private static volatile WebDavClient DEFAULT_CLIENT = null;
 
+    private WebDavUtil() {
+    }
 
     public static void createHttpRequestClient(String username, String password, String webDavUrl) {
-        WebDavUtil.HTTP_REQUEST_CLIENT = new HttpRequestClient(username, password);
-        WebDavUtil.WEB_DAV_URL = webDavUrl;
+        createHttpRequestClient(username, password, webDavUrl, new AimdThrottle());
     }
 
     /**
-     * 参数检查
+     * 初始化WebDav连接，并指定该WebDav服务的限流策略
      * @author hubz
-     * @date 2022/12/9 14:22
+     * @date 2026/10/18 11:25
      *
-     * @param basePath 根目录
+     * @param username 用户名
+     * @param password 密码
+     * @param webDavUrl WebDav地址
+     * @param throttle 限流策略，不需要限流时传 {@link WebDavThrottle#NONE}
      **/
-    private static void check(String basePath) {
-        if (Objects.isNull(WebDavUtil.HTTP_REQUEST_CLIENT)) {
-            throw new RuntimeException("HTTP_REQUEST_CLIENT is not init");
-        }
-        if (Objects.isNull(WebDavUtil.WEB_DAV_URL)) {
-            throw new RuntimeException("WEB_DAV_URL is not init");
+    public static void createHttpRequestClient(String username, String password, String webDavUrl, WebDavThrottle throttle) {
+        createHttpRequestClient(username, password, webDavUrl, throttle,
+                new WebDavDirCache(WebDavConstant.DEFAULT_DIR_CACHE_CAPACITY, WebDavConstant.DEFAULT_DIR_CACHE_TTL_MILLIS));
+    }
+
+    /**
+     * 初始化WebDav连接，并指定该WebDav服务的限流策略和目录缓存
+     * @author hubz
+     * @date 2026/10/18 13:20
+     *
+     * @param username 用户名
+     * @param password 密码
+     * @param webDavUrl WebDav地址
+     * @param throttle 限流策略，不需要限流时传 {@link WebDavThrottle#NONE}
+     * @param dirCache 已存在目录的缓存
+     **/
+    public static void createHttpRequestClient(String username, String password, String webDavUrl,
+                                               WebDavThrottle throttle, WebDavDirCache dirCache) {
+        setDefaultClient(WebDavClient.builder()
+                .url(webDavUrl)
+                .basicAuth(username, password)
+                .throttle(Objects.requireNonNull(throttle, "throttle"))
+                .dirCache(Objects.requireNonNull(dirCache, "dirCache"))
+                .hrefPrefix(HREF_PREFIX)
+                .build());
+    }
+
+    /**
+     * 设置默认的WebDav客户端，之前的默认客户端会被关闭，释放其连接池
+     * @author hubz
+     * @date 2026/10/18 20:30
+     *
+     * @param client WebDav客户端
+     **/
+    public static synchronized void setDefaultClient(WebDavClient client) {
+        WebDavClient previous = DEFAULT_CLIENT;
+        DEFAULT_CLIENT = Objects.requireNonNull(client, "client");
+        if (previous != client) {
+            Optional.ofNullable(previous).ifPresent(IoUtil::close);
         }
-        if (Objects.isNull(basePath) || CommonConstant.EMPTY_STRING.equals(basePath)) {
-            throw new RuntimeException("basePath is not empty");
+    }
+
+    public static WebDavClient getDefaultClient() {
+        return DEFAULT_CLIENT;
+    }
+
+    private static WebDavClient client() {
+        WebDavClient client = DEFAULT_CLIENT;
+        if (Objects.isNull(client)) {
+            throw new RuntimeException("WebDavClient is not init");
         }
+        return client;
     }
 
     /**
@@ -75,16 +106,7 @@ public final class WebDavUtil {
      * @return java.lang.Boolean
      **/
     public static Boolean init(String basePath) {
-        check(basePath);
-        try {
-            String url = StrUtil.format("{}/{}", WEB_DAV_URL, basePath);
-            HttpResponse response = HTTP_REQUEST_CLIENT.execute(WebDavConstant.HTTP_METHOD_MKCOL, dealUrl(url));
-            ThreadUtil.sleep(500);
-            return WebDavConstant.REQUEST_OK.equals(response.getStatusLine().getStatusCode());
-        } catch (Exception e) {
-            StaticLog.error(e, "创建根目录失败");
-        }
-        return false;
+        return client().init(basePath);
     }
 
     /**
@@ -97,41 +119,7 @@ public final class WebDavUtil {
      * @return java.lang.Boolean true 成功  false 失败
      **/
     public static Boolean createDir(String basePath, String dir) {
-        check(basePath);
-        try {
-            StaticLog.info("创建目录【{}】", dir);
-            String[] dirNames = dir.split("/");
-            String baseUrl = StrUtil.format("{}/{}", WEB_DAV_URL, basePath);
-            StringBuilder toCreatePath = new StringBuilder();
-            for (String dirName : dirNames) {
-                if (StrUtil.isNotBlank(dirName)) {
-                    toCreatePath.append("/").append(dirName);
-                    // 处理路径
-                    String encodeToCreatePath = encodeFilePath(toCreatePath.toString());
-                    StaticLog.debug("开始创建目录【{}】", encodeToCreatePath);
-                    if (!checkPathExist(basePath, encodeToCreatePath)) {
-                        String createDirUrl = dealUrl(StrUtil.format("{}/{}", baseUrl, encodeToCreatePath));
-                        StaticLog.debug("创建目录URL：{}", createDirUrl);
-                        HttpResponse httpResponse = null;
-                        try {
-                            httpResponse = HTTP_REQUEST_CLIENT.execute(WebDavConstant.HTTP_METHOD_MKCOL, createDirUrl);
-                            if (!WebDavConstant.WEBDAV_SUCCESS.equals(httpResponse.getStatusLine().getStatusCode())) {
-                                return false;
-                            }
-                        } finally {
-                            if (null != httpResponse) {
-                                EntityUtils.consumeQuietly(httpResponse.getEntity());
-                            }
-                        }
-                        ThreadUtil.sleep(500);
-                    }
-                }
-            }
-            return true;
-        } catch (Exception e) {
-            StaticLog.error(e, "创建文件夹失败【{}】", dir);
-        }
-        return false;
+        return client().createDir(basePath, dir);
     }
 
     /**
@@ -145,33 +133,40 @@ public final class WebDavUtil {
      * @return java.lang.Boolean
      **/
     public static Boolean uploadFile(String basePath, String sourceFilePath, String targetPath) {
-        check(basePath);
-        HttpResponse httpResponse = null;
-        try {
-            Boolean createDirResult = createDir(basePath, targetPath);
-            if (Boolean.FALSE.equals(createDirResult)) {
-                return false;
-            }
-            Path targetFilePath = Path.of(targetPath, Path.of(sourceFilePath).getFileName().toString());
-            StaticLog.info("开始上传指定文件【{}】到WebDav目录【{}】", sourceFilePath, targetFilePath);
-            String encodeTargetFilePath = encodeFilePath(targetFilePath.toString());
-
-            String url = StrUtil.format("{}/{}/{}", WEB_DAV_URL, basePath, encodeTargetFilePath);
-            File file = new File(sourceFilePath);
-            HttpEntity entity = new FileEntity(file);
-            httpResponse = HTTP_REQUEST_CLIENT.doPut(dealUrl(url), entity);
-            ThreadUtil.sleep(500);
-            int statusCode = httpResponse.getStatusLine().getStatusCode();
-            StaticLog.debug("上传指定文件【{}】到WebDav目录【{}】完成：请求响应状态码【{}】", sourceFilePath, targetFilePath, statusCode);
-            return WebDavConstant.WEBDAV_SUCCESS.equals(statusCode) || WebDavConstant.WEBDAV_SUCCESS_2.equals(statusCode);
-        } catch (Exception e) {
-            e.printStackTrace();
-        } finally {
-            if (null != httpResponse) {
-                EntityUtils.consumeQuietly(httpResponse.getEntity());
-            }
-        }
-        return false;
+        return client().uploadFile(basePath, sourceFilePath, targetPath);
+    }
+
+    /**
+     * 按条件上传单文件
+     * <p>
+     * 携带上次读取到的 ETag（If-Match）时，远端已被其他客户端修改则放弃上传；
+     * 使用 {@link WebDavConditions#createOnly()} 时，远端已存在则放弃上传。
+     * @author hubz
+     * @date 2026/10/18 21:32
+     *
+     * @param basePath 根目录
+     * @param sourceFilePath 源文件路径
+     * @param targetPath 目标上传路径
+     * @param conditions 前置条件
+     * @return com.hubz.common.util.webdav.WebDavTransferStatus 上传结果
+     **/
+    public static WebDavTransferStatus uploadFile(String basePath, String sourceFilePath, String targetPath, WebDavConditions conditions) {
+        return client().uploadFile(basePath, sourceFilePath, targetPath, conditions);
+    }
+
+    /**
+     * 上传大文件：流式读取文件内容，支持进度回调、失败重试以及可续传的分块上传
+     * @author hubz
+     * @date 2026/10/18 20:02
+     *
+     * @param basePath 根目录
+     * @param sourceFilePath 源文件路径
+     * @param targetPath 目标上传路径
+     * @param options 上传选项
+     * @return java.lang.Boolean
+     **/
+    public static Boolean uploadLargeFile(String basePath, String sourceFilePath, String targetPath, WebDavUploadOptions options) {
+        return client().uploadLargeFile(basePath, sourceFilePath, targetPath, options);
     }
 
     /**
@@ -185,50 +180,58 @@ public final class WebDavUtil {
      * @return java.lang.Boolean
      **/
     public static Boolean uploadFilesFromPath(String basePath, String sourcePath, String targetPath) {
-        check(basePath);
-        return uploadFilesFromPath(basePath, "", sourcePath, targetPath);
+        return client().uploadFilesFromPath(basePath, sourcePath, targetPath);
     }
 
     /**
-     * 批量上传文件
+     * 并行批量上传文件
      * @author hubz
-     * @date 2022/7/30 13:43
+     * @date 2026/10/18 10:42
      *
      * @param basePath 根目录
-     * @param fileBasePath 文件上级目录
      * @param sourcePath 待上传的文件/目录路径
      * @param targetPath WebDav目标路径
-     * @return java.lang.Boolean
+     * @param workerCount 并行上传的工作线程数
+     * @param queueCapacity 待上传文件队列的容量
+     * @return com.hubz.common.util.webdav.WebDavBatchReport 每个文件的上传结果
      **/
-    private static Boolean uploadFilesFromPath(String basePath, String fileBasePath, String sourcePath, String targetPath) {
-        check(basePath);
-        Path path = Paths.get(sourcePath);
-        if (StrUtil.isNotBlank(fileBasePath)) {
-            fileBasePath = fileBasePath + "/" + path.getName(path.getNameCount() - 1);
-        } else {
-            fileBasePath = path.getName(path.getNameCount() - 1).toString();
-        }
-        String finalFileBasePath = fileBasePath;
-        try {
-            StaticLog.info("开始上传目录【{}】至【{}】", path, targetPath);
-            Files.list(path).forEach(item -> {
-                if (Files.isDirectory(item)) {
-                    uploadFilesFromPath(basePath, finalFileBasePath, item.toString(), targetPath);
-                } else if (Files.isRegularFile(item)) {
-                    String filePath = item.toAbsolutePath().toString();
-                    Boolean uploadResult = uploadFile(basePath, filePath, targetPath + "/" + finalFileBasePath);
-                    if (uploadResult) {
-                        StaticLog.debug("文件【{}】上传成功", filePath);
-                    } else {
-                        StaticLog.error("文件【{}】上传失败", filePath);
-                    }
-                }
-            });
-            return true;
-        } catch (Exception e) {
-            StaticLog.error(e, "遍历失败：{}", sourcePath);
-        }
-        return false;
+    public static WebDavBatchReport uploadFilesFromPath(String basePath, String sourcePath, String targetPath,
+                                                        int workerCount, int queueCapacity) {
+        return client().uploadFilesFromPath(basePath, sourcePath, targetPath, workerCount, queueCapacity);
+    }
+
+    /**
+     * 增量双向同步本地目录与WebDav目录
+     * @author hubz
+     * @date 2026/10/18 17:10
+     *
+     * @param basePath 根目录
+     * @param localDir 本地目录
+     * @param remoteDir WebDav目录
+     * @param manifestPath 记录上次同步状态的清单文件路径
+     * @param deleteAble 是否同步删除操作，否的话一侧被删除的文件会从另一侧恢复
+     * @return com.hubz.common.util.webdav.WebDavBatchReport 每个被同步文件的结果
+     **/
+    public static WebDavBatchReport sync(String basePath, String localDir, String remoteDir, String manifestPath, Boolean deleteAble) {
+        return client().sync(basePath, localDir, remoteDir, manifestPath, deleteAble);
+    }
+
+    /**
+     * 增量双向同步本地目录与WebDav目录
+     * @author hubz
+     * @date 2026/10/18 17:10
+     *
+     * @param basePath 根目录
+     * @param localDir 本地目录
+     * @param remoteDir WebDav目录
+     * @param manifestPath 记录上次同步状态的清单文件路径
+     * @param deleteAble 是否同步删除操作，否的话一侧被删除的文件会从另一侧恢复
+     * @param workerCount 并行传输的工作线程数
+     * @return com.hubz.common.util.webdav.WebDavBatchReport 每个被同步文件的结果
+     **/
+    public static WebDavBatchReport sync(String basePath, String localDir, String remoteDir, String manifestPath,
+                                         Boolean deleteAble, int workerCount) {
+        return client().sync(basePath, localDir, remoteDir, manifestPath, deleteAble, workerCount);
     }
 
     /**
@@ -242,32 +245,7 @@ public final class WebDavUtil {
      * @return java.lang.Boolean 删除结果
      **/
     public static Boolean deleteFile(String basePath, String sourceDir, String fileName) {
-        check(basePath);
-        HttpResponse httpResponse = null;
-        try {
-            StaticLog.info("删除WebDav目录【{}】中指定文件【{}】", sourceDir, fileName);
-            String filePath = StrUtil.format("{}/{}", sourceDir, fileName);
-            if (Boolean.FALSE.equals(checkPathExist(basePath, filePath))) {
-                StaticLog.warn("文件【{}】不存在，不需要删除", filePath);
-                return true;
-            }
-            filePath = Paths.get(basePath, filePath).toString();
-
-            String encodeFilePath = encodeFilePath(filePath);
-            String url = StrUtil.format("{}/{}", WEB_DAV_URL, encodeFilePath);
-            httpResponse = HTTP_REQUEST_CLIENT.doDelete(dealUrl(url), null);
-            ThreadUtil.sleep(500);
-            int statusCode = httpResponse.getStatusLine().getStatusCode();
-            StaticLog.debug("删除WebDav目录【{}】中指定文件【{}】完成：请求响应状态码【{}】", sourceDir, fileName, statusCode);
-            return WebDavConstant.REQUEST_OK.equals(statusCode) || WebDavConstant.WEBDAV_SUCCESS.equals(statusCode) || WebDavConstant.WEBDAV_SUCCESS_2.equals(statusCode);
-        } catch (Exception e) {
-            StaticLog.error(e, StrUtil.format("删除WebDav目录【{}】中指定文件【{}】文件失败", sourceDir, fileName));
-        } finally {
-            if (null != httpResponse) {
-                EntityUtils.consumeQuietly(httpResponse.getEntity());
-            }
-        }
-        return false;
+        return client().deleteFile(basePath, sourceDir, fileName);
     }
 
     /**
@@ -280,31 +258,93 @@ public final class WebDavUtil {
      * @return java.lang.Boolean 删除结果
      **/
     public static Boolean deletePath(String basePath, String deletePath) {
-        check(basePath);
-        HttpResponse httpResponse = null;
-        try {
-            StaticLog.info("删除WebDav目录【{}】", deletePath);
-            if (Boolean.FALSE.equals(checkPathExist(basePath, deletePath))) {
-                StaticLog.warn("目录【{}】不存在，不需要删除", deletePath);
-                return true;
-            }
-            String filePath = Paths.get(basePath, deletePath).toString();
-            String encodeFilePath = encodeFilePath(filePath);
-            String url = StrUtil.format("{}/{}", WEB_DAV_URL, encodeFilePath);
-            httpResponse = HTTP_REQUEST_CLIENT.doDelete(dealUrl(url), null);
-            int statusCode = httpResponse.getStatusLine().getStatusCode();
-            StaticLog.debug("删除WebDav目录【{}】完成：请求响应状态码【{}】", deletePath, statusCode);
-            return WebDavConstant.REQUEST_OK.equals(statusCode) || WebDavConstant.WEBDAV_SUCCESS.equals(statusCode) || WebDavConstant.WEBDAV_SUCCESS_2.equals(statusCode);
-        } catch (Exception e) {
-            StaticLog.error(e, StrUtil.format("删除WebDav目录【{}】失败", deletePath));
-        } finally {
-            if (null != httpResponse) {
-                EntityUtils.consumeQuietly(httpResponse.getEntity());
-            }
-        }
-        return false;
+        return client().deletePath(basePath, deletePath);
+    }
+
+    /**
+     * 批量删除文件/目录，多个请求通过连接池并行发送
+     * @author hubz
+     * @date 2026/10/18 20:45
+     *
+     * @param basePath 根目录
+     * @param paths 待删除的文件/目录路径
+     * @return com.hubz.common.util.webdav.WebDavBatchReport 每个路径的删除结果，不存在的路径视为删除成功
+     **/
+    public static WebDavBatchReport deletePaths(String basePath, Collection<String> paths) {
+        return client().deletePaths(basePath, paths);
     }
 
+    /**
+     * 在服务端移动文件/目录，移动目录时其下所有内容一并移动
+     * @author hubz
+     * @date 2026/10/18 20:48
+     *
+     * @param basePath 根目录
+     * @param sourcePath 源路径
+     * @param targetPath 目标路径
+     * @param overwrite 目标已存在时是否覆盖
+     * @return java.lang.Boolean 移动结果
+     **/
+    public static Boolean move(String basePath, String sourcePath, String targetPath, boolean overwrite) {
+        return client().move(basePath, sourcePath, targetPath, overwrite);
+    }
+
+    /**
+     * 在服务端复制文件/目录，复制目录时其下所有内容一并复制
+     * @author hubz
+     * @date 2026/10/18 20:48
+     *
+     * @param basePath 根目录
+     * @param sourcePath 源路径
+     * @param targetPath 目标路径
+     * @param overwrite 目标已存在时是否覆盖
+     * @return java.lang.Boolean 复制结果
+     **/
+    public static Boolean copy(String basePath, String sourcePath, String targetPath, boolean overwrite) {
+        return client().copy(basePath, sourcePath, targetPath, overwrite);
+    }
+
+    /**
+     * 重命名文件/目录，目录下的整棵树由服务端一次完成，目标已存在时失败
+     * @author hubz
+     * @date 2026/10/18 20:50
+     *
+     * @param basePath 根目录
+     * @param path 文件/目录路径
+     * @param newName 新名称
+     * @return java.lang.Boolean 重命名结果
+     **/
+    public static Boolean rename(String basePath, String path, String newName) {
+        return client().rename(basePath, path, newName);
+    }
+
+    /**
+     * 批量移动文件/目录
+     * @author hubz
+     * @date 2026/10/18 20:52
+     *
+     * @param basePath 根目录
+     * @param sourceToTarget 源路径与目标路径
+     * @param overwrite 目标已存在时是否覆盖
+     * @return com.hubz.common.util.webdav.WebDavBatchReport 每个条目的移动结果
+     **/
+    public static WebDavBatchReport movePaths(String basePath, Map<String, String> sourceToTarget, boolean overwrite) {
+        return client().movePaths(basePath, sourceToTarget, overwrite);
+    }
+
+    /**
+     * 批量复制文件/目录
+     * @author hubz
+     * @date 2026/10/18 20:53
+     *
+     * @param basePath 根目录
+     * @param sourceToTarget 源路径与目标路径
+     * @param overwrite 目标已存在时是否覆盖
+     * @return com.hubz.common.util.webdav.WebDavBatchReport 每个条目的复制结果
+     **/
+    public static WebDavBatchReport copyPaths(String basePath, Map<String, String> sourceToTarget, boolean overwrite) {
+        return client().copyPaths(basePath, sourceToTarget, overwrite);
+    }
 
     /**
      * 获取文件内容
@@ -317,26 +357,67 @@ public final class WebDavUtil {
      * @return java.lang.String 文件内容
      **/
     public static String getFileBody(String basePath, String sourceDir, String fileName) {
-        check(basePath);
-        HttpResponse httpResponse = null;
-        try {
-            sourceDir = Paths.get(basePath, sourceDir).toString();
-            StaticLog.info("获取WebDav目录【{}】中文件【{}】的内容", sourceDir, fileName);
-            String encodeFileName = encodeFilePath(fileName);
-            String url = StrUtil.format("{}/{}/{}", WEB_DAV_URL, sourceDir, encodeFileName);
-            httpResponse = HTTP_REQUEST_CLIENT.doGetHttpResponse(dealUrl(url));
-            String fileBodyStr = EntityUtils.toString(httpResponse.getEntity(), StandardCharsets.UTF_8);
-            ThreadUtil.sleep(500);
-            StaticLog.debug("获取WebDav目录【{}】中文件【{}】的内容完成：{}", sourceDir, fileName, fileBodyStr);
-            return fileBodyStr;
-        } catch (Exception e) {
-            StaticLog.error(e, StrUtil.format("WebDav获取【{}/{}】文件内容失败", sourceDir, fileName));
-        } finally {
-            if (null != httpResponse) {
-                EntityUtils.consumeQuietly(httpResponse.getEntity());
-            }
-        }
-        return "";
+        return client().getFileBody(basePath, sourceDir, fileName);
+    }
+
+    /**
+     * 流式处理文件内容，处理完成后释放连接，内存占用与文件大小无关
+     * @author hubz
+     * @date 2026/10/18 17:35
+     *
+     * @param basePath 根目录
+     * @param sourceDir 文件WebDav的目录
+     * @param fileName 文件名
+     * @param handler 文件内容的处理逻辑
+     * @return T 处理结果，获取失败时返回 null
+     **/
+    public static <T> T getFileBody(String basePath, String sourceDir, String fileName, WebDavStreamHandler<T> handler) {
+        return client().getFileBody(basePath, sourceDir, fileName, handler);
+    }
+
+    /**
+     * 按条件流式处理文件内容，如携带上次获取时的 ETag，内容未变化时只传输响应头
+     * @author hubz
+     * @date 2026/10/18 21:25
+     *
+     * @param basePath 根目录
+     * @param sourceDir 文件WebDav的目录
+     * @param fileName 文件名
+     * @param conditions 前置条件，可为空
+     * @param handler 文件内容的处理逻辑
+     * @return T 处理结果，内容未修改、前置条件不满足或获取失败时返回 null
+     **/
+    public static <T> T getFileBody(String basePath, String sourceDir, String fileName, WebDavConditions conditions,
+                                    WebDavStreamHandler<T> handler) {
+        return client().getFileBody(basePath, sourceDir, fileName, conditions, handler);
+    }
+
+    /**
+     * 获取文件内容的输入流，调用方必须关闭该输入流以释放连接
+     * @author hubz
+     * @date 2026/10/18 17:38
+     *
+     * @param basePath 根目录
+     * @param sourceDir 文件WebDav的目录
+     * @param fileName 文件名
+     * @return java.io.InputStream 获取失败时返回 null
+     **/
+    public static InputStream getFileBodyStream(String basePath, String sourceDir, String fileName) {
+        return client().getFileBodyStream(basePath, sourceDir, fileName);
+    }
+
+    /**
+     * 获取文件内容的通道，调用方必须关闭该通道以释放连接
+     * @author hubz
+     * @date 2026/10/18 17:39
+     *
+     * @param basePath 根目录
+     * @param sourceDir 文件WebDav的目录
+     * @param fileName 文件名
+     * @return java.nio.channels.ReadableByteChannel 获取失败时返回 null
+     **/
+    public static ReadableByteChannel getFileBodyChannel(String basePath, String sourceDir, String fileName) {
+        return client().getFileBodyChannel(basePath, sourceDir, fileName);
     }
 
     /**
@@ -353,44 +434,7 @@ public final class WebDavUtil {
      * @return java.lang.Boolean 下载结果
      **/
     public static Boolean downloadFile(String basePath, String sourceDir, String fileName, String targetPath, Boolean needBak, String bakPath) {
-        check(basePath);
-        HttpResponse httpResponse = null;
-        try {
-            sourceDir = Paths.get(basePath, sourceDir).toString();
-            String targetFilePath = Paths.get(targetPath, fileName).toAbsolutePath().toString();
-            StaticLog.info("下载WebDav文件【{}】至本地路径【{}】", sourceDir, targetFilePath);
-            if (needBak) {
-                if (FileUtil.exist(targetFilePath)) {
-                    StaticLog.warn("目标文件已存在,备份中...");
-                    if (StrUtil.isBlank(bakPath)) {
-                        StaticLog.warn("备份目录为空...");
-                        return false;
-                    }
-                    // 创建备份目录
-                    Path fileBakPath = Paths.get(bakPath, fileName + ".bak." + TimeUtils.getCurrentLongTime());
-                    PathUtil.mkParentDirs(fileBakPath);
-                    // 将文件移动到备份目录中
-                    FileUtil.move(Paths.get(targetFilePath), Paths.get(fileBakPath.toAbsolutePath().toString(), fileName), true);
-                }
-            } else {
-                // 不需要备份就清空旧数据
-                FileUtil.del(targetFilePath);
-            }
-            String encodeFileName = encodeFilePath(fileName);
-            String url = StrUtil.format("{}/{}/{}", WEB_DAV_URL, sourceDir, encodeFileName);
-            httpResponse = HTTP_REQUEST_CLIENT.doGetHttpResponse(dealUrl(url));
-            ThreadUtil.sleep(500);
-            OutputStream outputStream = new FileOutputStream(targetFilePath);
-            httpResponse.getEntity().writeTo(outputStream);
-            return FileUtil.exist(targetFilePath);
-        } catch (Exception e) {
-            StaticLog.error(e, StrUtil.format("从WebDav下载【{}/{}】文件失败", sourceDir, fileName));
-        } finally {
-            if (null != httpResponse) {
-                EntityUtils.consumeQuietly(httpResponse.getEntity());
-            }
-        }
-        return false;
+        return client().downloadFile(basePath, sourceDir, fileName, targetPath, needBak, bakPath);
     }
 
     /**
@@ -406,57 +450,61 @@ public final class WebDavUtil {
      * @return java.lang.Boolean 下载结果
      **/
     public static Boolean downloadFile(String basePath, String webDavSourceFilePath, String targetFilePathStr, Boolean needBak, String bakPath) {
-        check(basePath);
-        HttpResponse httpResponse = null;
-        try {
-            webDavSourceFilePath = Paths.get(basePath, webDavSourceFilePath).toString();
-            Path targetFileBasePath = Paths.get(targetFilePathStr);
-            String targetFilePath = targetFileBasePath.toAbsolutePath().toString();
-            StaticLog.info("下载WebDav文件【{}】至本地路径【{}】", webDavSourceFilePath, targetFilePath);
-            if (needBak) {
-                if (FileUtil.exist(targetFilePath)) {
-                    StaticLog.warn("目标文件【{}】已存在,备份中...", targetFilePath);
-                    if (StrUtil.isBlank(bakPath)) {
-                        StaticLog.warn("备份目录为空...");
-                        return false;
-                    }
-                    // 创建备份目录
-                    String fileName = targetFileBasePath.getName(targetFileBasePath.getNameCount() - 1).toString();
-                    Path fileBakPath = Paths.get(bakPath, fileName + ".bak." + TimeUtils.getCurrentLongTime());
-                    PathUtil.mkParentDirs(fileBakPath);
-                    // 将文件移动到备份目录中
-                    FileUtil.move(Paths.get(targetFilePath), Paths.get(fileBakPath.toAbsolutePath().toString(), fileName), true);
-                }
-            } else {
-                StaticLog.warn("目标文件【{}】已存在,已配置不需要备份，删除中...", targetFilePath);
-                // 不需要备份就清空旧数据
-                FileUtil.del(targetFilePath);
-            }
-
-            Path targetFileParentPath = Path.of(targetFilePath).getParent();
-            if (!FileUtil.exist(targetFileParentPath.toFile())) {
-                // 创建父级目录
-                Files.createDirectories(targetFileParentPath);
-            }
-
-            String encodeFilePath = encodeFilePath(webDavSourceFilePath);
-            String url = StrUtil.format("{}/{}", WEB_DAV_URL, encodeFilePath);
-            StaticLog.debug("开始下载WebDav远端【{}】的文件", dealUrl(url));
-            httpResponse = HTTP_REQUEST_CLIENT.doGetHttpResponse(dealUrl(url));
-            try (OutputStream outputStream = new FileOutputStream(targetFilePath)) {
-                httpResponse.getEntity().writeTo(outputStream);
-            }
-            return FileUtil.exist(targetFilePath);
-        } catch (Exception e) {
-            StaticLog.error(e, StrUtil.format("从WebDav下载【{}】文件失败", webDavSourceFilePath));
-        } finally {
-            if (null != httpResponse) {
-                EntityUtils.consumeQuietly(httpResponse.getEntity());
-            }
-        }
-        return false;
+        return client().downloadFile(basePath, webDavSourceFilePath, targetFilePathStr, needBak, bakPath);
+    }
+
+    /**
+     * 下载文件到指定目录，支持断点续传和大文件分段并行下载
+     * <p>
+     * 数据先写入同目录的临时文件，完成后原子替换目标文件；单连接下载中断后再次调用会从已下载的位置继续。
+     * @author hubz
+     * @date 2026/10/18 18:45
+     *
+     * @param basePath 根目录
+     * @param webDavSourceFilePath 文件的WebDav路径
+     * @param targetFilePathStr 本地目标文件所在的路径
+     * @param needBak 是否需要备份已有数据，是的话进行备份，否的话下载完成后直接覆盖
+     * @param bakPath 备份已有文件的备份目录
+     * @param segments 并行下载的区间数，文件较小或服务端不支持区间请求时使用单连接下载
+     * @return java.lang.Boolean 下载结果
+     **/
+    public static Boolean downloadFile(String basePath, String webDavSourceFilePath, String targetFilePathStr,
+                                       Boolean needBak, String bakPath, int segments) {
+        return client().downloadFile(basePath, webDavSourceFilePath, targetFilePathStr, needBak, bakPath, segments);
+    }
+
+    /**
+     * 按条件下载文件，如携带本地副本对应的 ETag，远端未变化时只传输响应头
+     * @author hubz
+     * @date 2026/10/18 21:28
+     *
+     * @param basePath 根目录
+     * @param webDavSourceFilePath 文件的WebDav路径
+     * @param targetFilePathStr 本地目标文件路径
+     * @param conditions 前置条件
+     * @return com.hubz.common.util.webdav.WebDavTransferStatus 下载结果
+     **/
+    public static WebDavTransferStatus downloadFile(String basePath, String webDavSourceFilePath, String targetFilePathStr,
+                                                    WebDavConditions conditions) {
+        return client().downloadFile(basePath, webDavSourceFilePath, targetFilePathStr, conditions);
     }
 
+    /**
+     * 按条件下载文件，支持断点续传和大文件分段并行下载
+     * @author hubz
+     * @date 2026/10/18 21:28
+     *
+     * @param basePath 根目录
+     * @param webDavSourceFilePath 文件的WebDav路径
+     * @param targetFilePathStr 本地目标文件路径
+     * @param conditions 前置条件
+     * @param segments 并行下载的区间数
+     * @return com.hubz.common.util.webdav.WebDavTransferStatus 下载结果
+     **/
+    public static WebDavTransferStatus downloadFile(String basePath, String webDavSourceFilePath, String targetFilePathStr,
+                                                    WebDavConditions conditions, int segments) {
+        return client().downloadFile(basePath, webDavSourceFilePath, targetFilePathStr, conditions, segments);
+    }
 
     /**
      * 判断路径是否存在
@@ -468,31 +516,7 @@ public final class WebDavUtil {
      * @return java.lang.Boolean true 存在 false，不存在
      **/
     public static Boolean checkPathExist(String basePath, String path) {
-        check(basePath);
-        HttpResponse httpResponse = null;
-        try {
-            String encodePath = encodeFilePath(path);
-            String url = StrUtil.format("{}/{}/{}", WEB_DAV_URL, basePath, encodePath);
-            String hasDealUrl = dealUrl(url);
-            StaticLog.info("检查路径【{}】是否存在", hasDealUrl);
-            httpResponse = HTTP_REQUEST_CLIENT.execute(WebDavConstant.HTTP_METHOD_PROPFIND, hasDealUrl);
-            ThreadUtil.sleep(500);
-            int statusCode = httpResponse.getStatusLine().getStatusCode();
-            if (String.valueOf(statusCode).startsWith(WebDavConstant.CODE_40)) {
-                StaticLog.warn("路径【{}】不存在", hasDealUrl);
-                return false;
-            } else {
-                StaticLog.debug("路径【{}】存在", hasDealUrl);
-                return WebDavConstant.FOUND_STATUS_CODE.equals(statusCode);
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-            return false;
-        } finally {
-            if (null != httpResponse) {
-                EntityUtils.consumeQuietly(httpResponse.getEntity());
-            }
-        }
+        return client().checkPathExist(basePath, path);
     }
 
     /**
@@ -505,124 +529,63 @@ public final class WebDavUtil {
      * @return java.util.List<com.hubz.minimdmanage.common.utils.webdav.WebDavPathResponse> 指定路径下的文件/目录列表
      **/
     public static List<WebDavPathResponse> getWebDavPathInfo(String basePath, String path) {
-        check(basePath);
-        HttpResponse httpResponse = null;
-        try {
-            StaticLog.info("获取WebDav路径【{}/{}】下的文件/目录列表", basePath, path);
-            // 检查路径是否存在
-            Boolean pathExist = checkPathExist(basePath, path);
-            if (!pathExist) {
-                StaticLog.warn("【{}/{}】路径不存在", basePath, path);
-                return Collections.emptyList();
-            } else {
-                StaticLog.debug("【{}/{}】路径存在", basePath, path);
-                String encodePath = encodeFilePath(path);
-                String url = StrUtil.format("{}/{}/{}", WEB_DAV_URL, basePath, encodePath);
-                StaticLog.debug("获取路径【{}】下的文件/目录信息", dealUrl(url));
-                httpResponse = HTTP_REQUEST_CLIENT.execute(WebDavConstant.HTTP_METHOD_PROPFIND, dealUrl(url));
-                String responseBodyStr = EntityUtils.toString(httpResponse.getEntity(), StandardCharsets.UTF_8);
-                return parseWebDavResponseXML(path, responseBodyStr);
-            }
-        } catch (Exception e) {
-            StaticLog.error(e, "获取路径{}目录下的路径列表错误");
-        } finally {
-            if (null != httpResponse) {
-                EntityUtils.consumeQuietly(httpResponse.getEntity());
-            }
-        }
-        return Collections.emptyList();
+        return client().getWebDavPathInfo(basePath, path);
     }
 
     /**
-     * 解析请求结果
+     * 流式获取指定路径下的文件/目录列表，每解析出一个子级条目即回调一次，内存占用与目录大小无关
      * @author hubz
-     * @date 2022/8/1 23:22
+     * @date 2026/10/18 14:20
      *
      * @param basePath 根目录
-     * @param dirInfo 请求返回的数据
-     * @return java.util.List<com.hubz.minimdmanage.common.utils.webdav.WebDavPathResponse>
+     * @param path 指定路径
+     * @param consumer 子级文件/目录的处理逻辑
+     * @return java.lang.Boolean 是否获取成功
      **/
-    private static List<WebDavPathResponse> parseWebDavResponseXML(String basePath, String dirInfo) {
-        dirInfo = dirInfo.replace("d:", "");
-        // 校验数据
-        List<WebDavPathResponse> result = new ArrayList<>();
-        // 解析数据
-        Document document;
-        try {
-            document = XmlUtil.parseXml(dirInfo);
-        } catch (Exception e) {
-            StaticLog.error(e, "数据解析失败：【{}】", dirInfo);
-            return Collections.emptyList();
-        }
-
-        if (null != document) {
-            Element documentElement = document.getDocumentElement();
-            List<Element> responseList = XmlUtil.getElements(documentElement, "response");
-            // 从第二个信息开始是当前目录的子级目录/文件的信息，第一个是当前目录的信息
-            for (int i = 2; i <= CollectionUtil.size(responseList); i++) {
-                String href = XmlUtil.getByXPath(StrUtil.format("//response[{}]/href", i), document, XPathConstants.STRING).toString();
-                String displayName = XmlUtil.getByXPath(StrUtil.format("//response[{}]/propstat/prop/displayname", i), document, XPathConstants.STRING).toString();
-                String lastModifiedStr = XmlUtil.getByXPath(StrUtil.format("//response[{}]/propstat/prop/getlastmodified", i), document, XPathConstants.STRING).toString();
-                String contentType = XmlUtil.getByXPath(StrUtil.format("//response[{}]/propstat/prop/getcontenttype", i), document, XPathConstants.STRING).toString();
-                href = href.replace("/dav/minimd", "");
-                // 判断当前路径信息是否为父级路径
-                if (StrUtil.equals(basePath, href) || StrUtil.equals(basePath, displayName)) {
-                    continue;
-                }
-                result.add(WebDavPathResponse.builder()
-                        .href(href)
-                        .displayName(displayName)
-                        .lastModifiedStr(lastModifiedStr)
-                        .lastModified(DateUtil.parse(lastModifiedStr, DatePattern.HTTP_DATETIME_FORMAT).getTime())
-                        .contentType(contentType)
-                        .build());
-            }
-            return result;
-        }
-        return Collections.emptyList();
+    public static Boolean getWebDavPathInfo(String basePath, String path, Consumer<WebDavPathResponse> consumer) {
+        return client().getWebDavPathInfo(basePath, path, consumer);
     }
 
     /**
-     * 处理URL
+     * 获取指定文件/目录自身的属性
      * @author hubz
-     * @date 2022/7/30 19:51
+     * @date 2026/10/18 17:05
      *
-     * @param url url
-     * @return java.lang.String 处理后的url
+     * @param basePath 根目录
+     * @param path 文件/目录路径
+     * @return com.hubz.common.util.webdav.WebDavPathResponse 路径不存在时返回 null
      **/
-    private static String dealUrl(String url) {
-        return "https://" + dealPath(url);
+    public static WebDavPathResponse getWebDavPathProperties(String basePath, String path) {
+        return client().getWebDavPathProperties(basePath, path);
     }
 
     /**
-     * 处理路径
+     * 递归获取指定路径下所有层级的文件/目录
+     * <p>
+     * 服务端支持时使用一次 Depth: infinity 的 PROPFIND 流式读取整棵树；不支持时退化为有限并发的广度优先遍历。
+     * 返回的 Stream 是惰性的，并持有网络连接/工作线程，使用完毕后必须关闭（try-with-resources）。
      * @author hubz
-     * @date 2022/12/10 15:22
+     * @date 2026/10/18 15:10
      *
-     * @param path 路径
-     * @return java.lang.String
+     * @param basePath 根目录
+     * @param path 指定路径
+     * @return java.util.stream.Stream<com.hubz.common.util.webdav.WebDavPathResponse>
      **/
-    private static String dealPath(String path) {
-        return path.replace("%2F", "/")
-                .replace("https://", "")
-                .replaceAll("%5C", "/")
-                .replaceAll("//", "/")
-                .replace("\\", "/")
-                .replaceAll("\\\\", "/");
+    public static Stream<WebDavPathResponse> listRecursive(String basePath, String path) {
+        return client().listRecursive(basePath, path);
     }
 
     /**
-     * 编码文件路径
+     * 递归获取指定路径下所有层级的文件/目录
      * @author hubz
-     * @date 2022/12/10 15:21
+     * @date 2026/10/18 15:12
      *
-     * @param path 文件路径
-     * @return java.lang.String 处理后的文件路径
+     * @param basePath 根目录
+     * @param path 指定路径
+     * @param concurrency 退化为广度优先遍历时的最大并发请求数
+     * @return java.util.stream.Stream<com.hubz.common.util.webdav.WebDavPathResponse>
      **/
-    private static String encodeFilePath(String path) {
-        return URLEncoder.encode(dealPath(path), StandardCharsets.UTF_8)
-                .replace("+", "%20")
-                .replace("%2F", "/");
+    public static Stream<WebDavPathResponse> listRecursive(String basePath, String path, int concurrency) {
+        return client().listRecursive(basePath, path, concurrency);
     }
-
 }
@@ -0,0 +1,249 @@
+package com.hubz.common.util.webdav;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * WebDavChunkedUploader 按 Content-Range 分块上传和续传，使用 JDK 自带的 HttpServer 模拟WebDav服务
+ * @author hubz
+ * @date 2026/10/19 03:40
+ **/
+class WebDavChunkedUploaderTest {
+
+    private static final int CHUNK_SIZE = 1024;
+
+    private static final int FILE_SIZE = CHUNK_SIZE * 5 + 100;
+
+    @TempDir
+    Path tempDir;
+
+    private MockWebDav server;
+
+    private WebDavClient client;
+
+    private Path source;
+
+    private byte[] sourceBytes;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new MockWebDav();
+        client = WebDavClient.builder()
+                .url("http://127.0.0.1:" + server.port())
+                .basicAuth("user", "password")
+                .throttle(WebDavThrottle.NONE)
+                .build();
+        sourceBytes = randomBytes(FILE_SIZE, 1);
+        source = tempDir.resolve("source.bin");
+        Files.write(source, sourceBytes);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        client.close();
+        server.stop();
+    }
+
+    @Test
+    void replacesSmallerStaleRemoteFile() throws Exception {
+        server.content = randomBytes(CHUNK_SIZE * 2, 2);
+
+        assertTrue(uploader().upload());
+
+        assertArrayEquals(sourceBytes, server.content);
+    }
+
+    @Test
+    void replacesStaleRemoteFileOfSameSize() throws Exception {
+        server.content = randomBytes(FILE_SIZE, 2);
+
+        assertTrue(uploader().upload());
+
+        assertArrayEquals(sourceBytes, server.content);
+        assertEquals(FILE_SIZE, server.bytesReceived);
+    }
+
+    @Test
+    void truncatesLargerStaleRemoteFile() throws Exception {
+        server.content = randomBytes(FILE_SIZE * 2, 2);
+
+        assertTrue(uploader().upload());
+
+        assertArrayEquals(sourceBytes, server.content);
+    }
+
+    @Test
+    void resumesFromRecordedState() throws Exception {
+        server.failPutAtOffset = CHUNK_SIZE * 3L;
+        assertFalse(uploader().upload());
+        assertEquals(CHUNK_SIZE * 3, server.content.length);
+
+        server.bytesReceived = 0;
+        assertTrue(uploader().upload());
+
+        assertArrayEquals(sourceBytes, server.content);
+        assertEquals(FILE_SIZE - CHUNK_SIZE * 3, server.bytesReceived);
+    }
+
+    @Test
+    void restartsWhenRemoteChangedSinceLastAttempt() throws Exception {
+        server.failPutAtOffset = CHUNK_SIZE * 3L;
+        assertFalse(uploader().upload());
+        // 其他客户端写入了同样大小的不同内容
+        server.content = randomBytes(CHUNK_SIZE * 3, 3);
+
+        server.bytesReceived = 0;
+        assertTrue(uploader().upload());
+
+        assertArrayEquals(sourceBytes, server.content);
+        assertEquals(FILE_SIZE, server.bytesReceived);
+    }
+
+    @Test
+    void restartsWhenSourceChangedSinceLastAttempt() throws Exception {
+        server.failPutAtOffset = CHUNK_SIZE * 3L;
+        assertFalse(uploader().upload());
+        sourceBytes = randomBytes(FILE_SIZE, 4);
+        Files.write(source, sourceBytes);
+        Files.setLastModifiedTime(source, FileTime.fromMillis(System.currentTimeMillis() + 10_000));
+
+        server.bytesReceived = 0;
+        assertTrue(uploader().upload());
+
+        assertArrayEquals(sourceBytes, server.content);
+        assertEquals(FILE_SIZE, server.bytesReceived);
+    }
+
+    private WebDavChunkedUploader uploader() {
+        WebDavUploadOptions options = WebDavUploadOptions.builder()
+                .chunkMode(WebDavChunkMode.CONTENT_RANGE)
+                .chunkSize(CHUNK_SIZE)
+                .maxRetries(1)
+                .resumeStateDir(tempDir.resolve("state"))
+                .build();
+        return new WebDavChunkedUploader(client, source, server.url(), options);
+    }
+
+    private static byte[] randomBytes(int size, long seed) {
+        byte[] bytes = new byte[size];
+        new Random(seed).nextBytes(bytes);
+        return bytes;
+    }
+
+    /**
+     * 只实现单个文件的 PUT（含 Content-Range、If-Match）和 Depth: 0 的 PROPFIND
+     */
+    private static final class MockWebDav {
+
+        private final HttpServer httpServer;
+
+        private volatile byte[] content;
+
+        private volatile long failPutAtOffset = -1;
+
+        private volatile long bytesReceived;
+
+        private int version;
+
+        MockWebDav() throws IOException {
+            httpServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            httpServer.createContext("/", this::handle);
+            httpServer.start();
+        }
+
+        int port() {
+            return httpServer.getAddress().getPort();
+        }
+
+        String url() {
+            return "http://127.0.0.1:" + port() + "/dav/file.bin";
+        }
+
+        void stop() {
+            httpServer.stop(0);
+        }
+
+        private synchronized void handle(HttpExchange exchange) throws IOException {
+            try {
+                if ("PUT".equals(exchange.getRequestMethod())) {
+                    handlePut(exchange);
+                } else if ("PROPFIND".equals(exchange.getRequestMethod())) {
+                    handlePropFind(exchange);
+                } else {
+                    exchange.sendResponseHeaders(405, -1);
+                }
+            } finally {
+                exchange.close();
+            }
+        }
+
+        private void handlePut(HttpExchange exchange) throws IOException {
+            byte[] body = exchange.getRequestBody().readAllBytes();
+            String range = exchange.getRequestHeaders().getFirst("Content-Range");
+            long start = null == range ? 0 : Long.parseLong(range.substring("bytes ".length(), range.indexOf('-')));
+            if (start == failPutAtOffset) {
+                failPutAtOffset = -1;
+                exchange.sendResponseHeaders(400, -1);
+                return;
+            }
+            String ifMatch = exchange.getRequestHeaders().getFirst("If-Match");
+            if (null != ifMatch && (null == content || !ifMatch.equals(etag()))) {
+                exchange.sendResponseHeaders(412, -1);
+                return;
+            }
+            bytesReceived += body.length;
+            if (null == range) {
+                content = body;
+            } else {
+                byte[] current = null == content ? new byte[0] : content;
+                byte[] updated = Arrays.copyOf(current, (int) Math.max(current.length, start + body.length));
+                System.arraycopy(body, 0, updated, (int) start, body.length);
+                content = updated;
+            }
+            version++;
+            exchange.getResponseHeaders().add("ETag", etag());
+            exchange.sendResponseHeaders(204, -1);
+        }
+
+        private void handlePropFind(HttpExchange exchange) throws IOException {
+            if (null == content) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            String xml = "<?xml version=\"1.0\" encoding=\"utf-8\"?>"
+                    + "<d:multistatus xmlns:d=\"DAV:\"><d:response><d:href>/dav/file.bin</d:href>"
+                    + "<d:propstat><d:prop><d:getcontentlength>" + content.length + "</d:getcontentlength>"
+                    + "<d:getetag>" + etag() + "</d:getetag><d:resourcetype/></d:prop>"
+                    + "<d:status>HTTP/1.1 200 OK</d:status></d:propstat></d:response></d:multistatus>";
+            byte[] bytes = xml.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/xml; charset=utf-8");
+            exchange.sendResponseHeaders(207, bytes.length);
+            exchange.getResponseBody().write(bytes);
+        }
+
+        /**
+         * 内容每次变化都生成新的 ETag，直接替换 content 的测试也会得到不同的 ETag
+         */
+        private String etag() {
+            return "\"" + version + "-" + Arrays.hashCode(content) + "\"";
+        }
+    }
+}
@@ -0,0 +1,354 @@
+package com.hubz.common.util.webdav;
+
+import cn.hutool.core.date.DatePattern;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Date;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * WebDavSyncEngine 双向同步，使用 JDK 自带的 HttpServer 模拟WebDav服务
+ * @author hubz
+ * @date 2026/10/19 04:10
+ **/
+class WebDavSyncEngineTest {
+
+    private static final String BASE_PATH = "base";
+
+    private static final String REMOTE_DIR = "notes";
+
+    private static final String REMOTE_ROOT = "/dav/" + BASE_PATH + "/" + REMOTE_DIR;
+
+    @TempDir
+    Path tempDir;
+
+    private MockWebDav server;
+
+    private Path localDir;
+
+    private Path manifest;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new MockWebDav();
+        server.mkdirs(REMOTE_ROOT + "/sub");
+        localDir = tempDir.resolve("local");
+        Files.createDirectories(localDir);
+        manifest = tempDir.resolve("manifest.json");
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop();
+    }
+
+    @Test
+    void syncsThroughHrefPrefixContainingBasePath() throws Exception {
+        syncBothWays(true);
+    }
+
+    @Test
+    void syncsThroughHrefPrefixContainingBasePathWithoutDepthInfinity() throws Exception {
+        syncBothWays(false);
+    }
+
+    /**
+     * hrefPrefix 已经包含根目录时（与 WebDavUtil 的用法相同），两侧的文件仍按同一相对路径对应
+     */
+    private void syncBothWays(boolean depthInfinity) throws Exception {
+        server.depthInfinity = depthInfinity;
+        server.put(REMOTE_ROOT + "/a.md", bytes("remote a"));
+        server.put(REMOTE_ROOT + "/sub/c.md", bytes("remote c"));
+        Files.write(localDir.resolve("b.md"), bytes("local b"));
+
+        try (WebDavClient client = client("/dav/" + BASE_PATH)) {
+            WebDavBatchReport report = sync(client);
+            assertTrue(report.getCompleted());
+            assertEquals(0, report.getFailCount(), () -> report.getFailedResults().toString());
+            assertEquals(3, report.getSuccessCount());
+
+            assertArrayEquals(bytes("remote a"), Files.readAllBytes(localDir.resolve("a.md")));
+            assertArrayEquals(bytes("remote c"), Files.readAllBytes(localDir.resolve("sub/c.md")));
+            assertFalse(Files.exists(localDir.resolve(REMOTE_DIR)));
+            assertArrayEquals(bytes("local b"), server.files.get(REMOTE_ROOT + "/b.md"));
+
+            WebDavBatchReport second = sync(client);
+            assertTrue(second.getCompleted());
+            assertTrue(second.getResults().isEmpty(), () -> second.getResults().toString());
+        }
+    }
+
+    @Test
+    void firstSyncReportsSameSizeDifferentContentAsConflict() throws Exception {
+        long modified = 1_700_000_000_000L;
+        server.put(REMOTE_ROOT + "/a.md", bytes("remote!"));
+        server.modified.put(REMOTE_ROOT + "/a.md", modified);
+        Path local = localDir.resolve("a.md");
+        Files.write(local, bytes("local!!"));
+        Files.setLastModifiedTime(local, FileTime.fromMillis(modified));
+
+        try (WebDavClient client = client("/dav/" + BASE_PATH)) {
+            for (int run = 0; run < 2; run++) {
+                WebDavBatchReport report = sync(client);
+                assertTrue(report.getCompleted());
+                assertEquals(1, report.getFailCount(), () -> report.getResults().toString());
+                assertEquals(WebDavSyncEngine.ACTION_CONFLICT, report.getFailedResults().get(0).getAction());
+                assertArrayEquals(bytes("local!!"), Files.readAllBytes(local));
+                assertArrayEquals(bytes("remote!"), server.files.get(REMOTE_ROOT + "/a.md"));
+            }
+        }
+    }
+
+    @Test
+    void firstSyncRecordsIdenticalFilesWithoutTransfer() throws Exception {
+        server.put(REMOTE_ROOT + "/a.md", bytes("same"));
+        Files.write(localDir.resolve("a.md"), bytes("same"));
+
+        try (WebDavClient client = client("/dav/" + BASE_PATH)) {
+            for (int run = 0; run < 2; run++) {
+                WebDavBatchReport report = sync(client);
+                assertTrue(report.getCompleted());
+                assertTrue(report.getResults().isEmpty(), () -> report.getResults().toString());
+            }
+            assertEquals(0, server.puts);
+        }
+    }
+
+    @Test
+    void uploadWithoutRemotePropertiesIsNotRecorded() throws Exception {
+        Files.write(localDir.resolve("b.md"), bytes("local b"));
+        server.failFilePropFind = true;
+
+        try (WebDavClient client = client("/dav/" + BASE_PATH)) {
+            WebDavBatchReport report = sync(client);
+            assertEquals(1, report.getFailCount(), () -> report.getResults().toString());
+            assertArrayEquals(bytes("local b"), server.files.get(REMOTE_ROOT + "/b.md"));
+
+            // 下次同步比较两侧内容后记录，不会把文件下载回来或再次上传
+            server.failFilePropFind = false;
+            WebDavBatchReport second = sync(client);
+            assertTrue(second.getResults().isEmpty(), () -> second.getResults().toString());
+            assertEquals(1, server.puts);
+        }
+    }
+
+    private WebDavBatchReport sync(WebDavClient client) {
+        return client.sync(BASE_PATH, localDir.toString(), REMOTE_DIR, manifest.toString(), false, 2);
+    }
+
+    private WebDavClient client(String hrefPrefix) {
+        return WebDavClient.builder()
+                .url("http://127.0.0.1:" + server.port() + "/dav")
+                .basicAuth("user", "password")
+                .throttle(WebDavThrottle.NONE)
+                .hrefPrefix(hrefPrefix)
+                .build();
+    }
+
+    private static byte[] bytes(String content) {
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 内存中的WebDav服务，只实现同步用到的 PROPFIND、GET、PUT、MKCOL 和 DELETE
+     */
+    private static final class MockWebDav {
+
+        private final HttpServer httpServer;
+
+        private final Map<String, byte[]> files = new TreeMap<>();
+
+        private final Map<String, Integer> versions = new TreeMap<>();
+
+        private final Map<String, Long> modified = new ConcurrentHashMap<>();
+
+        private final Set<String> dirs = new TreeSet<>();
+
+        private volatile boolean depthInfinity = true;
+
+        /**
+         * 单个文件的 PROPFIND 返回 500
+         */
+        private volatile boolean failFilePropFind;
+
+        private int version;
+
+        private int puts;
+
+        MockWebDav() throws IOException {
+            httpServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            httpServer.createContext("/", this::handle);
+            httpServer.start();
+        }
+
+        int port() {
+            return httpServer.getAddress().getPort();
+        }
+
+        void stop() {
+            httpServer.stop(0);
+        }
+
+        synchronized void mkdirs(String dir) {
+            StringBuilder path = new StringBuilder();
+            for (String name : dir.split("/")) {
+                if (!name.isEmpty()) {
+                    dirs.add(path.append('/').append(name).toString());
+                }
+            }
+        }
+
+        synchronized void put(String path, byte[] content) {
+            files.put(path, content);
+            versions.put(path, ++version);
+        }
+
+        private synchronized void handle(HttpExchange exchange) throws IOException {
+            try {
+                String path = URLDecoder.decode(exchange.getRequestURI().getRawPath(), StandardCharsets.UTF_8)
+                        .replaceAll("/+$", "");
+                switch (exchange.getRequestMethod()) {
+                    case "PROPFIND":
+                        handlePropFind(exchange, path);
+                        break;
+                    case "GET":
+                        handleGet(exchange, path);
+                        break;
+                    case "PUT":
+                        handlePut(exchange, path);
+                        break;
+                    case "MKCOL":
+                        exchange.getRequestBody().readAllBytes();
+                        exchange.sendResponseHeaders(dirs.add(path) ? 201 : 405, -1);
+                        break;
+                    case "DELETE":
+                        exchange.sendResponseHeaders(null == files.remove(path) ? 404 : 204, -1);
+                        break;
+                    default:
+                        exchange.sendResponseHeaders(405, -1);
+                }
+            } finally {
+                exchange.close();
+            }
+        }
+
+        private void handlePropFind(HttpExchange exchange, String path) throws IOException {
+            exchange.getRequestBody().readAllBytes();
+            String depth = exchange.getRequestHeaders().getFirst("Depth");
+            if ("infinity".equalsIgnoreCase(depth) && !depthInfinity) {
+                exchange.sendResponseHeaders(403, -1);
+                return;
+            }
+            StringBuilder xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"utf-8\"?><d:multistatus xmlns:d=\"DAV:\">");
+            if (files.containsKey(path) && failFilePropFind) {
+                exchange.sendResponseHeaders(500, -1);
+                return;
+            }
+            if (files.containsKey(path)) {
+                appendFile(xml, path);
+            } else if (dirs.contains(path)) {
+                xml.append("<d:response><d:href>").append(path).append("/</d:href><d:propstat><d:prop>")
+                        .append("<d:resourcetype><d:collection/></d:resourcetype></d:prop>")
+                        .append("<d:status>HTTP/1.1 200 OK</d:status></d:propstat></d:response>");
+                if (!"0".equals(depth)) {
+                    boolean recursive = !"1".equals(depth);
+                    for (String dir : dirs) {
+                        if (isChild(path, dir, recursive)) {
+                            xml.append("<d:response><d:href>").append(dir).append("/</d:href><d:propstat><d:prop>")
+                                    .append("<d:resourcetype><d:collection/></d:resourcetype></d:prop>")
+                                    .append("<d:status>HTTP/1.1 200 OK</d:status></d:propstat></d:response>");
+                        }
+                    }
+                    for (String file : files.keySet()) {
+                        if (isChild(path, file, recursive)) {
+                            appendFile(xml, file);
+                        }
+                    }
+                }
+            } else {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            byte[] body = xml.append("</d:multistatus>").toString().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/xml; charset=utf-8");
+            exchange.sendResponseHeaders(207, body.length);
+            exchange.getResponseBody().write(body);
+        }
+
+        private void appendFile(StringBuilder xml, String path) {
+            xml.append("<d:response><d:href>").append(path).append("</d:href><d:propstat><d:prop>")
+                    .append("<d:getcontentlength>").append(files.get(path).length).append("</d:getcontentlength>")
+                    .append("<d:getetag>").append(etag(path)).append("</d:getetag>")
+                    .append("<d:getlastmodified>").append(DatePattern.HTTP_DATETIME_FORMAT.format(new Date(modified.getOrDefault(path, System.currentTimeMillis()))))
+                    .append("</d:getlastmodified><d:resourcetype/></d:prop>")
+                    .append("<d:status>HTTP/1.1 200 OK</d:status></d:propstat></d:response>");
+        }
+
+        private void handleGet(HttpExchange exchange, String path) throws IOException {
+            byte[] content = files.get(path);
+            if (null == content) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            String ifMatch = exchange.getRequestHeaders().getFirst("If-Match");
+            if (null != ifMatch && !ifMatch.equals(etag(path))) {
+                exchange.sendResponseHeaders(412, -1);
+                return;
+            }
+            exchange.getResponseHeaders().add("ETag", etag(path));
+            exchange.sendResponseHeaders(200, content.length);
+            exchange.getResponseBody().write(content);
+        }
+
+        private void handlePut(HttpExchange exchange, String path) throws IOException {
+            byte[] body = exchange.getRequestBody().readAllBytes();
+            String ifMatch = exchange.getRequestHeaders().getFirst("If-Match");
+            String ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+            boolean exists = files.containsKey(path);
+            if ((null != ifMatch && (!exists || !ifMatch.equals(etag(path)))) || ("*".equals(ifNoneMatch) && exists)) {
+                exchange.sendResponseHeaders(412, -1);
+                return;
+            }
+            if (!dirs.contains(path.substring(0, path.lastIndexOf('/')))) {
+                exchange.sendResponseHeaders(409, -1);
+                return;
+            }
+            puts++;
+            put(path, body);
+            exchange.getResponseHeaders().add("ETag", etag(path));
+            exchange.sendResponseHeaders(exists ? 204 : 201, -1);
+        }
+
+        private static boolean isChild(String parent, String path, boolean recursive) {
+            if (!path.startsWith(parent + "/")) {
+                return false;
+            }
+            return recursive || path.indexOf('/', parent.length() + 1) < 0;
+        }
+
+        private String etag(String path) {
+            return "\"" + versions.get(path) + "\"";
+        }
+    }
+}